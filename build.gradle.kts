@@ -4,6 +4,7 @@ plugins {
     id("io.spring.dependency-management") version "1.1.7"
     id("org.sonarqube") version "6.0.1.5171"
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com"
@@ -32,6 +33,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-cache")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-data-mongodb")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
 
     // AWS Integration
     implementation("io.awspring.cloud:spring-cloud-aws-starter-secrets-manager:3.1.1")
@@ -46,6 +48,9 @@ dependencies {
 
     // Common Libraries
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("org.springframework.data:spring-data-commons")
 
     // MapStruct
@@ -87,10 +92,31 @@ tasks.jacocoTestReport {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
     finalizedBy(tasks.jacocoTestReport)
 }
 
+tasks.register<Test>("benchmark") {
+    description = "Runs the wall-clock benchmarks tagged with @Tag(\"benchmark\")."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+    outputs.upToDateWhen { false }
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+}
+
 sonar {
     properties {
         property("sonar.projectKey", "EddieSCJ_contacts-agenda-coding-challenge")
@@ -0,0 +1,94 @@
+package com.contacts.agenda.config.cache;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import com.contacts.agenda.model.Contact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Encode/decode cost and payload size of a cached 1000-contact page, Jackson typed JSON vs
+ * {@link CompactContactPageSerializer} with and without compression.
+ * <p>
+ * Run it with {@code ./gradlew jmh}. Payload sizes are printed once per trial since JMH only reports
+ * times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({"json", "compact", "compact-deflate"})
+    public String codec;
+
+    @Param({"1000"})
+    public int contacts;
+
+    private RedisSerializer<Object> serializer;
+    private CacheEnvelope value;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RedisSerializer<Object> json = CacheConfig.buildJsonSerializer();
+        serializer = switch (codec) {
+            case "json" -> json;
+            case "compact" -> new CompactContactPageSerializer(json, 0);
+            case "compact-deflate" -> new CompactContactPageSerializer(json, 1);
+            default -> throw new IllegalArgumentException(codec);
+        };
+
+        value = new CacheEnvelope(page(contacts), System.currentTimeMillis());
+        encoded = serializer.serialize(value);
+
+        System.out.printf("%n[%s] %d contacts -> %,d bytes%n", codec, contacts, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    private static ContactPageResponse page(int size) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Contact> contacts = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new Contact(
+                        id,
+                        "Benchmark Contact " + id,
+                        "contact" + id + "@kenectlabs.com",
+                        "KENECT_LABS",
+                        now.minus(id, ChronoUnit.DAYS),
+                        now
+                ))
+                .toList();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("total-count", String.valueOf(size));
+        return ContactPageResponse.from(contacts, headers);
+    }
+}
@@ -0,0 +1,119 @@
+package com.contacts.agenda.controller;
+
+import com.contacts.agenda.model.Contact;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode/decode cost and payload size of {@code GET /contacts} bodies as JSON, CBOR and Smile, at 10k
+ * and 100k contacts. Encoding goes through {@link ContactStreamWriter} like the endpoint does, decoding
+ * uses a plain {@link ObjectMapper} for the format, which is what a service-to-service caller would run.
+ * <p>
+ * Run it with {@code ./gradlew jmh}. Payload sizes, raw and gzipped, are printed once per trial since
+ * JMH only reports times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"10000", "100000"})
+    public int contacts;
+
+    private ContactStreamWriter writer;
+    private MediaType mediaType;
+    private ObjectReader reader;
+    private List<Contact> list;
+    private ByteArrayOutputStream out;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = new ContactStreamWriter(objectMapper);
+
+        ObjectMapper decoder = switch (format) {
+            case "json" -> new ObjectMapper();
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> throw new IllegalArgumentException(format);
+        };
+        reader = decoder.registerModule(new JavaTimeModule()).readerFor(Contact[].class);
+        mediaType = switch (format) {
+            case "cbor" -> MediaType.APPLICATION_CBOR;
+            case "smile" -> ContactStreamWriter.APPLICATION_SMILE;
+            default -> MediaType.APPLICATION_JSON;
+        };
+
+        list = contacts(contacts);
+        out = new ByteArrayOutputStream(contacts * 200);
+        writer.write(list, ContactProjection.ALL, mediaType, out);
+        encoded = out.toByteArray();
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream(encoded.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(encoded);
+        }
+        System.out.printf("%n[%s] %d contacts -> %,d bytes, %,d gzipped%n", format, contacts, encoded.length, gzipped.size());
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        out.reset();
+        writer.write(list, ContactProjection.ALL, mediaType, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public Contact[] decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static List<Contact> contacts(int size) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new Contact(
+                        id,
+                        "Benchmark Contact " + id,
+                        "contact" + id + "@kenectlabs.com",
+                        "KENECT_LABS",
+                        now.minus(id, ChronoUnit.DAYS),
+                        now
+                ))
+                .toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.contacts.agenda.controller;
+
+import com.contacts.agenda.model.Contact;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialization cost and payload size of a 10k-contact JSON array, every field vs {@code ?fields=}
+ * projections written by the precompiled writers of {@link ContactStreamWriter}.
+ * <p>
+ * Run it with {@code ./gradlew jmh}. Payload sizes are printed once per trial since JMH only reports
+ * times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactProjectionBenchmark {
+
+    @Param({"", "id,name", "id"})
+    public String fields;
+
+    @Param({"10000"})
+    public int contacts;
+
+    private ContactStreamWriter writer;
+    private ContactProjection projection;
+    private List<Contact> list;
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = new ContactStreamWriter(objectMapper);
+        projection = ContactProjection.parse(fields);
+        list = contacts(contacts);
+        out = new ByteArrayOutputStream(contacts * 200);
+
+        writer.writeJsonArray(list, projection, out);
+        System.out.printf("%n[fields=%s] %d contacts -> %,d bytes%n", fields.isEmpty() ? "all" : fields, contacts, out.size());
+    }
+
+    @Benchmark
+    public int writeJsonArray() throws IOException {
+        out.reset();
+        writer.writeJsonArray(list, projection, out);
+        return out.size();
+    }
+
+    private static List<Contact> contacts(int size) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new Contact(
+                        id,
+                        "Benchmark Contact " + id,
+                        "contact" + id + "@kenectlabs.com",
+                        "KENECT_LABS",
+                        now.minus(id, ChronoUnit.DAYS),
+                        now
+                ))
+                .toList();
+    }
+}
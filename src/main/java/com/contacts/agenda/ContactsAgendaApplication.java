@@ -6,7 +6,19 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @SpringBootApplication
 public class ContactsAgendaApplication {
 
+    /**
+     * Idle timeout, in seconds, of the connections pooled by {@link java.net.http.HttpClient}. The JDK reads
+     * it once, when its connection pool is first loaded, and applies it to every client in the JVM, so it
+     * can't be set by a bean. It defaults to 5 minutes here unless given with
+     * {@code -Djdk.httpclient.keepalive.timeout=<seconds>}.
+     */
+    static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    static final String DEFAULT_KEEP_ALIVE_SECONDS = "300";
+
     public static void main(String[] args) {
+        if (System.getProperty(KEEP_ALIVE_PROPERTY) == null) {
+            System.setProperty(KEEP_ALIVE_PROPERTY, DEFAULT_KEEP_ALIVE_SECONDS);
+        }
         SpringApplication.run(ContactsAgendaApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -3,7 +3,6 @@ package com.contacts.agenda.client;
 import com.contacts.agenda.model.Contact;
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.http.HttpHeaders;
 
@@ -21,12 +20,45 @@ public class ContactPageResponse implements Serializable {
     private Map<String, String> headers;
 
     public static ContactPageResponse from(List<Contact> contacts, HttpHeaders httpHeaders) {
-        Map<String, String> headerMap = new HashMap<>();
+        return new ContactPageResponse(contacts, toHeaderMap(new HashMap<>(), httpHeaders));
+    }
+
+    /**
+     * Header stored with the page, {@code name} is case-insensitive.
+     */
+    public String header(String name) {
+        return headers == null ? null : headers.get(name.toLowerCase());
+    }
+
+    /**
+     * Same contacts with the headers of a {@code 304 Not Modified} response merged over the stored ones.
+     * Headers the 304 doesn't repeat, like {@code total-count}, are kept.
+     * <p>
+     * When the 304 carries the stored {@code ETag} / {@code Last-Modified} validators, or none, this same
+     * page is returned: nothing that matters changed, so the cache can touch the entry instead of writing
+     * it again. Only headers like {@code Date} keep their previous value.
+     */
+    public ContactPageResponse revalidate(HttpHeaders notModifiedHeaders) {
+        if (sameValidator(notModifiedHeaders, HttpHeaders.ETAG)
+                && sameValidator(notModifiedHeaders, HttpHeaders.LAST_MODIFIED)) {
+            return this;
+        }
+
+        Map<String, String> merged = new HashMap<>(headers == null ? Map.of() : headers);
+        return new ContactPageResponse(contacts, toHeaderMap(merged, notModifiedHeaders));
+    }
+
+    private boolean sameValidator(HttpHeaders notModifiedHeaders, String name) {
+        String validator = notModifiedHeaders.getFirst(name);
+        return validator == null || validator.equals(header(name));
+    }
+
+    private static Map<String, String> toHeaderMap(Map<String, String> headerMap, HttpHeaders httpHeaders) {
         httpHeaders.forEach((key, values) -> {
             if (!values.isEmpty()) {
                 headerMap.put(key.toLowerCase(), values.getFirst());
             }
         });
-        return new ContactPageResponse(contacts, headerMap);
+        return headerMap;
     }
 }
@@ -0,0 +1,129 @@
+package com.contacts.agenda.client;
+
+import com.contacts.agenda.model.Contact;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Client of the Kenect Labs contacts endpoint, {@code GET /api/v1/contacts?page=&pageSize=}.
+ * <p>
+ * Instead of binding the whole body into a {@code List<Contact>}, the upstream array is read token by
+ * token and every contact is handed to the consumer as soon as it's parsed. Only the contact being
+ * parsed and Jackson's read buffer are held by the client, what happens to each contact is up to the
+ * caller.
+ * <p>
+ * Error statuses are translated by {@link DefaultResponseErrorHandler}, and I/O failures surface as
+ * {@link org.springframework.web.client.ResourceAccessException}, so retry and circuit breaker rules
+ * configured for {@link RestClientException} apply to every failure of the call.
+ * <p>
+ * Pages can be fetched conditionally with the {@code ETag} / {@code Last-Modified} validators of a
+ * previous response, a {@code 304 Not Modified} is reported instead of streaming an empty page.
+ * <p>
+ * <strong>⚠️ Partial Pages:</strong>
+ * <blockquote>
+ * The consumer sees contacts before the body is complete. If the connection drops halfway, it has
+ * already received part of the page, so consumers must tolerate a retry sending the same contacts again.
+ * </blockquote>
+ */
+public class KenectLabsStreamingClient {
+
+    private static final String CONTACTS_PATH = "/api/v1/contacts";
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader contactReader;
+    private final DefaultResponseErrorHandler errorHandler = new DefaultResponseErrorHandler();
+
+    public KenectLabsStreamingClient(RestClient restClient, ObjectMapper objectMapper) {
+        this.restClient = restClient;
+        this.objectMapper = objectMapper;
+        this.contactReader = objectMapper.readerFor(Contact.class);
+    }
+
+    /**
+     * Result of a conditional {@link #streamContacts(Long, Long, String, String, Consumer)} call.
+     *
+     * @param notModified {@code true} when the external API answered {@code 304 Not Modified}, in which
+     *                    case nothing was handed to the consumer
+     * @param headers     the response headers
+     */
+    public record StreamedPage(boolean notModified, HttpHeaders headers) {
+    }
+
+    /**
+     * Streams one page of contacts into {@code consumer}, in the order the external API returns them.
+     *
+     * @return the response headers, available once the whole page has been consumed
+     */
+    public HttpHeaders streamContacts(Long page, Long pageSize, Consumer<Contact> consumer) {
+        return streamContacts(page, pageSize, null, null, consumer).headers();
+    }
+
+    /**
+     * Conditional variant of {@link #streamContacts(Long, Long, Consumer)}: sends {@code If-None-Match}
+     * and {@code If-Modified-Since} for the validators that are not {@code null}, and on a
+     * {@code 304 Not Modified} returns without reading a body.
+     */
+    public StreamedPage streamContacts(Long page, Long pageSize, String eTag, String lastModified,
+                                       Consumer<Contact> consumer) {
+        return restClient.get()
+                .uri(uriBuilder -> uriBuilder.path(CONTACTS_PATH)
+                        .queryParamIfPresent("page", Optional.ofNullable(page))
+                        .queryParamIfPresent("pageSize", Optional.ofNullable(pageSize))
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (eTag != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, eTag);
+                    }
+                    if (lastModified != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                    }
+                })
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        return new StreamedPage(true, response.getHeaders());
+                    }
+                    if (errorHandler.hasError(response)) {
+                        errorHandler.handleError(request.getURI(), request.getMethod(), response);
+                    }
+                    readContacts(response, consumer);
+                    return new StreamedPage(false, response.getHeaders());
+                });
+    }
+
+    private void readContacts(ClientHttpResponse response, Consumer<Contact> consumer) throws IOException {
+        try (InputStream body = response.getBody();
+             JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new RestClientException("Expected a JSON array of contacts but got " + token);
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                consumer.accept(contactReader.readValue(parser));
+            }
+
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new RestClientException("Malformed contacts array, unexpected " + parser.currentToken());
+            }
+        }
+    }
+}
@@ -4,19 +4,29 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -29,11 +39,21 @@ import java.util.stream.Collectors;
  * <b>Key Features:</b>
  * <ul>
  *   <li>Type-safe serialization with {@code @class} metadata</li>
+ *   <li>Compact binary encoding of contact pages ({@code redis-cache.codec: compact}), see
+ *       {@link CompactContactPageSerializer}</li>
  *   <li>Support for Java 8+ time types (e.g., {@code Instant})</li>
  *   <li>Configurable TTL per cache name via {@code application.yml}</li>
  *   <li>Default TTL of 5 minutes for unconfigured caches</li>
+ *   <li>Optional {@code soft-ttl} per cache to serve stale entries while they are refreshed in
+ *       the background, see {@link StaleWhileRevalidateCache}</li>
+ *   <li>Optional {@code near-cache-max-weight} per cache to keep an in-process L1 in front of Redis,
+ *       invalidated across instances through pub/sub, see {@link NearCache}</li>
  * </ul>
  * <p>
+ * Caches are layered as {@code stale-while-revalidate → near cache (L1) → Redis (L2)}, so L1 holds
+ * the timestamped envelopes and staleness is checked without leaving the process. A refresh that loads
+ * the value already stored only touches the entry on both levels, see {@link TouchableCache}.
+ * <p>
  * <b>Example Cached Object Structure:</b>
  * <p>
  * Each cached entry includes type metadata to ensure proper deserialization:
@@ -56,7 +76,9 @@ import java.util.stream.Collectors;
  * redis-cache:
  *   caches:
  *     - name: contactPages
- *       ttl: 5m
+ *       ttl: 30m        # hard TTL, entry is removed and the next read blocks
+ *       soft-ttl: 5m    # entry is stale, served while a background refresh runs
+ *       near-cache-max-weight: 50000  # contacts kept in process memory
  *       cache-null-values: false
  * }</pre></blockquote>
  *
@@ -67,25 +89,118 @@ import java.util.stream.Collectors;
 @EnableCaching
 public class CacheConfig {
 
+    @Bean
+    public NearCacheInvalidator nearCacheInvalidator(StringRedisTemplate stringRedisTemplate) {
+        return new NearCacheInvalidator(stringRedisTemplate);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                       NearCacheInvalidator invalidator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidator, new ChannelTopic(NearCacheInvalidator.CHANNEL));
+        return container;
+    }
+
+    /**
+     * Runs the background refreshes of stale entries. Closing it waits for the refreshes in flight, and it
+     * depends on the Redis connection factory so that happens before the connections they write to close.
+     */
+    @Bean(destroyMethod = "close")
+    @DependsOn("redisConnectionFactory")
+    public ExecutorService cacheRefreshExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-refresh-", 0).factory());
+    }
+
     @Bean
     public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
-                                     RedisCacheProperties properties) {
+                                     RedisCacheProperties properties,
+                                     NearCacheInvalidator nearCacheInvalidator,
+                                     MeterRegistry meterRegistry,
+                                     ExecutorService cacheRefreshExecutor,
+                                     StringRedisTemplate stringRedisTemplate) {
+        RedisSerializer<Object> valueSerializer = buildValueSerializer(properties);
+
         Map<String, RedisCacheConfiguration> cacheConfigs = properties.getCaches().stream()
                 .collect(Collectors.toMap(
                         RedisCacheProperties.CacheProperty::getName,
                         cache -> buildCacheConfig(
                                 parseDuration(cache.getTtl()),
-                                cache.isCacheNullValues()
+                                cache.isCacheNullValues(),
+                                valueSerializer
                         )
                 ));
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(buildCacheConfig(Duration.ofMinutes(15), false))
-                .withInitialCacheConfigurations(cacheConfigs)
-                .build();
+        RedisCacheManager redisCacheManager = new TouchableRedisCacheManager(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                buildCacheConfig(Duration.ofMinutes(15), false, valueSerializer),
+                cacheConfigs,
+                stringRedisTemplate
+        );
+        redisCacheManager.initializeCaches();
+
+        Map<String, Duration> softTtls = properties.getCaches().stream()
+                .filter(cache -> cache.getSoftTtl() != null)
+                .collect(Collectors.toMap(
+                        RedisCacheProperties.CacheProperty::getName,
+                        this::validSoftTtl
+                ));
+
+        Map<String, NearCacheManager.NearCacheSpec> nearCacheSpecs = properties.getCaches().stream()
+                .filter(cache -> cache.getNearCacheMaxWeight() > 0)
+                .collect(Collectors.toMap(
+                        RedisCacheProperties.CacheProperty::getName,
+                        cache -> new NearCacheManager.NearCacheSpec(cache.getNearCacheMaxWeight(), parseDuration(cache.getTtl()))
+                ));
+
+        CacheManager nearCacheManager = new NearCacheManager(redisCacheManager, nearCacheSpecs, nearCacheInvalidator, meterRegistry);
+
+        return new StaleWhileRevalidateCacheManager(
+                nearCacheManager,
+                softTtls,
+                cacheRefreshExecutor,
+                Clock.systemUTC()
+        );
     }
 
-    private RedisCacheConfiguration buildCacheConfig(Duration ttl, boolean cacheNulls) {
+    private Duration validSoftTtl(RedisCacheProperties.CacheProperty cache) {
+        Duration softTtl = parseDuration(cache.getSoftTtl());
+        Duration hardTtl = parseDuration(cache.getTtl());
+        if (softTtl.compareTo(hardTtl) >= 0) {
+            throw new IllegalArgumentException(
+                    "soft-ttl of cache " + cache.getName() + " must be lower than its ttl (" + hardTtl + ")");
+        }
+        return softTtl;
+    }
+
+    /**
+     * {@code json} keeps the typed Jackson serializer for every value, {@code compact} (default) encodes
+     * contact pages with {@link CompactContactPageSerializer} and keeps Jackson for anything else.
+     */
+    private RedisSerializer<Object> buildValueSerializer(RedisCacheProperties properties) {
+        RedisSerializer<Object> jsonSerializer = buildJsonSerializer();
+
+        return switch (properties.getCodec()) {
+            case "json" -> jsonSerializer;
+            case "compact" -> new CompactContactPageSerializer(jsonSerializer, properties.getCompressionThreshold());
+            default -> throw new IllegalArgumentException(
+                    "Unknown redis-cache.codec " + properties.getCodec() + ", expected json or compact");
+        };
+    }
+
+    private RedisCacheConfiguration buildCacheConfig(Duration ttl, boolean cacheNulls, RedisSerializer<Object> valueSerializer) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
+                .serializeKeysWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(valueSerializer));
+
+        return cacheNulls ? config : config.disableCachingNullValues();
+    }
+
+    static RedisSerializer<Object> buildJsonSerializer() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
 
@@ -98,14 +213,7 @@ public class CacheConfig {
                 ObjectMapper.DefaultTyping.NON_FINAL
         );
 
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(ttl)
-                .serializeKeysWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer(objectMapper)));
-
-        return cacheNulls ? config : config.disableCachingNullValues();
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
     }
 
     private Duration parseDuration(String duration) {
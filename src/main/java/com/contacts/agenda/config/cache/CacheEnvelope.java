@@ -0,0 +1,29 @@
+package com.contacts.agenda.config.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Cached value stamped with the moment it was written, so {@link StaleWhileRevalidateCache} can
+ * tell fresh entries from stale ones without relying on the Redis TTL.
+ * <p>
+ * Kept as a non-final class with a no-args constructor so the typed Jackson serializer of
+ * {@link CacheConfig} can round-trip it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEnvelope implements Serializable {
+
+    private Object value;
+    private long writtenAtMillis;
+
+    public boolean isOlderThan(Duration age, Instant now) {
+        return now.toEpochMilli() - writtenAtMillis >= age.toMillis();
+    }
+}
@@ -0,0 +1,354 @@
+package com.contacts.agenda.config.cache;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import com.contacts.agenda.model.Contact;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary {@link RedisSerializer} for cached {@link ContactPageResponse} pages.
+ * <p>
+ * The Jackson serializer writes field names and {@code @class} metadata for every contact, this
+ * codec writes values only:
+ * <ul>
+ *   <li>ids as zig-zag varints of the delta to the previous id, so consecutive ids take one byte</li>
+ *   <li>instants as varint epoch millis, {@code updatedAt} as a delta to {@code createdAt}</li>
+ *   <li>{@code source} as an index into a per-page dictionary, it's the same for every contact</li>
+ *   <li>strings as varint length plus UTF-8 bytes, with a presence bitmask for null fields</li>
+ * </ul>
+ * Bodies bigger than {@code compressionThreshold} bytes are deflated.
+ * <p>
+ * The {@code writtenAtMillis} of a {@link CacheEnvelope} is written as a fixed 8 bytes right after the
+ * marker and never deflated, so {@link TouchableRedisCache} can overwrite it in place.
+ * <p>
+ * Any other value is handed to the fallback serializer, and values that don't start with one of the
+ * codec markers are decoded by it as well, so entries written by the JSON serializer are still read
+ * after switching codecs.
+ * <p>
+ * <b>Layout:</b>
+ * <blockquote><pre>{@code
+ * marker (1 byte: type | 0x80 when deflated)
+ * [writtenAtMillis 8 bytes]           # only for CacheEnvelope, big-endian, never deflated
+ * headerCount varint, (key, value)*
+ * sourceCount varint, source*
+ * contactCount varint, contact*
+ * contact = presence bitmask, idDelta, name, email, sourceIndex, createdAt, updatedAtDelta
+ * }</pre></blockquote>
+ * <p>
+ * <strong>⚠️ Precision:</strong>
+ * <blockquote>
+ * Instants are stored with millisecond precision, which matches what the external API returns.
+ * Sub-millisecond digits would be truncated.
+ * </blockquote>
+ */
+public class CompactContactPageSerializer implements RedisSerializer<Object> {
+
+    private static final byte TYPE_PAGE = 0x01;
+    /**
+     * Envelope with a varint {@code writtenAtMillis} inside the body, only read for entries written before
+     * {@link #TYPE_STAMPED_PAGE}.
+     */
+    private static final byte TYPE_ENVELOPED_PAGE = 0x02;
+    static final byte TYPE_STAMPED_PAGE = 0x03;
+    static final int DEFLATED = 0x80;
+    static final int STAMP_BYTES = Long.BYTES;
+    private static final byte[] NO_STAMP = new byte[0];
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_EMAIL = 1 << 2;
+    private static final int HAS_SOURCE = 1 << 3;
+    private static final int HAS_CREATED_AT = 1 << 4;
+    private static final int HAS_UPDATED_AT = 1 << 5;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+
+    public CompactContactPageSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value instanceof CacheEnvelope envelope && envelope.getValue() instanceof ContactPageResponse page) {
+            Output out = new Output();
+            writePage(out, page);
+            byte[] stamp = ByteBuffer.allocate(STAMP_BYTES).putLong(envelope.getWrittenAtMillis()).array();
+            return withMarker(TYPE_STAMPED_PAGE, stamp, out.toByteArray());
+        }
+        if (value instanceof ContactPageResponse page) {
+            Output out = new Output();
+            writePage(out, page);
+            return withMarker(TYPE_PAGE, NO_STAMP, out.toByteArray());
+        }
+        return fallback.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        int type = bytes[0] & ~DEFLATED;
+        if (type != TYPE_PAGE && type != TYPE_ENVELOPED_PAGE && type != TYPE_STAMPED_PAGE) {
+            return fallback.deserialize(bytes);
+        }
+
+        int bodyOffset = type == TYPE_STAMPED_PAGE ? 1 + STAMP_BYTES : 1;
+        if (bytes.length < bodyOffset) {
+            throw new SerializationException("Truncated cache value");
+        }
+        byte[] body = (bytes[0] & DEFLATED) != 0
+                ? inflate(bytes, bodyOffset)
+                : Arrays.copyOfRange(bytes, bodyOffset, bytes.length);
+        Input in = new Input(body);
+
+        if (type == TYPE_STAMPED_PAGE) {
+            long writtenAtMillis = ByteBuffer.wrap(bytes, 1, STAMP_BYTES).getLong();
+            return new CacheEnvelope(readPage(in), writtenAtMillis);
+        }
+        if (type == TYPE_ENVELOPED_PAGE) {
+            long writtenAtMillis = in.readVarLong();
+            return new CacheEnvelope(readPage(in), writtenAtMillis);
+        }
+        return readPage(in);
+    }
+
+    private void writePage(Output out, ContactPageResponse page) {
+        Map<String, String> headers = page.getHeaders() == null ? Map.of() : page.getHeaders();
+        out.writeVarInt(headers.size());
+        headers.forEach((key, value) -> {
+            out.writeString(key);
+            out.writeString(value);
+        });
+
+        List<Contact> contacts = page.getContacts() == null ? List.of() : page.getContacts();
+        Map<String, Integer> sources = new LinkedHashMap<>();
+        contacts.forEach(contact -> {
+            if (contact.source() != null) {
+                sources.putIfAbsent(contact.source(), sources.size());
+            }
+        });
+        out.writeVarInt(sources.size());
+        sources.keySet().forEach(out::writeString);
+
+        out.writeVarInt(contacts.size());
+        long previousId = 0;
+        for (Contact contact : contacts) {
+            int presence = (contact.id() != null ? HAS_ID : 0)
+                    | (contact.name() != null ? HAS_NAME : 0)
+                    | (contact.email() != null ? HAS_EMAIL : 0)
+                    | (contact.source() != null ? HAS_SOURCE : 0)
+                    | (contact.createdAt() != null ? HAS_CREATED_AT : 0)
+                    | (contact.updatedAt() != null ? HAS_UPDATED_AT : 0);
+            out.write(presence);
+
+            if (contact.id() != null) {
+                out.writeZigZag(contact.id() - previousId);
+                previousId = contact.id();
+            }
+            if (contact.name() != null) {
+                out.writeString(contact.name());
+            }
+            if (contact.email() != null) {
+                out.writeString(contact.email());
+            }
+            if (contact.source() != null) {
+                out.writeVarInt(sources.get(contact.source()));
+            }
+            long createdAtMillis = 0;
+            if (contact.createdAt() != null) {
+                createdAtMillis = contact.createdAt().toEpochMilli();
+                out.writeZigZag(createdAtMillis);
+            }
+            if (contact.updatedAt() != null) {
+                out.writeZigZag(contact.updatedAt().toEpochMilli() - createdAtMillis);
+            }
+        }
+    }
+
+    private ContactPageResponse readPage(Input in) {
+        int headerCount = in.readVarInt();
+        Map<String, String> headers = new HashMap<>(Math.max(4, headerCount * 2));
+        for (int i = 0; i < headerCount; i++) {
+            headers.put(in.readString(), in.readString());
+        }
+
+        int sourceCount = in.readVarInt();
+        String[] sources = new String[sourceCount];
+        for (int i = 0; i < sourceCount; i++) {
+            sources[i] = in.readString();
+        }
+
+        int contactCount = in.readVarInt();
+        List<Contact> contacts = new ArrayList<>(contactCount);
+        long previousId = 0;
+        for (int i = 0; i < contactCount; i++) {
+            int presence = in.read();
+
+            Long id = null;
+            if ((presence & HAS_ID) != 0) {
+                previousId += in.readZigZag();
+                id = previousId;
+            }
+            String name = (presence & HAS_NAME) != 0 ? in.readString() : null;
+            String email = (presence & HAS_EMAIL) != 0 ? in.readString() : null;
+            String source = (presence & HAS_SOURCE) != 0 ? sources[in.readVarInt()] : null;
+
+            long createdAtMillis = 0;
+            Instant createdAt = null;
+            if ((presence & HAS_CREATED_AT) != 0) {
+                createdAtMillis = in.readZigZag();
+                createdAt = Instant.ofEpochMilli(createdAtMillis);
+            }
+            Instant updatedAt = (presence & HAS_UPDATED_AT) != 0
+                    ? Instant.ofEpochMilli(createdAtMillis + in.readZigZag())
+                    : null;
+
+            contacts.add(new Contact(id, name, email, source, createdAt, updatedAt));
+        }
+
+        return new ContactPageResponse(contacts, headers);
+    }
+
+    private byte[] withMarker(byte type, byte[] stamp, byte[] body) {
+        boolean deflated = compressionThreshold > 0 && body.length > compressionThreshold;
+        byte[] encoded = deflated ? deflate(body) : body;
+
+        byte[] result = new byte[1 + stamp.length + encoded.length];
+        result[0] = (byte) (deflated ? type | DEFLATED : type);
+        System.arraycopy(stamp, 0, result, 1, stamp.length);
+        System.arraycopy(encoded, 0, result, 1 + stamp.length, encoded.length);
+        return result;
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("Truncated compressed cache value");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new SerializationException("Corrupted compressed cache value", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+
+        private Output() {
+            super(1024);
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int read() {
+            if (position >= bytes.length) {
+                throw new SerializationException("Truncated cache value");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new SerializationException("Malformed varint in cache value");
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            int length = readVarInt();
+            if (length < 0 || position + length > bytes.length) {
+                throw new SerializationException("Truncated cache value");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
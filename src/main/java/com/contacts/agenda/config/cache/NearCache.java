@@ -0,0 +1,189 @@
+package com.contacts.agenda.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-level {@link Cache}: an in-process Caffeine cache (L1) in front of the Redis cache (L2).
+ * <p>
+ * Reads are served from L1 when possible, which costs neither a network round trip nor a
+ * deserialization. L1 misses fall through to Redis and keep the deserialized value locally.
+ * Writes go to both levels and are broadcast through {@link NearCacheInvalidator} so every other
+ * instance drops its L1 copy and reads the new value from Redis next time.
+ * <p>
+ * L1 entries are keyed by {@code String.valueOf(key)}, the same string Redis uses, so invalidation
+ * messages can address them. Every invalidation bumps an epoch, and a value read from Redis is dropped
+ * again from L1 when the epoch moved while it was being read, so an invalidation arriving between the
+ * Redis read and the L1 write never leaves the old value behind.
+ * <p>
+ * {@link #touch(Object, CacheEnvelope) Touches} are not broadcast: the value didn't change, so other
+ * instances keep their L1 copy with the previous timestamp and find it stale on their own.
+ * <p>
+ * <strong>⚠️ Shared Instances:</strong>
+ * <blockquote>
+ * L1 hands out the same object to every caller. Cached values must be treated as read-only, mutating
+ * one would silently change what every following request reads.
+ * </blockquote>
+ */
+public class NearCache implements TouchableCache {
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final NearCacheInvalidator invalidator;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public NearCache(Cache remote,
+                     com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                     NearCacheInvalidator invalidator) {
+        this.remote = remote;
+        this.local = local;
+        this.invalidator = invalidator;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object cached = local.getIfPresent(localKey(key));
+        if (cached != null) {
+            return new SimpleValueWrapper(cached);
+        }
+
+        long epoch = invalidations.get();
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            putRemoteValue(localKey(key), wrapper.get(), epoch);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = local.getIfPresent(localKey(key));
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long epoch = invalidations.get();
+        T value = remote.get(key, valueLoader);
+        if (value != null) {
+            putRemoteValue(localKey(key), value, epoch);
+        }
+        return value;
+    }
+
+    private void putRemoteValue(String key, Object value, long epoch) {
+        local.put(key, value);
+        // checked after the put, an invalidation bumping the epoch later also drops the entry itself
+        if (invalidations.get() != epoch) {
+            local.invalidate(key);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+        invalidator.publish(getName(), localKey(key));
+    }
+
+    /**
+     * Touches the Redis entry and swaps the restamped envelope into L1, when L1 still holds the same value.
+     */
+    @Override
+    public boolean touch(Object key, CacheEnvelope envelope) {
+        if (!(remote instanceof TouchableCache touchable) || !touchable.touch(key, envelope)) {
+            return false;
+        }
+        local.asMap().computeIfPresent(localKey(key), (localKey, cached) ->
+                cached instanceof CacheEnvelope stored && Objects.equals(stored.getValue(), envelope.getValue())
+                        ? envelope
+                        : cached);
+        return true;
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing == null) {
+            if (value != null) {
+                local.put(localKey(key), value);
+            }
+            invalidator.publish(getName(), localKey(key));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        invalidator.publish(getName(), localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        local.invalidate(localKey(key));
+        invalidator.publish(getName(), localKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidator.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        local.invalidateAll();
+        invalidator.publishClear(getName());
+        return invalidated;
+    }
+
+    /**
+     * Drops the L1 copy only, called when another instance changed the entry in Redis.
+     */
+    void invalidateLocal(String key) {
+        invalidations.incrementAndGet();
+        local.invalidate(key);
+    }
+
+    void invalidateLocalAll() {
+        invalidations.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,42 @@
+package com.contacts.agenda.config.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Expires L1 entries when their Redis copy does, instead of a full TTL after they were copied into L1.
+ * <p>
+ * Values wrapped in a {@link CacheEnvelope} carry the moment they were written to Redis, so they get what
+ * is left of the Redis TTL. Anything else gets the whole TTL, measured from the L1 write.
+ */
+class NearCacheExpiry implements Expiry<String, Object> {
+
+    private final long ttlNanos;
+    private final Clock clock;
+
+    NearCacheExpiry(Duration ttl, Clock clock) {
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public long expireAfterCreate(String key, Object value, long currentTime) {
+        if (!(value instanceof CacheEnvelope envelope)) {
+            return ttlNanos;
+        }
+        long ageNanos = Duration.ofMillis(clock.millis() - envelope.getWrittenAtMillis()).toNanos();
+        return Math.max(0, ttlNanos - Math.max(0, ageNanos));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,80 @@
+package com.contacts.agenda.config.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the L1 of every {@link NearCache} consistent across instances through Redis pub/sub.
+ * <p>
+ * Each write publishes {@code <instance id>|<cache name>|<key>} to {@value #CHANNEL}, or
+ * {@code <instance id>|<cache name>} for a clear. Every instance, except the one that published it,
+ * drops the matching L1 entries so its next read goes to Redis.
+ * <p>
+ * <strong>⚠️ Delivery:</strong>
+ * <blockquote>
+ * Redis pub/sub is fire-and-forget. An instance disconnected from Redis misses invalidations and can
+ * serve its L1 copy until it expires, which is why L1 entries never outlive their Redis copy.
+ * </blockquote>
+ */
+@Slf4j
+public class NearCacheInvalidator implements MessageListener {
+
+    public static final String CHANNEL = "contacts-agenda:cache-invalidation";
+
+    private static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+
+    public NearCacheInvalidator(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public void register(String cacheName, NearCache cache) {
+        caches.put(cacheName, cache);
+    }
+
+    public void publish(String cacheName, String key) {
+        send(instanceId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    public void publishClear(String cacheName) {
+        send(instanceId + SEPARATOR + cacheName);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 2 || instanceId.equals(parts[0])) {
+            return;
+        }
+
+        NearCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+
+        if (parts.length == 3) {
+            cache.invalidateLocal(parts[2]);
+        } else {
+            cache.invalidateLocalAll();
+        }
+    }
+
+    private void send(String message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException ex) {
+            log.warn("Could not publish near cache invalidation, other instances keep their copy until it expires. Error: {}",
+                    ex.getMessage());
+        }
+    }
+}
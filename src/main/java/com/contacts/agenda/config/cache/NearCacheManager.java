@@ -0,0 +1,73 @@
+package com.contacts.agenda.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CacheManager} decorator that puts a {@link NearCache} in front of the caches configured
+ * with a {@code near-cache-max-weight}. Caches without it are returned untouched.
+ * <p>
+ * L1 is bounded by weight rather than entry count, a page weighs as many units as the contacts it
+ * holds (see {@link NearCacheWeigher}), and expires entries when their Redis copy does (see
+ * {@link NearCacheExpiry}). Hit and miss rates are exported as {@code cache.gets{cache=<name>.near}}.
+ */
+public class NearCacheManager implements CacheManager {
+
+    public record NearCacheSpec(long maxWeight, Duration ttl) {
+    }
+
+    private final CacheManager delegate;
+    private final Map<String, NearCacheSpec> specs;
+    private final NearCacheInvalidator invalidator;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache> nearCaches = new ConcurrentHashMap<>();
+
+    public NearCacheManager(CacheManager delegate, Map<String, NearCacheSpec> specs,
+                            NearCacheInvalidator invalidator, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.specs = Map.copyOf(specs);
+        this.invalidator = invalidator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        NearCacheSpec spec = specs.get(name);
+        if (spec == null) {
+            return delegate.getCache(name);
+        }
+
+        return nearCaches.computeIfAbsent(name, cacheName -> {
+            Cache remote = delegate.getCache(cacheName);
+            return remote == null ? null : createNearCache(cacheName, remote, spec);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private NearCache createNearCache(String cacheName, Cache remote, NearCacheSpec spec) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumWeight(spec.maxWeight())
+                .weigher(new NearCacheWeigher())
+                .expireAfter(new NearCacheExpiry(spec.ttl(), Clock.systemUTC()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, cacheName + ".near");
+
+        NearCache nearCache = new NearCache(remote, local, invalidator);
+        invalidator.register(cacheName, nearCache);
+        return nearCache;
+    }
+}
@@ -0,0 +1,26 @@
+package com.contacts.agenda.config.cache;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.util.Collection;
+
+/**
+ * Weighs L1 entries by how many contacts they hold, so the near cache is bounded by roughly how much
+ * memory it takes instead of by entry count. Anything else weighs one unit.
+ */
+class NearCacheWeigher implements Weigher<String, Object> {
+
+    @Override
+    public int weigh(String key, Object value) {
+        Object unwrapped = value instanceof CacheEnvelope envelope ? envelope.getValue() : value;
+
+        if (unwrapped instanceof ContactPageResponse page && page.getContacts() != null) {
+            return Math.max(1, page.getContacts().size());
+        }
+        if (unwrapped instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        return 1;
+    }
+}
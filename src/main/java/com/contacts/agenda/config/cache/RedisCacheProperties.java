@@ -12,11 +12,15 @@ import java.util.List;
 @ConfigurationProperties(prefix = "redis-cache")
 public class RedisCacheProperties {
     private List<CacheProperty> caches = new ArrayList<>();
+    private String codec = "compact";
+    private int compressionThreshold = 8192;
 
     @Data
     public static class CacheProperty {
         private String name;
         private String ttl;
+        private String softTtl;
+        private long nearCacheMaxWeight = 0;
         private boolean cacheNullValues = false;
     }
 }
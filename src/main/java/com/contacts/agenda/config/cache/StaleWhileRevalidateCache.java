@@ -0,0 +1,187 @@
+package com.contacts.agenda.config.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link Cache} decorator that serves stale entries while they are refreshed in the background.
+ * <p>
+ * Entries are stored in the delegate wrapped in a {@link CacheEnvelope}. The delegate expires them
+ * after the hard TTL (the regular {@code ttl}), while this decorator compares their age against the
+ * soft TTL on every read:
+ * <ul>
+ *   <li><b>Fresh</b> (younger than soft TTL): returned as is</li>
+ *   <li><b>Stale</b> (older than soft TTL, still stored): returned immediately and a single
+ *       asynchronous refresh per key repopulates the entry</li>
+ *   <li><b>Missing</b> (past hard TTL): the caller blocks and loads it, as a regular cache miss</li>
+ * </ul>
+ * <p>
+ * Only {@link #get(Object, Callable)} can refresh, so methods must use
+ * {@code @Cacheable(sync = true)} to benefit from it.
+ * <p>
+ * When a refresh or a put brings the value that is already stored, like a page revalidated with
+ * {@code 304 Not Modified}, a {@link TouchableCache} delegate only gets the entry touched, so its
+ * timestamp and TTL start over without writing the value again.
+ * <p>
+ * <strong>⚠️ Refresh Failures:</strong>
+ * <blockquote>
+ * The value loader handed over by the caching aspect only covers the cached method itself, so a
+ * background refresh does not go through retries or the circuit breaker fallback. A failed refresh
+ * is logged and the stale value keeps being served until the next read tries again or the hard TTL
+ * expires it.
+ * </blockquote>
+ */
+@Slf4j
+public class StaleWhileRevalidateCache implements Cache {
+
+    private final Cache delegate;
+    private final Duration softTtl;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    public StaleWhileRevalidateCache(Cache delegate, Duration softTtl, Executor refreshExecutor, Clock clock) {
+        this.delegate = delegate;
+        this.softTtl = softTtl;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper == null ? null : new SimpleValueWrapper(unwrap(wrapper.get()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            Object stored = wrapper.get();
+            if (isStale(stored)) {
+                refreshAsync(key, valueLoader);
+            }
+            return (T) unwrap(stored);
+        }
+
+        return (T) unwrap(delegate.get(key, () -> envelope(valueLoader.call())));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, envelope(value));
+        return existing == null ? null : new SimpleValueWrapper(unwrap(existing.get()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private <T> void refreshAsync(Object key, Callable<T> valueLoader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    T value = valueLoader.call();
+                    if (value != null) {
+                        store(key, value);
+                    }
+                    log.debug("Refreshed stale entry {} of cache {}", key, getName());
+                } catch (Exception ex) {
+                    log.warn("Failed to refresh stale entry {} of cache {}, serving stale value. Error: {}",
+                            key, getName(), ex.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException ex) {
+            refreshing.remove(key);
+            log.warn("Could not schedule refresh of stale entry {} of cache {}. Error: {}", key, getName(), ex.getMessage());
+        }
+    }
+
+    private void store(Object key, Object value) {
+        CacheEnvelope envelope = envelope(value);
+        if (envelope != null && delegate instanceof TouchableCache touchable && isStored(key, value)
+                && touchable.touch(key, envelope)) {
+            log.debug("Entry {} of cache {} unchanged, touched it", key, getName());
+            return;
+        }
+        delegate.put(key, envelope);
+    }
+
+    private boolean isStored(Object key, Object value) {
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper != null && Objects.equals(unwrap(wrapper.get()), value);
+    }
+
+    /**
+     * Values written before this decorator existed carry no timestamp, so they are treated as stale.
+     */
+    private boolean isStale(Object stored) {
+        return !(stored instanceof CacheEnvelope envelope) || envelope.isOlderThan(softTtl, clock.instant());
+    }
+
+    private CacheEnvelope envelope(Object value) {
+        return value == null ? null : new CacheEnvelope(value, clock.millis());
+    }
+
+    private static Object unwrap(Object stored) {
+        return stored instanceof CacheEnvelope envelope ? envelope.getValue() : stored;
+    }
+}
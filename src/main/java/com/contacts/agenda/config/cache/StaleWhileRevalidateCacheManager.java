@@ -0,0 +1,50 @@
+package com.contacts.agenda.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link CacheManager} decorator that wraps the caches configured with a {@code soft-ttl} in a
+ * {@link StaleWhileRevalidateCache}. Caches without it are returned untouched.
+ */
+public class StaleWhileRevalidateCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, Duration> softTtls;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final Map<String, Cache> decoratedCaches = new ConcurrentHashMap<>();
+
+    public StaleWhileRevalidateCacheManager(CacheManager delegate, Map<String, Duration> softTtls,
+                                            Executor refreshExecutor, Clock clock) {
+        this.delegate = delegate;
+        this.softTtls = Map.copyOf(softTtls);
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Duration softTtl = softTtls.get(name);
+        if (softTtl == null) {
+            return delegate.getCache(name);
+        }
+
+        return decoratedCaches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            return cache == null ? null : new StaleWhileRevalidateCache(cache, softTtl, refreshExecutor, clock);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,22 @@
+package com.contacts.agenda.config.cache;
+
+import org.springframework.cache.Cache;
+
+/**
+ * {@link Cache} that can restart an entry without writing its value again.
+ * <p>
+ * Used by {@link StaleWhileRevalidateCache} when a refresh loads the value that is already stored, like a
+ * page revalidated with {@code 304 Not Modified}: only the timestamp of the stored {@link CacheEnvelope}
+ * and the TTL are renewed, the value is neither serialized nor uploaded again and no other instance is
+ * told to drop its copy.
+ */
+public interface TouchableCache extends Cache {
+
+    /**
+     * Restamps the stored entry with {@link CacheEnvelope#getWrittenAtMillis()} of {@code envelope} and
+     * restarts its TTL. The stored value must equal the one of {@code envelope}.
+     *
+     * @return {@code false} when the entry is gone or can't be restamped in place, it must then be put
+     */
+    boolean touch(Object key, CacheEnvelope envelope);
+}
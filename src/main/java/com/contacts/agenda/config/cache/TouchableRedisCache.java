@@ -0,0 +1,71 @@
+package com.contacts.agenda.config.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link RedisCache} that touches entries written by {@link CompactContactPageSerializer} in place.
+ * <p>
+ * A Lua script overwrites the fixed-width {@code writtenAtMillis} right after the marker byte with
+ * {@code SETRANGE} and restarts the TTL with {@code PEXPIRE}, so a touch costs one round trip with a
+ * few bytes instead of serializing, compressing and uploading the whole page.
+ * <p>
+ * Entries in any other layout (written by the {@code json} codec or before the stamp was fixed-width)
+ * are left alone and the touch reports {@code false}, the caller then puts the value, which rewrites it
+ * in the current layout.
+ */
+@Slf4j
+public class TouchableRedisCache extends RedisCache implements TouchableCache {
+
+    private static final RedisScript<Long> TOUCH_SCRIPT = new DefaultRedisScript<>("""
+            local marker = string.byte(redis.call('getrange', KEYS[1], 0, 0))
+            if marker ~= %d and marker ~= %d then
+              return 0
+            end
+            local millis = tonumber(ARGV[1])
+            local stamp = {}
+            for i = %d, 1, -1 do
+              stamp[i] = millis %% 256
+              millis = math.floor(millis / 256)
+            end
+            redis.call('setrange', KEYS[1], 1, string.char(unpack(stamp)))
+            if tonumber(ARGV[2]) > 0 then
+              redis.call('pexpire', KEYS[1], ARGV[2])
+            end
+            return 1
+            """.formatted(
+                    CompactContactPageSerializer.TYPE_STAMPED_PAGE,
+                    CompactContactPageSerializer.TYPE_STAMPED_PAGE | CompactContactPageSerializer.DEFLATED,
+                    CompactContactPageSerializer.STAMP_BYTES),
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+
+    public TouchableRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+                               StringRedisTemplate redisTemplate) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean touch(Object key, CacheEnvelope envelope) {
+        Duration ttl = getCacheConfiguration().getTtlFunction().getTimeToLive(key, envelope);
+        try {
+            Long touched = redisTemplate.execute(TOUCH_SCRIPT, List.of(createCacheKey(key)),
+                    String.valueOf(envelope.getWrittenAtMillis()), String.valueOf(ttl.toMillis()));
+            return touched != null && touched == 1;
+        } catch (RuntimeException ex) {
+            log.warn("Failed to touch entry {} of cache {}, writing it again. Error: {}", key, getName(), ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.contacts.agenda.config.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * {@link RedisCacheManager} whose caches are {@link TouchableRedisCache}s.
+ */
+public class TouchableRedisCacheManager extends RedisCacheManager {
+
+    private final RedisCacheWriter cacheWriter;
+    private final StringRedisTemplate redisTemplate;
+
+    public TouchableRedisCacheManager(RedisCacheWriter cacheWriter,
+                                      RedisCacheConfiguration defaultCacheConfiguration,
+                                      Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+                                      StringRedisTemplate redisTemplate) {
+        super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations);
+        this.cacheWriter = cacheWriter;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, @Nullable RedisCacheConfiguration cacheConfiguration) {
+        return new TouchableRedisCache(name, cacheWriter,
+                cacheConfiguration != null ? cacheConfiguration : getDefaultCacheConfiguration(), redisTemplate);
+    }
+}
@@ -1,33 +1,84 @@
 package com.contacts.agenda.config.http;
 
-import com.contacts.agenda.client.KenectLabsClient;
+import com.contacts.agenda.client.KenectLabsStreamingClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.client.support.RestClientAdapter;
-import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP transport of the Kenect Labs API client.
+ * <p>
+ * The Kenect Labs API is read through {@link KenectLabsStreamingClient}, whose {@link RestClient} sits on one
+ * JDK {@link HttpClient}, which keeps a connection pool of its own:
+ * <ul>
+ *   <li><b>HTTP/2:</b> the concurrent page fetches are multiplexed over one connection per host when
+ *       the API supports it, falling back to pooled HTTP/1.1 connections otherwise</li>
+ *   <li><b>Keep-alive:</b> idle connections are kept for {@code jdk.httpclient.keepalive.timeout}, so the
+ *       next fan-out or sync skips the TLS handshake</li>
+ *   <li><b>Compression:</b> bodies are requested and inflated as gzip, see {@link GzipResponseInterceptor}</li>
+ *   <li><b>Timeouts:</b> {@code kenect.api.connect-timeout} and {@code kenect.api.read-timeout}</li>
+ *   <li><b>Virtual threads:</b> the client's async work runs on virtual threads, closed with the context</li>
+ * </ul>
+ * <p>
+ * <strong>⚠️ Keep-alive:</strong>
+ * <blockquote>
+ * The JDK reads the idle timeout once, from the {@code jdk.httpclient.keepalive.timeout} system property,
+ * and applies it to every {@link HttpClient} in the JVM. It's a JVM argument, defaulted by
+ * {@link com.contacts.agenda.ContactsAgendaApplication#main(String[])} before the context starts.
+ * </blockquote>
+ */
 @Configuration
 public class HttpClientConfig {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
+    @Bean(destroyMethod = "close")
+    public ExecutorService kenectHttpExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("kenect-http-", 0).factory());
+    }
+
+    @Bean
+    public HttpClient kenectHttpClient(KenectApiHttpProperties properties, ExecutorService kenectHttpExecutor) {
+        return HttpClient.newBuilder()
+                .version(properties.getHttpVersion())
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(kenectHttpExecutor)
+                .build();
+    }
+
     @Bean
-    public KenectLabsClient kenectLabsClient(
+    public RestClient kenectRestClient(
             @Value("${kenect.api.host}") String host,
-            @Value("${kenect.api.token}") String token
+            @Value("${kenect.api.token}") String token,
+            HttpClient kenectHttpClient,
+            KenectApiHttpProperties properties
     ) {
-        RestClient restClient = RestClient.builder()
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(kenectHttpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+
+        RestClient.Builder builder = RestClient.builder()
                 .baseUrl(host)
-                .defaultHeader(AUTHORIZATION_HEADER, BEARER_PREFIX + token)
-                .build();
+                .requestFactory(requestFactory)
+                .defaultHeader(AUTHORIZATION_HEADER, BEARER_PREFIX + token);
 
-        RestClientAdapter adapter = RestClientAdapter.create(restClient);
-        HttpServiceProxyFactory factory = HttpServiceProxyFactory.builderFor(adapter)
-                .build();
+        if (properties.isCompression()) {
+            builder.requestInterceptor(new GzipResponseInterceptor());
+        }
 
-        return factory.createClient(KenectLabsClient.class);
+        return builder.build();
+    }
+
+    @Bean
+    public KenectLabsStreamingClient kenectLabsStreamingClient(RestClient kenectRestClient, ObjectMapper objectMapper) {
+        return new KenectLabsStreamingClient(kenectRestClient, objectMapper);
     }
 }
@@ -0,0 +1,25 @@
+package com.contacts.agenda.config.http;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Transport settings of the {@code RestClient} used to call the Kenect Labs API.
+ * <p>
+ * {@code connect-timeout} bounds the TCP and TLS handshake, {@code read-timeout} bounds how long we wait
+ * for the response headers of each request. How long idle connections stay in the pool is a JVM-wide
+ * setting, see {@link HttpClientConfig}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "kenect.api")
+public class KenectApiHttpProperties {
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private HttpClient.Version httpVersion = HttpClient.Version.HTTP_2;
+    private boolean compression = true;
+}
@@ -0,0 +1,25 @@
+package com.contacts.agenda.config.persistence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the write-behind queue that persists contacts off the request path.
+ * <p>
+ * {@code capacity} bounds how many distinct contacts can wait for a flush. Once it's reached,
+ * producers wait up to {@code offer-timeout} for the worker to free space, and whatever still
+ * doesn't fit is dropped and counted. {@code flush-delay} is how long the worker lingers after the
+ * first pending contact so that more writes are batched and coalesced into the same flush.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "contacts.persistence.write-behind")
+public class WriteBehindProperties {
+    private int capacity = 200_000;
+    private Duration offerTimeout = Duration.ofMillis(100);
+    private Duration flushDelay = Duration.ofMillis(200);
+    private Duration retryBackoff = Duration.ofSeconds(1);
+}
@@ -0,0 +1,25 @@
+package com.contacts.agenda.config.push;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the Server-Sent Events push of contact changes.
+ * <p>
+ * Every subscriber gets its own buffer of {@code buffer-size} undelivered writes. Writes are shared by
+ * every subscriber and split into events of at most {@code batch-size} contacts as they are sent, so a
+ * big write takes a single slot. A subscriber whose buffer is full when a write arrives is evicted.
+ * {@code heartbeat} is how often an SSE comment is sent to keep idle connections open through proxies
+ * and to notice clients that went away.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "contacts.push")
+public class ContactPushProperties {
+    private int bufferSize = 64;
+    private int batchSize = 500;
+    private Duration heartbeat = Duration.ofSeconds(15);
+}
@@ -0,0 +1,101 @@
+package com.contacts.agenda.config.singleflight;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link SingleFlight} across instances, backed by a Redis lock.
+ * <p>
+ * Callers are first coalesced in process, then the leader of each instance competes for
+ * {@code SET contacts-agenda:single-flight:<key> NX PX <lock-ttl>}:
+ * <ul>
+ *   <li><b>Lock acquired:</b> runs the loader and releases the lock, only if it still owns it</li>
+ *   <li><b>Lock held elsewhere:</b> polls until the lock is gone (or {@code wait-timeout} elapses) and
+ *       then runs the loader, which by then is served by the cache the other instance filled</li>
+ * </ul>
+ * <p>
+ * <strong>⚠️ Best Effort:</strong>
+ * <blockquote>
+ * The lock only avoids duplicated upstream calls, it doesn't guard correctness. If Redis is
+ * unreachable, or a load outlives {@code lock-ttl}, instances simply load on their own.
+ * </blockquote>
+ */
+@Slf4j
+public class RedisSingleFlight implements SingleFlight {
+
+    private static final String LOCK_PREFIX = "contacts-agenda:single-flight:";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final SingleFlight local;
+    private final SingleFlightProperties properties;
+
+    public RedisSingleFlight(StringRedisTemplate redisTemplate, SingleFlight local, SingleFlightProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.local = local;
+        this.properties = properties;
+    }
+
+    @Override
+    public <T> T execute(String key, Supplier<T> loader) {
+        return local.execute(key, () -> executeWithLock(LOCK_PREFIX + key, loader));
+    }
+
+    private <T> T executeWithLock(String lockKey, Supplier<T> loader) {
+        String token = UUID.randomUUID().toString();
+
+        if (!tryAcquire(lockKey, token)) {
+            awaitRelease(lockKey);
+            return loader.get();
+        }
+
+        try {
+            return loader.get();
+        } finally {
+            release(lockKey, token);
+        }
+    }
+
+    private boolean tryAcquire(String lockKey, String token) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(lockKey, token, properties.getLockTtl()));
+        } catch (RuntimeException ex) {
+            log.warn("Could not acquire single-flight lock {}, loading without it. Error: {}", lockKey, ex.getMessage());
+            return true;
+        }
+    }
+
+    private void awaitRelease(String lockKey) {
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        try {
+            while (System.nanoTime() < deadline && Boolean.TRUE.equals(redisTemplate.hasKey(lockKey))) {
+                TimeUnit.MILLISECONDS.sleep(properties.getPollInterval().toMillis());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.warn("Could not check single-flight lock {}, loading without waiting. Error: {}", lockKey, ex.getMessage());
+        }
+    }
+
+    private void release(String lockKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey), token);
+        } catch (RuntimeException ex) {
+            log.warn("Could not release single-flight lock {}, it expires in {}. Error: {}",
+                    lockKey, properties.getLockTtl(), ex.getMessage());
+        }
+    }
+}
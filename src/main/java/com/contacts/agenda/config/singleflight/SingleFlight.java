@@ -0,0 +1,17 @@
+package com.contacts.agenda.config.singleflight;
+
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent executions of the same key into a single one.
+ * <p>
+ * Callers arriving while a load for their key is in flight wait for it and share its result (or
+ * its failure) instead of starting their own.
+ *
+ * @see InProcessSingleFlight
+ * @see RedisSingleFlight
+ */
+public interface SingleFlight {
+
+    <T> T execute(String key, Supplier<T> loader);
+}
@@ -0,0 +1,19 @@
+package com.contacts.agenda.config.singleflight;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlight singleFlight(SingleFlightProperties properties, StringRedisTemplate stringRedisTemplate) {
+        SingleFlight local = new InProcessSingleFlight();
+
+        return switch (properties.getMode()) {
+            case LOCAL -> local;
+            case REDIS -> new RedisSingleFlight(stringRedisTemplate, local, properties);
+        };
+    }
+}
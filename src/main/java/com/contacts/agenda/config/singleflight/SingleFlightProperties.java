@@ -0,0 +1,29 @@
+package com.contacts.agenda.config.singleflight;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the single-flight layer in front of the external API.
+ * <p>
+ * {@code mode: local} coalesces concurrent loads within one instance only, {@code mode: redis} also
+ * coalesces them across instances through a Redis lock held for at most {@code lock-ttl}. Instances
+ * that lose the lock poll it every {@code poll-interval} for up to {@code wait-timeout}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "contacts.single-flight")
+public class SingleFlightProperties {
+
+    public enum Mode {
+        LOCAL, REDIS
+    }
+
+    private Mode mode = Mode.REDIS;
+    private Duration lockTtl = Duration.ofSeconds(30);
+    private Duration waitTimeout = Duration.ofSeconds(30);
+    private Duration pollInterval = Duration.ofMillis(50);
+}
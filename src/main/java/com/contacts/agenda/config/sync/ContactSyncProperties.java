@@ -0,0 +1,32 @@
+package com.contacts.agenda.config.sync;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the background refresh-ahead sync.
+ * <p>
+ * The next sync is scheduled {@code interval + random(0, jitter)} after the previous one finishes,
+ * so that several instances started together don't hit the external API at the same moment.
+ * Keep {@code interval} below the {@code contactPages} cache soft TTL so the snapshot is always refreshed
+ * before the cached pages expire.
+ * <p>
+ * A sync that couldn't fetch every page is resumed from its checkpoint for {@code checkpoint-ttl} after it
+ * started, even if resumed passes fail again, keep it below the {@code contactPages} hard TTL so the
+ * checkpointed pages are still cached. A sync starts over from page 1 at most {@code max-drift-restarts}
+ * times when the upstream total count changes between pages.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "contacts.sync")
+public class ContactSyncProperties {
+    private boolean enabled = true;
+    private Duration initialDelay = Duration.ZERO;
+    private Duration interval = Duration.ofMinutes(4);
+    private Duration jitter = Duration.ofSeconds(30);
+    private Duration checkpointTtl = Duration.ofMinutes(15);
+    private int maxDriftRestarts = 1;
+}
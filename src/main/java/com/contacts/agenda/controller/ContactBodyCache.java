@@ -0,0 +1,163 @@
+package com.contacts.agenda.controller;
+
+import com.contacts.agenda.model.ContactSnapshot;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Serialized, and optionally compressed, bodies of {@code GET /contacts} for the current snapshot.
+ * <p>
+ * Every request served from a {@link ContactSnapshot} would serialize the same immutable list again,
+ * and compress it again when the client asks for gzip. Instead each representation (format and
+ * content coding) is rendered once, the first time it's requested, and requests copy the bytes to the
+ * socket. Bodies are keyed by the snapshot content hash, so they are only rendered again when a sync
+ * actually changed the data.
+ * <p>
+ * The full-field representations are bounded by the formats and codings the endpoint serves, so they
+ * are always kept. {@code fields} projections are chosen by clients, so they are kept apart, in a cache
+ * of at most {@code contacts.response-cache.max-projections} representations per snapshot that evicts
+ * the least used ones.
+ * <p>
+ * A representation is rendered by the first request that needs it, outside any map lock: the others
+ * asking for it wait on that rendering, while requests for other representations go on.
+ * <p>
+ * <strong>⚠️ Memory:</strong>
+ * <blockquote>
+ * Each rendered representation stays on the heap until the data changes, roughly 200 bytes per
+ * contact uncompressed and a tenth of that gzipped. Disable it with
+ * {@code contacts.response-cache.enabled: false} to go back to streaming every request.
+ * </blockquote>
+ */
+@Slf4j
+@Component
+public class ContactBodyCache {
+
+    private record Variant(String format, ContentEncoding encoding, int projection) {
+    }
+
+    private record RenderedBodies(String contentHash,
+                                  ConcurrentMap<Variant, CompletableFuture<byte[]>> bodies,
+                                  ConcurrentMap<Variant, CompletableFuture<byte[]>> projections) {
+    }
+
+    private final ContactStreamWriter contactStreamWriter;
+    private final boolean enabled;
+    private final int maxProjections;
+    private final AtomicReference<RenderedBodies> current = new AtomicReference<>();
+
+    public ContactBodyCache(
+            ContactStreamWriter contactStreamWriter,
+            @Value("${contacts.response-cache.enabled:true}") boolean enabled,
+            @Value("${contacts.response-cache.max-projections:32}") int maxProjections
+    ) {
+        this.contactStreamWriter = contactStreamWriter;
+        this.enabled = enabled;
+        this.maxProjections = maxProjections;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Body of {@code snapshot} in the given format and content coding, rendered on first use.
+     * Concurrent requests for a representation that isn't rendered yet wait for a single rendering.
+     */
+    byte[] body(ContactSnapshot snapshot, MediaType format, ContentEncoding encoding) {
+        return body(snapshot, format, encoding, ContactProjection.ALL);
+    }
+
+    /**
+     * Body of {@code snapshot} with only the fields of {@code projection}, rendered on first use and kept
+     * while it's among the {@code max-projections} most used projections of this snapshot.
+     */
+    byte[] body(ContactSnapshot snapshot, MediaType format, ContentEncoding encoding, ContactProjection projection) {
+        RenderedBodies rendered = renderedBodiesOf(snapshot);
+        ConcurrentMap<Variant, CompletableFuture<byte[]>> bodies =
+                projection == ContactProjection.ALL ? rendered.bodies() : rendered.projections();
+        Variant key = new Variant(format.getSubtype(), encoding, projection.mask());
+
+        return memoized(bodies, key, () -> render(snapshot, format, encoding, projection));
+    }
+
+    /**
+     * The request that registers the future renders the body, the map only ever holds the future, so
+     * rendering never runs under its lock. A failed rendering is dropped so the next request retries it.
+     */
+    private static byte[] memoized(ConcurrentMap<Variant, CompletableFuture<byte[]>> bodies, Variant key,
+                                   Supplier<byte[]> renderer) {
+        CompletableFuture<byte[]> body = bodies.get(key);
+        if (body == null) {
+            CompletableFuture<byte[]> rendering = new CompletableFuture<>();
+            body = bodies.putIfAbsent(key, rendering);
+            if (body == null) {
+                try {
+                    byte[] rendered = renderer.get();
+                    rendering.complete(rendered);
+                    return rendered;
+                } catch (RuntimeException ex) {
+                    bodies.remove(key, rendering);
+                    rendering.completeExceptionally(ex);
+                    throw ex;
+                }
+            }
+        }
+
+        try {
+            return body.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    private RenderedBodies renderedBodiesOf(ContactSnapshot snapshot) {
+        RenderedBodies rendered = current.get();
+        if (rendered != null && rendered.contentHash().equals(snapshot.contentHash())) {
+            return rendered;
+        }
+
+        RenderedBodies fresh = new RenderedBodies(snapshot.contentHash(), new ConcurrentHashMap<>(),
+                Caffeine.newBuilder()
+                        .maximumSize(maxProjections)
+                        .executor(Runnable::run)
+                        .<Variant, CompletableFuture<byte[]>>build()
+                        .asMap());
+        if (current.compareAndSet(rendered, fresh)) {
+            return fresh;
+        }
+
+        // another request swapped it first, reuse it if it's for the same data
+        RenderedBodies winner = current.get();
+        return winner != null && winner.contentHash().equals(snapshot.contentHash()) ? winner : fresh;
+    }
+
+    private byte[] render(ContactSnapshot snapshot, MediaType format, ContentEncoding encoding, ContactProjection projection) {
+        long start = System.nanoTime();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, snapshot.contacts().size() * 64));
+
+        try (OutputStream out = encoding.wrap(buffer)) {
+            contactStreamWriter.write(snapshot.contacts(), projection, format, out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to render contacts body", ex);
+        }
+
+        byte[] body = buffer.toByteArray();
+        log.debug("Rendered {} contacts as {} ({}) into {} bytes in {} ms", snapshot.contacts().size(),
+                format, encoding.token(), body.length, (System.nanoTime() - start) / 1_000_000);
+        return body;
+    }
+}
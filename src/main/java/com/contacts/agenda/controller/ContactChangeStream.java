@@ -0,0 +1,178 @@
+package com.contacts.agenda.controller;
+
+import com.contacts.agenda.config.push.ContactPushProperties;
+import com.contacts.agenda.model.ContactChangeBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Fans {@link ContactChangeBatch} events out to Server-Sent Events subscribers.
+ * <p>
+ * Batches are published by the persistence path, which must never wait on a client socket. Each
+ * subscriber therefore gets its own bounded buffer, and its events are written to the socket on a
+ * virtual thread of its own.
+ * <p>
+ * <b>Delivery Semantics:</b>
+ * <ul>
+ *   <li><b>Batching:</b> large writes, e.g. the first sync after a restart, are split into events of at
+ *       most {@code batch-size} contacts as the subscriber reads them</li>
+ *   <li><b>Bounded buffers:</b> a subscriber holds at most {@code buffer-size} undelivered writes, whatever
+ *       their size. Writes are shared by every subscriber, so a big one isn't copied per buffer</li>
+ *   <li><b>Eviction:</b> a subscriber whose buffer is full when a write arrives is disconnected right away,
+ *       its buffered writes are dropped. It reconnects and catches up through {@code GET /contacts/changes}
+ *       with the id of the last event it received</li>
+ *   <li><b>Heartbeats:</b> an SSE comment every {@code heartbeat} keeps idle connections open and detects
+ *       clients that went away</li>
+ * </ul>
+ * <p>
+ * <b>Metrics:</b>
+ * <ul>
+ *   <li>{@code contacts.push.subscribers} - connected subscribers</li>
+ *   <li>{@code contacts.push.evicted} - subscribers disconnected because their buffer was full</li>
+ * </ul>
+ *
+ * @see ContactPushProperties
+ */
+@Slf4j
+@Component
+public class ContactChangeStream {
+
+    static final String EVENT_NAME = "contacts-changed";
+
+    private static final ServerSentEvent<ContactChangeBatch> HEARTBEAT = ServerSentEvent.<ContactChangeBatch>builder()
+            .comment("heartbeat")
+            .build();
+
+    private final ContactPushProperties properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Scheduler writeScheduler = Schedulers.fromExecutorService(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("contact-push-", 0).factory()),
+            "contact-push"
+    );
+    private final Counter evictedCounter;
+
+    public ContactChangeStream(ContactPushProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getBufferSize() < 1 || properties.getBatchSize() < 1) {
+            throw new IllegalArgumentException("contacts.push.buffer-size and batch-size must be greater than zero");
+        }
+        this.properties = properties;
+
+        Gauge.builder("contacts.push.subscribers", subscribers, Set::size)
+                .description("Connected Server-Sent Events subscribers")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("contacts.push.evicted")
+                .description("Subscribers disconnected because they didn't keep up")
+                .register(meterRegistry);
+    }
+
+    private record Subscriber(Sinks.Many<ContactChangeBatch> batches, Sinks.Empty<Void> evicted) {
+    }
+
+    /**
+     * Opens a subscription that receives every batch published from now on, until the client
+     * disconnects or is evicted.
+     */
+    public Flux<ServerSentEvent<ContactChangeBatch>> subscribe() {
+        Subscriber subscriber = new Subscriber(
+                Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(properties.getBufferSize())),
+                Sinks.empty()
+        );
+        subscribers.add(subscriber);
+
+        Flux<ServerSentEvent<ContactChangeBatch>> events = subscriber.batches().asFlux()
+                .flatMapIterable(this::split, 1)
+                .map(this::toEvent);
+        Flux<ServerSentEvent<ContactChangeBatch>> heartbeats = Flux.interval(properties.getHeartbeat()).map(tick -> HEARTBEAT);
+
+        // prefetch 1 keeps undelivered events in the bounded sink instead of operator queues
+        return Flux.merge(1, events, heartbeats)
+                .takeUntilOther(subscriber.evicted().asMono())
+                .publishOn(writeScheduler, 1)
+                .doFinally(signal -> subscribers.remove(subscriber));
+    }
+
+    /**
+     * Hands the whole write to every subscriber without blocking and evicts the ones whose buffer is full.
+     * It takes one buffer slot however many events it's split into, so a big write never evicts a
+     * subscriber that keeps up. Synchronized since each subscriber's sink accepts one producer at a time.
+     */
+    @EventListener
+    public synchronized void onChange(ContactChangeBatch batch) {
+        for (Subscriber subscriber : subscribers) {
+            Sinks.EmitResult result = subscriber.batches().tryEmitNext(batch);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                evict(subscriber);
+            } else if (result.isFailure()) {
+                // cancelled or terminated, the subscription is already going away
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> subscriber.batches().tryEmitComplete());
+        writeScheduler.dispose();
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.evicted().tryEmitEmpty();
+            evictedCounter.increment();
+            log.warn("Evicted a slow change stream subscriber, its buffer of {} writes is full", properties.getBufferSize());
+        }
+    }
+
+    private List<ContactChangeBatch> split(ContactChangeBatch batch) {
+        int batchSize = properties.getBatchSize();
+        if (batch.upserted().size() + batch.deleted().size() <= batchSize) {
+            return List.of(batch);
+        }
+
+        List<ContactChangeBatch> events = new ArrayList<>();
+        for (int from = 0; from < batch.upserted().size(); from += batchSize) {
+            events.add(new ContactChangeBatch(
+                    batch.upserted().subList(from, Math.min(from + batchSize, batch.upserted().size())),
+                    List.of(),
+                    batch.token()
+            ));
+        }
+        for (int from = 0; from < batch.deleted().size(); from += batchSize) {
+            events.add(new ContactChangeBatch(
+                    List.of(),
+                    batch.deleted().subList(from, Math.min(from + batchSize, batch.deleted().size())),
+                    batch.token()
+            ));
+        }
+        return events;
+    }
+
+    private ServerSentEvent<ContactChangeBatch> toEvent(ContactChangeBatch batch) {
+        return ServerSentEvent.<ContactChangeBatch>builder()
+                .id(batch.token())
+                .event(EVENT_NAME)
+                .data(batch)
+                .build();
+    }
+}
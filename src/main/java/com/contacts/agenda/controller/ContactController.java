@@ -1,18 +1,39 @@
 package com.contacts.agenda.controller;
 
 import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactChangeBatch;
+import com.contacts.agenda.model.ContactChanges;
+import com.contacts.agenda.model.ContactDataset;
+import com.contacts.agenda.model.ContactPage;
+import com.contacts.agenda.model.ContactSnapshot;
+import com.contacts.agenda.service.ContactChangeService;
+import com.contacts.agenda.service.ContactPageService;
 import com.contacts.agenda.service.ContactService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.contacts.agenda.controller.ControllerDoc.Contacts.*;
 
@@ -22,7 +43,27 @@ import static com.contacts.agenda.controller.ControllerDoc.Contacts.*;
 @Tag(name = TAG_NAME, description = TAG_DESCRIPTION)
 public class ContactController {
 
+    static final String STALE_SEGMENTS_HEADER = "X-Stale-Segments";
+
+    private static final List<MediaType> STREAMABLE_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_NDJSON,
+            MediaType.APPLICATION_CBOR,
+            ContactStreamWriter.APPLICATION_SMILE
+    );
+
+    private static final List<MediaType> PAGE_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            ContactStreamWriter.APPLICATION_SMILE
+    );
+
     private final ContactService contactService;
+    private final ContactPageService contactPageService;
+    private final ContactChangeService contactChangeService;
+    private final ContactChangeStream contactChangeStream;
+    private final ContactStreamWriter contactStreamWriter;
+    private final ContactBodyCache contactBodyCache;
 
     /**
      * Retrieves all contacts from the external API with automatic fallback.
@@ -30,20 +71,208 @@ public class ContactController {
      * This endpoint provides high availability and performance through multiple layers of resilience
      * and optimization strategies implemented in the service layer.
      * <p>
+     * Contacts are written to the socket one by one through {@link ContactStreamWriter}, either as a
+     * chunked JSON array (default), as NDJSON when the client sends {@code Accept: application/x-ndjson},
+     * or as a CBOR or Smile array for {@code Accept: application/cbor} and {@code application/x-jackson-smile}.
+     * <p>
+     * When served from the synced snapshot, the response carries a strong {@code ETag} built from the
+     * snapshot's precomputed content hash, and a matching {@code If-None-Match} gets a {@code 304} without
+     * touching the contacts. Unlike {@code ShallowEtagHeaderFilter}, nothing is serialized or buffered to
+     * compute it.
+     * <p>
+     * Snapshot responses are copied from {@link ContactBodyCache}, which renders each format once per
+     * snapshot, gzip or deflate compressed when the client's {@code Accept-Encoding} allows it.
+     * <p>
+     * {@code fields} restricts every contact to a subset of its fields, see {@link ContactProjection}.
+     * <p>
+     * When some pages of an on-demand fetch fell back to the database, the positions of the contacts read
+     * from it are listed in {@value #STALE_SEGMENTS_HEADER} as inclusive zero-based ranges, e.g.
+     * {@code 1000-1999,4000-4499}, so clients know which part of the response may be outdated.
+     * <p>
      * <strong>⚠️ Production Consideration:</strong>
      * <blockquote>
-     * Pagination should be implemented to prevent potential DoS attacks and performance issues
-     * with large datasets. Currently returns all contacts since it's a requirement.
+     * This endpoint returns every contact since it's a requirement. Clients that don't need the whole
+     * dataset at once should page through it with
+     * {@link #getContactsPage(String, int, String, String, HttpServletResponse)} ({@code ?limit=&cursor=}).
      * </blockquote>
      */
     @Operation(summary = GET_ALL_SUMMARY, description = GET_ALL_DESCRIPTION)
     @ApiResponse(
             responseCode = "200",
             description = RESPONSE_200_DESCRIPTION,
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Contact.class))
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = Contact.class))),
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = Contact.class)),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = Contact.class))),
+                    @Content(mediaType = ContactStreamWriter.APPLICATION_SMILE_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = Contact.class)))
+            }
     )
-    @GetMapping("/contacts")
-    public List<Contact> getAllContacts() {
-        return contactService.getAllContacts();
+    @GetMapping(value = "/contacts", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, ContactStreamWriter.APPLICATION_SMILE_VALUE})
+    public void getAllContacts(
+            @Parameter(description = FIELDS_PARAM_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) throws IOException {
+        ContactProjection projection = ContactProjection.parse(fields);
+        MediaType mediaType = negotiate(accept, STREAMABLE_TYPES);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        Optional<ContactSnapshot> snapshot = contactService.currentSnapshot();
+        ContentEncoding encoding = ContentEncoding.IDENTITY;
+        if (snapshot.isPresent() && contactBodyCache.isEnabled()) {
+            encoding = ContentEncoding.negotiate(acceptEncoding);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        if (snapshot.isPresent() && webRequest.checkNotModified(eTag(snapshot.get(), mediaType, encoding, projection))) {
+            return;
+        }
+
+        response.setContentType(mediaType.toString());
+
+        if (snapshot.isPresent() && contactBodyCache.isEnabled()) {
+            writePreRendered(contactBodyCache.body(snapshot.get(), mediaType, encoding, projection), encoding, response);
+            return;
+        }
+
+        ContactDataset dataset = snapshot.map(current -> ContactDataset.live(current.contacts()))
+                .orElseGet(contactService::getAllContactsDataset);
+        if (dataset.isStale()) {
+            response.setHeader(STALE_SEGMENTS_HEADER, staleSegments(dataset));
+        }
+
+        contactStreamWriter.write(dataset.contacts(), projection, mediaType, response.getOutputStream());
+    }
+
+    /**
+     * Retrieves a keyset-paginated slice of contacts from the synced database.
+     * <p>
+     * Selected over {@link #getAllContacts(String, String, String, WebRequest, HttpServletResponse)} whenever the {@code limit}
+     * query parameter is present. Clients follow {@code nextCursor} until it is {@code null}.
+     * <p>
+     * The page is written through {@link ContactStreamWriter} so {@code fields} projections use the same
+     * precompiled writers as the full list, and {@code Accept} picks JSON, CBOR or Smile the same way.
+     */
+    @Operation(summary = GET_PAGE_SUMMARY, description = GET_PAGE_DESCRIPTION)
+    @ApiResponse(
+            responseCode = "200",
+            description = RESPONSE_200_PAGE_DESCRIPTION,
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ContactPage.class)),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE, schema = @Schema(implementation = ContactPage.class)),
+                    @Content(mediaType = ContactStreamWriter.APPLICATION_SMILE_VALUE, schema = @Schema(implementation = ContactPage.class))
+            }
+    )
+    @GetMapping(value = "/contacts", params = "limit", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, ContactStreamWriter.APPLICATION_SMILE_VALUE})
+    public void getContactsPage(
+            @Parameter(description = CURSOR_PARAM_DESCRIPTION) @RequestParam(required = false) String cursor,
+            @Parameter(description = LIMIT_PARAM_DESCRIPTION) @RequestParam int limit,
+            @Parameter(description = FIELDS_PARAM_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response
+    ) throws IOException {
+        ContactProjection projection = ContactProjection.parse(fields);
+        MediaType mediaType = negotiate(accept, PAGE_TYPES);
+        ContactPage page = contactPageService.getPage(cursor, limit);
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setContentType(mediaType.toString());
+        contactStreamWriter.writePage(page, projection, mediaType, response.getOutputStream());
+    }
+
+    /**
+     * Retrieves the contacts added, modified or deleted since the watermark encoded in {@code since}.
+     * <p>
+     * Sync clients poll this with the {@code nextToken} of their last call and move only what changed,
+     * instead of downloading {@code /contacts} again. CBOR and Smile are written by Spring's Jackson
+     * message converters for those formats.
+     */
+    @Operation(summary = GET_CHANGES_SUMMARY, description = GET_CHANGES_DESCRIPTION)
+    @ApiResponse(
+            responseCode = "200",
+            description = RESPONSE_200_CHANGES_DESCRIPTION,
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ContactChanges.class)),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE, schema = @Schema(implementation = ContactChanges.class)),
+                    @Content(mediaType = ContactStreamWriter.APPLICATION_SMILE_VALUE, schema = @Schema(implementation = ContactChanges.class))
+            }
+    )
+    @GetMapping(value = "/contacts/changes", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, ContactStreamWriter.APPLICATION_SMILE_VALUE})
+    public ContactChanges getChanges(
+            @Parameter(description = SINCE_PARAM_DESCRIPTION) @RequestParam(required = false) String since,
+            @Parameter(description = CHANGES_LIMIT_PARAM_DESCRIPTION) @RequestParam(defaultValue = "${contacts.pagination.max-limit:500}") int limit
+    ) {
+        return contactChangeService.getChanges(since, limit);
+    }
+
+    /**
+     * Pushes contact change batches as Server-Sent Events while the connection stays open.
+     * <p>
+     * Selected over {@link #getChanges(String, int)} when the client sends {@code Accept: text/event-stream}.
+     * Every event id is a change token: after a reconnect, clients pass the last one they received as
+     * {@code since} to the polling endpoint to catch up. Buffering and slow-consumer eviction are handled
+     * by {@link ContactChangeStream}.
+     */
+    @Operation(summary = STREAM_CHANGES_SUMMARY, description = STREAM_CHANGES_DESCRIPTION)
+    @ApiResponse(
+            responseCode = "200",
+            description = RESPONSE_200_STREAM_DESCRIPTION,
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = ContactChangeBatch.class))
+    )
+    @GetMapping(value = "/contacts/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ContactChangeBatch>> streamChanges() {
+        return contactChangeStream.subscribe();
+    }
+
+    private void writePreRendered(byte[] body, ContentEncoding encoding, HttpServletResponse response) throws IOException {
+        if (encoding != ContentEncoding.IDENTITY) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.token());
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private String staleSegments(ContactDataset dataset) {
+        return dataset.staleSegments().stream()
+                .map(segment -> segment.from() + "-" + (segment.to() - 1))
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Strong validator of one representation of a snapshot: the content hash computed when the snapshot
+     * was built, suffixed with the format, field projection and content coding since each of them differs
+     * byte for byte.
+     */
+    private String eTag(ContactSnapshot snapshot, MediaType mediaType, ContentEncoding encoding, ContactProjection projection) {
+        String fields = projection.isAll() ? "" : "-f" + projection.key();
+        String coding = encoding == ContentEncoding.IDENTITY ? "" : "-" + encoding.token();
+        return "\"" + snapshot.contentHash() + "-" + mediaType.getSubtype() + fields + coding + "\"";
+    }
+
+    /**
+     * Picks the first of {@code candidates} accepted by the client, honouring quality values.
+     * Defaults to JSON when the header is absent or only contains wildcards.
+     */
+    private MediaType negotiate(String accept, List<MediaType> candidates) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        return MediaType.parseMediaTypes(accept).stream()
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                        .thenComparing(MediaType::isWildcardType)
+                        .thenComparing(MediaType::isWildcardSubtype))
+                .flatMap(accepted -> candidates.stream().filter(accepted::includes))
+                .findFirst()
+                .orElse(MediaType.APPLICATION_JSON);
     }
 }
@@ -0,0 +1,138 @@
+package com.contacts.agenda.controller;
+
+import com.contacts.agenda.exception.InvalidContactRequestException;
+import com.contacts.agenda.model.Contact;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Subset of {@link Contact} fields selected with the {@code fields} query parameter.
+ * <p>
+ * A projection is a bitmask over {@link Field}, so there are only 63 of them. They are parsed once per
+ * request and used as cache keys, {@link ContactStreamWriter} compiles one writer per projection and
+ * reuses it for every request asking for the same fields. Fields are always written in declaration
+ * order, whatever order the client listed them in.
+ */
+final class ContactProjection {
+
+    enum Field {
+        ID("id", Long.class, Contact::id),
+        NAME("name", String.class, Contact::name),
+        EMAIL("email", String.class, Contact::email),
+        SOURCE("source", String.class, Contact::source),
+        CREATED_AT("createdAt", Instant.class, Contact::createdAt),
+        UPDATED_AT("updatedAt", Instant.class, Contact::updatedAt);
+
+        private final String jsonName;
+        private final Class<?> valueType;
+        private final Function<Contact, Object> accessor;
+
+        Field(String jsonName, Class<?> valueType, Function<Contact, Object> accessor) {
+            this.jsonName = jsonName;
+            this.valueType = valueType;
+            this.accessor = accessor;
+        }
+
+        String jsonName() {
+            return jsonName;
+        }
+
+        Class<?> valueType() {
+            return valueType;
+        }
+
+        Object valueOf(Contact contact) {
+            return accessor.apply(contact);
+        }
+
+        private static Field fromJsonName(String name) {
+            for (Field field : values()) {
+                if (field.jsonName.equalsIgnoreCase(name)) {
+                    return field;
+                }
+            }
+            throw new InvalidContactRequestException("Unknown field: " + name + ", expected any of "
+                    + String.join(",", allNames()));
+        }
+
+        private static List<String> allNames() {
+            List<String> names = new ArrayList<>();
+            for (Field field : values()) {
+                names.add(field.jsonName);
+            }
+            return names;
+        }
+    }
+
+    private static final int ALL_MASK = (1 << Field.values().length) - 1;
+    private static final ContactProjection[] BY_MASK = new ContactProjection[ALL_MASK + 1];
+
+    static {
+        for (int mask = 1; mask <= ALL_MASK; mask++) {
+            BY_MASK[mask] = new ContactProjection(mask);
+        }
+    }
+
+    static final ContactProjection ALL = BY_MASK[ALL_MASK];
+    static final int COUNT = ALL_MASK + 1;
+
+    private final int mask;
+    private final List<Field> fields;
+
+    private ContactProjection(int mask) {
+        this.mask = mask;
+        List<Field> selected = new ArrayList<>();
+        for (Field field : Field.values()) {
+            if ((mask & (1 << field.ordinal())) != 0) {
+                selected.add(field);
+            }
+        }
+        this.fields = List.copyOf(selected);
+    }
+
+    /**
+     * Parses a comma separated list of field names, {@code null} or blank selects every field.
+     *
+     * @throws InvalidContactRequestException if a name is not a field of {@link Contact}
+     */
+    static ContactProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        int mask = 0;
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                mask |= 1 << Field.fromJsonName(trimmed).ordinal();
+            }
+        }
+        return mask == 0 ? ALL : BY_MASK[mask];
+    }
+
+    static ContactProjection of(int mask) {
+        return BY_MASK[mask];
+    }
+
+    List<Field> fields() {
+        return fields;
+    }
+
+    int mask() {
+        return mask;
+    }
+
+    boolean isAll() {
+        return mask == ALL_MASK;
+    }
+
+    /**
+     * Short stable identifier of the field set, used in ETags and cache keys.
+     */
+    String key() {
+        return Integer.toHexString(mask);
+    }
+}
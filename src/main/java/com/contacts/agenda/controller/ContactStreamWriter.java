@@ -0,0 +1,229 @@
+package com.contacts.agenda.controller;
+
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactPage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes contacts straight to the response body, one element at a time.
+ * <p>
+ * Jackson only ever holds the contact being serialized, and the output is flushed every
+ * {@value #FLUSH_EVERY} contacts so the servlet container switches to chunked transfer encoding
+ * instead of buffering the whole payload. Heap used per request stays flat regardless of dataset size.
+ * <p>
+ * <b>Supported formats:</b>
+ * <ul>
+ *   <li><b>JSON array:</b> {@code [{...},{...}]} - the default representation of {@code GET /contacts}</li>
+ *   <li><b>NDJSON:</b> one contact per line, negotiated with {@code Accept: application/x-ndjson}</li>
+ *   <li><b>Page:</b> a {@link ContactPage} object, for the paginated endpoint</li>
+ *   <li><b>CBOR / Smile:</b> the same array or page encoded as {@code application/cbor} or
+ *   {@value #APPLICATION_SMILE_VALUE}, for service-to-service callers that don't need text</li>
+ * </ul>
+ * Binary formats go through the same serializers as JSON, only the generator changes, so a client
+ * decodes them into the same {@link Contact} record with a CBOR or Smile {@link ObjectMapper}.
+ * <p>
+ * <b>Projections:</b> a {@link ContactProjection} other than {@link ContactProjection#ALL} is written by a
+ * writer compiled when this component is created: the selected fields as pre-quoted names, accessors and
+ * the mapper's serializer for each value type. Requests only walk that array, there is no reflection,
+ * property filtering or view resolution per request. Every projection is compiled up front, there are
+ * only 63 of them. Serializer providers aren't thread-safe, so each write gets its own, created from the
+ * mapper's blueprint like {@link ObjectMapper#writeValue} does.
+ */
+@Component
+public class ContactStreamWriter {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private static final int FLUSH_EVERY = 500;
+
+    private static final SerializedString CONTACTS_FIELD = new SerializedString("contacts");
+    private static final SerializedString NEXT_CURSOR_FIELD = new SerializedString("nextCursor");
+
+    @FunctionalInterface
+    private interface ElementWriter {
+        void write(Contact contact, JsonGenerator generator, SerializerProvider provider) throws IOException;
+    }
+
+    private record FieldWriter(ContactProjection.Field field, SerializableString name, JsonSerializer<Object> serializer) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory cborFactory = CBORFactory.builder().build();
+    private final JsonFactory smileFactory = SmileFactory.builder().build();
+    private final ObjectWriter contactWriter;
+    private final DefaultSerializerProvider serializerProviders;
+    private final boolean writeNulls;
+    private final ElementWriter[] writers = new ElementWriter[ContactProjection.COUNT];
+
+    public ContactStreamWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.contactWriter = objectMapper.writerFor(Contact.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.serializerProviders = (DefaultSerializerProvider) objectMapper.getSerializerProvider();
+        JsonInclude.Include inclusion = objectMapper.getSerializationConfig().getDefaultPropertyInclusion().getValueInclusion();
+        this.writeNulls = inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+
+        writers[ContactProjection.ALL.mask()] = (contact, generator, provider) -> contactWriter.writeValue(generator, contact);
+        SerializerProvider lookupProvider = newSerializerProvider();
+        for (int mask = 1; mask < ContactProjection.COUNT; mask++) {
+            if (writers[mask] == null) {
+                writers[mask] = compile(ContactProjection.of(mask), lookupProvider);
+            }
+        }
+    }
+
+    /**
+     * Writes {@code contacts} in {@code format}: NDJSON, CBOR, Smile, or a JSON array for anything else.
+     */
+    void write(Iterable<Contact> contacts, ContactProjection projection, MediaType format, OutputStream out) throws IOException {
+        if (MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(format)) {
+            writeNdjson(contacts, projection, out);
+            return;
+        }
+
+        ElementWriter writer = writers[projection.mask()];
+        try (JsonGenerator generator = createGenerator(factoryFor(format), out)) {
+            writeArray(contacts, writer, generator, newSerializerProvider());
+        }
+    }
+
+    public void writeJsonArray(Iterable<Contact> contacts, OutputStream out) throws IOException {
+        writeJsonArray(contacts, ContactProjection.ALL, out);
+    }
+
+    void writeJsonArray(Iterable<Contact> contacts, ContactProjection projection, OutputStream out) throws IOException {
+        write(contacts, projection, MediaType.APPLICATION_JSON, out);
+    }
+
+    public void writeNdjson(Iterable<Contact> contacts, OutputStream out) throws IOException {
+        writeNdjson(contacts, ContactProjection.ALL, out);
+    }
+
+    void writeNdjson(Iterable<Contact> contacts, ContactProjection projection, OutputStream out) throws IOException {
+        ElementWriter writer = writers[projection.mask()];
+        try (JsonGenerator generator = createGenerator(objectMapper.getFactory(), out)) {
+            generator.setRootValueSeparator(null);
+            SerializerProvider provider = newSerializerProvider();
+
+            int written = 0;
+            for (Contact contact : contacts) {
+                writer.write(contact, generator, provider);
+                generator.writeRaw('\n');
+                flushPeriodically(generator, ++written);
+            }
+        }
+    }
+
+    void writePage(ContactPage page, ContactProjection projection, OutputStream out) throws IOException {
+        writePage(page, projection, MediaType.APPLICATION_JSON, out);
+    }
+
+    void writePage(ContactPage page, ContactProjection projection, MediaType format, OutputStream out) throws IOException {
+        ElementWriter writer = writers[projection.mask()];
+        try (JsonGenerator generator = createGenerator(factoryFor(format), out)) {
+            generator.writeStartObject();
+            generator.writeFieldName(CONTACTS_FIELD);
+            writeArray(page.contacts(), writer, generator, newSerializerProvider());
+            generator.writeFieldName(NEXT_CURSOR_FIELD);
+            if (page.nextCursor() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeString(page.nextCursor());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeArray(Iterable<Contact> contacts, ElementWriter writer, JsonGenerator generator,
+                            SerializerProvider provider) throws IOException {
+        generator.writeStartArray();
+
+        int written = 0;
+        for (Contact contact : contacts) {
+            writer.write(contact, generator, provider);
+            flushPeriodically(generator, ++written);
+        }
+
+        generator.writeEndArray();
+    }
+
+    private ElementWriter compile(ContactProjection projection, SerializerProvider lookupProvider) {
+        List<ContactProjection.Field> fields = projection.fields();
+        FieldWriter[] compiled = new FieldWriter[fields.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            ContactProjection.Field field = fields.get(i);
+            compiled[i] = new FieldWriter(field, new SerializedString(field.jsonName()), serializerFor(field.valueType(), lookupProvider));
+        }
+
+        return (contact, generator, provider) -> {
+            generator.writeStartObject();
+            for (FieldWriter fieldWriter : compiled) {
+                Object value = fieldWriter.field().valueOf(contact);
+                if (value == null) {
+                    if (writeNulls) {
+                        generator.writeFieldName(fieldWriter.name());
+                        generator.writeNull();
+                    }
+                    continue;
+                }
+                generator.writeFieldName(fieldWriter.name());
+                fieldWriter.serializer().serialize(value, generator, provider);
+            }
+            generator.writeEndObject();
+        };
+    }
+
+    private SerializerProvider newSerializerProvider() {
+        return serializerProviders.createInstance(objectMapper.getSerializationConfig(), objectMapper.getSerializerFactory());
+    }
+
+    private JsonSerializer<Object> serializerFor(Class<?> type, SerializerProvider provider) {
+        try {
+            return provider.findValueSerializer(type);
+        } catch (JsonMappingException ex) {
+            throw new UncheckedIOException("No serializer for contact field type " + type.getName(), ex);
+        }
+    }
+
+    private JsonFactory factoryFor(MediaType format) {
+        if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(format)) {
+            return cborFactory;
+        }
+        if (APPLICATION_SMILE.equalsTypeAndSubtype(format)) {
+            return smileFactory;
+        }
+        return objectMapper.getFactory();
+    }
+
+    private JsonGenerator createGenerator(JsonFactory factory, OutputStream out) throws IOException {
+        return factory.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private void flushPeriodically(JsonGenerator generator, int written) throws IOException {
+        if (written % FLUSH_EVERY == 0) {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.contacts.agenda.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content codings {@code GET /contacts} can serve from {@link ContactBodyCache}, in order of preference.
+ */
+enum ContentEncoding {
+
+    GZIP("gzip") {
+        @Override
+        OutputStream wrap(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+    },
+    DEFLATE("deflate") {
+        /**
+         * A stream given its own {@link Deflater} doesn't end it on close, so the native zlib memory would
+         * only be freed by the cleaner. Closing the stream ends it right away.
+         */
+        @Override
+        OutputStream wrap(OutputStream out) {
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+            return new DeflaterOutputStream(out, deflater, BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deflater.end();
+                    }
+                }
+            };
+        }
+    },
+    IDENTITY("identity") {
+        @Override
+        OutputStream wrap(OutputStream out) {
+            return out;
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    String token() {
+        return token;
+    }
+
+    abstract OutputStream wrap(OutputStream out) throws IOException;
+
+    /**
+     * Picks the preferred coding the client accepts with a non-zero quality value, {@code identity}
+     * when the header is absent or accepts none of the compressed ones.
+     */
+    static ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+
+        for (ContentEncoding candidate : values()) {
+            if (candidate != IDENTITY && accepts(acceptEncoding, candidate.token)) {
+                return candidate;
+            }
+        }
+        return IDENTITY;
+    }
+
+    /**
+     * An explicit entry for the coding wins over the {@code *} wildcard, so {@code gzip;q=0, *} refuses gzip.
+     */
+    private static boolean accepts(String acceptEncoding, String token) {
+        Double explicit = null;
+        Double wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.trim().split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals(token)) {
+                explicit = quality(parts);
+            } else if (coding.equals("*")) {
+                wildcard = quality(parts);
+            }
+        }
+
+        Double quality = explicit != null ? explicit : wildcard;
+        return quality != null && quality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -15,13 +15,70 @@ public final class ControllerDoc {
                 The API intelligently manages data sources to ensure fast response times and reliability,
                 even when external dependencies are temporarily unavailable.
                 
+                Contacts are streamed as they are serialized: a chunked JSON array by default, or one contact
+                per line when requesting `Accept: application/x-ndjson`.
+                
+                Service-to-service callers can request the same array in a binary encoding with
+                `Accept: application/cbor` or `Accept: application/x-jackson-smile`.
+                
+                Use `fields` to receive only some fields of every contact, e.g. `?fields=id,name`.
+                
+                When the external API fails for some pages, the other pages are still returned live and the
+                failed ones are filled from the fallback database. `X-Stale-Segments` then lists the zero-based,
+                inclusive positions of the contacts read from it, e.g. `1000-1999,4000-4499`.
+                
                 If you are able to break it or find failing scenarios, please let me know. I would love to hear about them.
                 """;
 
         public static final String RESPONSE_200_DESCRIPTION = "Successfully retrieved contacts from API or fallback storage";
+
+        public static final String GET_PAGE_SUMMARY = "Get a page of contacts";
+        public static final String GET_PAGE_DESCRIPTION = """
+                Retrieves a stable, keyset-paginated slice of contacts ordered by id, served from the synced
+                database without calling the external API.
+                
+                Pass the `nextCursor` of a response as `cursor` to fetch the following page. A `null`
+                `nextCursor` means there are no more contacts.
+                
+                Pages are JSON by default, `application/cbor` and `application/x-jackson-smile` are also available.
+                """;
+        public static final String CURSOR_PARAM_DESCRIPTION = "Opaque cursor returned as nextCursor by the previous page, omit it for the first page";
+        public static final String FIELDS_PARAM_DESCRIPTION = "Comma separated contact fields to return, e.g. id,name. Omit it for every field";
+        public static final String LIMIT_PARAM_DESCRIPTION = "Maximum number of contacts to return, capped by contacts.pagination.max-limit";
+        public static final String RESPONSE_200_PAGE_DESCRIPTION = "Successfully retrieved a page of contacts from the synced database";
+
+        public static final String GET_CHANGES_SUMMARY = "Get contact changes since a token";
+        public static final String GET_CHANGES_DESCRIPTION = """
+                Retrieves the contacts added, modified or deleted since the watermark encoded in `since`, served
+                from the synced database without calling the external API.
+                
+                Omit `since` on the first call to receive every contact, then keep passing the `nextToken` of the
+                last response. When `hasMore` is true, call again right away. A change may be delivered more than
+                once, apply them by id.
+                
+                Tokens older than the tombstone retention (30 days) are rejected with `410 Gone`, drop the local
+                copy and start over without a token.
+                """;
+        public static final String SINCE_PARAM_DESCRIPTION = "Opaque token returned as nextToken by the previous call, omit it to receive every contact";
+        public static final String CHANGES_LIMIT_PARAM_DESCRIPTION = "Maximum number of changes to return, capped by contacts.pagination.max-limit";
+        public static final String RESPONSE_200_CHANGES_DESCRIPTION = "Successfully retrieved the changes from the synced database";
+
+        public static final String STREAM_CHANGES_SUMMARY = "Stream contact changes";
+        public static final String STREAM_CHANGES_DESCRIPTION = """
+                Pushes a `contacts-changed` Server-Sent Event whenever a sync writes new, modified or deleted
+                contacts, when requesting `Accept: text/event-stream`. Comment lines are sent periodically as
+                heartbeats.
+                
+                Every event id is a change token. After a reconnect, pass the last one received as `since` to
+                `GET /contacts/changes` to catch up on what was missed. Clients that don't keep up are
+                disconnected and must catch up the same way.
+                """;
+        public static final String RESPONSE_200_STREAM_DESCRIPTION = "Stream of contact change batches";
     }
 
     public static final class ErrorResponses {
+        public static final String RESPONSE_400_DESCRIPTION = "Bad request - malformed cursor, change token, unknown field or invalid limit";
+        public static final String RESPONSE_410_DESCRIPTION = "Gone - change token is older than the tombstone retention";
         public static final String RESPONSE_503_DESCRIPTION = "Service unavailable - all sources of data are unavailable";
         public static final String RESPONSE_500_DESCRIPTION = "Internal server error - unexpected error occurred";
     }
@@ -0,0 +1,17 @@
+package com.contacts.agenda.exception;
+
+/**
+ * Exception thrown when a change token is older than the tombstone retention, so the deletions that
+ * happened since then can no longer be reported.
+ * <p>
+ * <strong>HTTP Mapping:</strong>
+ * <blockquote>
+ * This exception is mapped to HTTP 410 Gone in {@link com.contacts.agenda.exception.GlobalExceptionHandler}.
+ * Clients should drop their copy and start over without a token.
+ * </blockquote>
+ */
+public class ChangeTokenExpiredException extends RuntimeException {
+    public ChangeTokenExpiredException(String message) {
+        super(message);
+    }
+}
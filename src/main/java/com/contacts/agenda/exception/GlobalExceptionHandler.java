@@ -5,11 +5,13 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import static com.contacts.agenda.controller.ControllerDoc.ErrorResponses.*;
 
@@ -17,6 +19,54 @@ import static com.contacts.agenda.controller.ControllerDoc.ErrorResponses.*;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(InvalidPageRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ApiResponse(
+            responseCode = "400",
+            description = RESPONSE_400_DESCRIPTION,
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+    )
+    public ErrorResponse handleInvalidPageRequest(InvalidPageRequestException ex, HttpServletRequest request) {
+        log.debug("Invalid page request: {}", ex.getMessage());
+        return new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    @ExceptionHandler(InvalidContactRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ApiResponse(
+            responseCode = "400",
+            description = RESPONSE_400_DESCRIPTION,
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+    )
+    public ErrorResponse handleInvalidContactRequest(InvalidContactRequestException ex, HttpServletRequest request) {
+        log.debug("Invalid contact request: {}", ex.getMessage());
+        return new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    @ExceptionHandler(ChangeTokenExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    @ApiResponse(
+            responseCode = "410",
+            description = RESPONSE_410_DESCRIPTION,
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+    )
+    public ErrorResponse handleChangeTokenExpired(ChangeTokenExpiredException ex, HttpServletRequest request) {
+        log.debug("Expired change token: {}", ex.getMessage());
+        return new ErrorResponse(
+                HttpStatus.GONE.value(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
     @ExceptionHandler(ServiceUnavailableException.class)
     @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
     @ApiResponse(
@@ -33,6 +83,19 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * {@code spring.mvc.async.request-timeout} closing a Server-Sent Events connection, which is expected
+     * and happens to every subscriber. The event stream is already committed, so nothing is written and
+     * the client simply reconnects.
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public void handleAsyncRequestTimeout(AsyncRequestTimeoutException ex, HttpServletRequest request, HttpServletResponse response) {
+        log.debug("Async request to {} reached its timeout, closing it", request.getRequestURI());
+        if (!response.isCommitted()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ApiResponse(
@@ -0,0 +1,16 @@
+package com.contacts.agenda.exception;
+
+/**
+ * Exception thrown when a contacts request asks for a representation that can't be built, like a
+ * {@code fields} projection naming an unknown field.
+ * <p>
+ * <strong>HTTP Mapping:</strong>
+ * <blockquote>
+ * This exception is mapped to HTTP 400 Bad Request in {@link com.contacts.agenda.exception.GlobalExceptionHandler}.
+ * </blockquote>
+ */
+public class InvalidContactRequestException extends RuntimeException {
+    public InvalidContactRequestException(String message) {
+        super(message);
+    }
+}
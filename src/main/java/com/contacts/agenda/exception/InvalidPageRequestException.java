@@ -0,0 +1,16 @@
+package com.contacts.agenda.exception;
+
+/**
+ * Exception thrown when a contacts request carries a malformed cursor or change token, or an invalid
+ * limit.
+ * <p>
+ * <strong>HTTP Mapping:</strong>
+ * <blockquote>
+ * This exception is mapped to HTTP 400 Bad Request in {@link com.contacts.agenda.exception.GlobalExceptionHandler}.
+ * </blockquote>
+ */
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
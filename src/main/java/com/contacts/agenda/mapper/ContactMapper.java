@@ -12,6 +12,8 @@ public interface ContactMapper {
     ContactMapper INSTANCE = Mappers.getMapper(ContactMapper.class);
 
     @Mapping(target = "syncedAt", expression = "java(java.time.Instant.now())")
+    @Mapping(target = "generation", ignore = true)
+    @Mapping(target = "firstGeneration", ignore = true)
     ContactEntity toEntity(Contact contact);
 
     Contact toDomain(ContactEntity entity);
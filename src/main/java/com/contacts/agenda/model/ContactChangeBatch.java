@@ -0,0 +1,39 @@
+package com.contacts.agenda.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Contacts written to or removed from the fallback database by one persistence step.
+ * <p>
+ * Published as an application event by {@link com.contacts.agenda.service.ContactFallbackService} once
+ * the write succeeded, and pushed to Server-Sent Events subscribers.
+ */
+@Schema(description = "Contacts added, modified or deleted by one sync write", example = """
+            {
+                "upserted": [
+                    {
+                        "id": 12345,
+                        "name": "John Doe",
+                        "email": "john.doe@gmail.com",
+                        "source": "KENECT_LABS",
+                        "createdAt": "2025-10-05T10:30:00Z",
+                        "updatedAt": "2025-10-06T08:15:00Z"
+                    }
+                ],
+                "deleted": [],
+                "token": "djE6MTc1OTc0MDEwMDAwMDotOTIyMzM3MjAzNjg1NDc3NTgwOA"
+            }
+        """)
+public record ContactChangeBatch(
+        @Schema(description = "Contacts added or modified, replace the local copy by id")
+        List<Contact> upserted,
+
+        @Schema(description = "Ids of contacts deleted upstream")
+        List<Long> deleted,
+
+        @Schema(description = "Change token taken before the write, GET /contacts/changes?since=<token> returns this batch and everything after it")
+        String token
+) {
+}
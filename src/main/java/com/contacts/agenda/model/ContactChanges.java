@@ -0,0 +1,37 @@
+package com.contacts.agenda.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Contacts added, modified or deleted since a change token", example = """
+            {
+                "upserted": [
+                    {
+                        "id": 12345,
+                        "name": "John Doe",
+                        "email": "john.doe@gmail.com",
+                        "source": "KENECT_LABS",
+                        "createdAt": "2025-10-05T10:30:00Z",
+                        "updatedAt": "2025-10-06T08:15:00Z"
+                    }
+                ],
+                "deleted": [12346],
+                "nextToken": "djE6MTc1OTc0MDEwMDAwMDoxMjM0NQ",
+                "hasMore": false
+            }
+        """)
+public record ContactChanges(
+        @Schema(description = "Contacts added or modified, replace the local copy by id")
+        List<Contact> upserted,
+
+        @Schema(description = "Ids of contacts deleted upstream")
+        List<Long> deleted,
+
+        @Schema(description = "Opaque token to pass as since on the next call", example = "djE6MTc1OTc0MDEwMDAwMDoxMjM0NQ")
+        String nextToken,
+
+        @Schema(description = "True when more changes are available right away with nextToken")
+        boolean hasMore
+) {
+}
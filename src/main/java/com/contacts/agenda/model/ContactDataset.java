@@ -0,0 +1,52 @@
+package com.contacts.agenda.model;
+
+import java.util.List;
+
+/**
+ * Whole dataset returned by an on-demand fetch, with the ranges that were filled from the stored dataset
+ * because their pages fell back.
+ * <p>
+ * A fetch where only some pages fall back keeps the live pages and fills the gaps between them from the
+ * database, so the response is mostly fresh and only the listed segments may be outdated.
+ *
+ * @param contacts      the whole dataset, in upstream page order
+ * @param staleSegments ranges of {@code contacts} read from the stored dataset, in order, empty when every
+ *                      contact is live
+ */
+public record ContactDataset(
+        List<Contact> contacts,
+        List<StaleSegment> staleSegments
+) {
+
+    public ContactDataset {
+        staleSegments = List.copyOf(staleSegments);
+    }
+
+    public static ContactDataset live(List<Contact> contacts) {
+        return new ContactDataset(contacts, List.of());
+    }
+
+    /**
+     * Dataset read entirely from the stored dataset, so every contact is stale.
+     */
+    public static ContactDataset stored(List<Contact> contacts) {
+        return new ContactDataset(contacts, contacts.isEmpty() ? List.of() : List.of(new StaleSegment(0, contacts.size())));
+    }
+
+    public boolean isStale() {
+        return !staleSegments.isEmpty();
+    }
+
+    /**
+     * Positions of contacts read from the stored dataset.
+     *
+     * @param from first position, inclusive
+     * @param to   end position, exclusive
+     */
+    public record StaleSegment(int from, int to) {
+
+        public int size() {
+            return to - from;
+        }
+    }
+}
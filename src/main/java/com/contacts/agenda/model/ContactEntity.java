@@ -3,6 +3,7 @@ package com.contacts.agenda.model;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -12,7 +13,15 @@ import java.time.Instant;
  * <p>
  * This entity is automatically saved to the database after each successful API fetch, creating a backup
  * that can be used when the external API becomes unavailable. The 'syncedAt' field tracks when
- * each contact was last synchronized.
+ * each contact was last written, which only happens when its content changed, so it doubles as the
+ * watermark of the changes feed. The {@code (syncedAt, _id)} index serves that feed as a range scan.
+ * <p>
+ * The 'generation' field is the last sync generation that found the contact in the external API. It's
+ * only written by the sync's mark phase, never by content writes, and the {@code (generation, _id)} index
+ * lets the sweep find the contacts left behind by a completed generation, see
+ * {@link ContactSyncState}. 'firstGeneration' is the generation that confirmed the contact first, so
+ * a read pinned to a completed generation leaves out contacts a later generation is still marking.
+ * Contacts marked before it existed don't have it and count as confirmed by any generation.
  * <p>
  * When the circuit breaker detects API failures, it retrieves contacts from this collection instead,
  * ensuring the service remains available even during upstream outages.
@@ -25,6 +34,8 @@ import java.time.Instant;
  */
 @Builder
 @Document(collection = "contacts")
+@CompoundIndex(name = "syncedAt_id", def = "{'syncedAt': 1, '_id': 1}")
+@CompoundIndex(name = "generation_id", def = "{'generation': 1, '_id': 1}")
 public record ContactEntity(
         @Id
         @NotNull
@@ -34,6 +45,8 @@ public record ContactEntity(
         String source,
         Instant createdAt,
         Instant updatedAt,
-        Instant syncedAt
+        Instant syncedAt,
+        Long generation,
+        Long firstGeneration
 ) {
 }
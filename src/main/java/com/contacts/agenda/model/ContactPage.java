@@ -0,0 +1,29 @@
+package com.contacts.agenda.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A keyset-paginated slice of contacts", example = """
+            {
+                "contacts": [
+                    {
+                        "id": 12345,
+                        "name": "John Doe",
+                        "email": "john.doe@gmail.com",
+                        "source": "KENECT_LABS",
+                        "createdAt": "2025-10-05T10:30:00Z",
+                        "updatedAt": "2025-10-05T10:30:00Z"
+                    }
+                ],
+                "nextCursor": "djE6MTIzNDU"
+            }
+        """)
+public record ContactPage(
+        @Schema(description = "Contacts of this page, ordered by id")
+        List<Contact> contacts,
+
+        @Schema(description = "Opaque token to fetch the next page, null when this is the last page", example = "djE6MTIzNDU")
+        String nextCursor
+) {
+}
@@ -0,0 +1,82 @@
+package com.contacts.agenda.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Immutable, fully-synced copy of the contacts dataset.
+ * <p>
+ * Published by {@link com.contacts.agenda.service.ContactSyncService} after every successful background
+ * sync and served as is by {@link com.contacts.agenda.service.ContactService#getAllContacts()}, so
+ * request threads never wait on the external API.
+ * <p>
+ * The {@code contentHash} is computed once, when the snapshot is built, and backs the strong
+ * {@code ETag} of {@code GET /contacts}. Two snapshots with the same contacts in the same order have
+ * the same hash, so a sync that brought no changes doesn't invalidate what clients already have.
+ *
+ * @param contacts     the whole dataset, in upstream page order
+ * @param syncedAt     when the sync that produced this snapshot finished
+ * @param syncDuration how long the sync took, including retries
+ * @param contentHash  hex SHA-256 prefix of the contacts, in order
+ */
+public record ContactSnapshot(
+        List<Contact> contacts,
+        Instant syncedAt,
+        Duration syncDuration,
+        String contentHash
+) {
+    private static final int HASH_BYTES = 16;
+    private static final byte NULL_FIELD = 0;
+    private static final byte FIELD_SEPARATOR = 0x1F;
+
+    public ContactSnapshot {
+        contacts = List.copyOf(contacts);
+    }
+
+    public ContactSnapshot(List<Contact> contacts, Instant syncedAt, Duration syncDuration) {
+        this(contacts, syncedAt, syncDuration, contentHash(contacts));
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(syncedAt, now);
+    }
+
+    /**
+     * Hashes every field of every contact with a separator after each one, so {@code null} and empty
+     * values or shifted fields never produce the same input.
+     */
+    public static String contentHash(List<Contact> contacts) {
+        MessageDigest digest = sha256();
+        for (Contact contact : contacts) {
+            update(digest, contact.id());
+            update(digest, contact.name());
+            update(digest, contact.email());
+            update(digest, contact.source());
+            update(digest, contact.createdAt());
+            update(digest, contact.updatedAt());
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, HASH_BYTES);
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update(NULL_FIELD);
+        } else {
+            digest.update(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(FIELD_SEPARATOR);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.contacts.agenda.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Pages completed by a sync that couldn't fetch every page of the external API.
+ * <p>
+ * Only the page numbers are recorded, the pages themselves are the ones the sync wrote to the
+ * {@code contactPages} cache. The next sync reads them from there and only fetches the missing pages,
+ * as long as the page size is the same and the checkpoint is younger than
+ * {@code contacts.sync.checkpoint-ttl}.
+ *
+ * @param totalCount     upstream {@code total-count} the completed pages were fetched with
+ * @param completedPages 1-based numbers of the pages fetched from the external API
+ * @param startedAt      when the first page was fetched
+ * @param updatedAt      when the last pages were recorded
+ * @see com.contacts.agenda.service.ContactSyncJob
+ */
+@Document(collection = "contact_sync_checkpoints")
+public record ContactSyncCheckpoint(
+        @Id
+        String id,
+        long pageSize,
+        long totalCount,
+        List<Long> completedPages,
+        Instant startedAt,
+        Instant updatedAt
+) {
+
+    public static final String CONTACTS = "contacts";
+}
@@ -0,0 +1,33 @@
+package com.contacts.agenda.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Last completed generation of the stored dataset.
+ * <p>
+ * Every sync that gets a complete live dataset tags the stored contacts it confirmed with a new
+ * {@code generation}, then replaces this single document. That write is the switch: cold fallback reads
+ * only return contacts of the recorded generation, and the sweep only removes contacts that weren't
+ * confirmed by it.
+ *
+ * @param generation   number of the completed generation, increasing by one per sync
+ * @param contactCount contacts in the live dataset of the generation
+ * @param startedAt    when the generation started, contacts written from then on are never swept by it
+ * @param completedAt  when the generation was recorded
+ * @see com.contacts.agenda.service.ContactFallbackService#commitGeneration(java.util.List, Instant)
+ */
+@Document(collection = "contact_sync_state")
+public record ContactSyncState(
+        @Id
+        String id,
+        long generation,
+        int contactCount,
+        Instant startedAt,
+        Instant completedAt
+) {
+
+    public static final String CONTACTS = "contacts";
+}
@@ -0,0 +1,40 @@
+package com.contacts.agenda.model;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Marker of a contact that disappeared from the external API.
+ * <p>
+ * Written by the sync when it removes the contact from the {@code contacts} collection, so the changes
+ * feed can tell clients to delete it. A contact that comes back later keeps its tombstone, but its new
+ * {@code syncedAt} is greater than {@code deletedAt}, so clients replaying the feed in order end up
+ * with the contact.
+ * <p>
+ * <strong>⚠️ Retention:</strong>
+ * <blockquote>
+ * Tombstones expire after {@link #RETENTION} through a TTL index. Change tokens older than that are
+ * rejected, since deletions they would need may already be gone, and clients must resync from scratch.
+ * </blockquote>
+ *
+ * @see com.contacts.agenda.service.ContactChangeService
+ */
+@Document(collection = "contact_tombstones")
+@CompoundIndex(name = "deletedAt_id", def = "{'deletedAt': 1, '_id': 1}")
+public record ContactTombstone(
+        @Id
+        @NotNull
+        Long id,
+
+        @Indexed(name = "deletedAt_ttl", expireAfter = "30d")
+        Instant deletedAt
+) {
+
+    public static final Duration RETENTION = Duration.ofDays(30);
+}
@@ -0,0 +1,69 @@
+package com.contacts.agenda.repository;
+
+import com.contacts.agenda.model.ContactEntity;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Bulk operations of {@link ContactRepository} that go beyond the derived queries.
+ */
+public interface ContactBulkRepository {
+
+    /**
+     * Inserts or updates the given contacts by id through unordered bulk writes. Only the contact fields
+     * are set, the {@code generation} of a stored contact is kept.
+     *
+     * @return number of documents inserted or modified
+     */
+    int bulkUpsert(List<ContactEntity> contacts);
+
+    /**
+     * Tags the stored contacts with the given ids with {@code generation}. Runs of consecutive ids are
+     * marked by a single {@code _id} range update, ids that aren't stored are ignored. Contacts tagged for
+     * the first time also get {@code generation} as their {@code firstGeneration}.
+     *
+     * @return number of documents that weren't tagged with {@code generation} yet
+     */
+    int markGeneration(Collection<Long> ids, long generation);
+
+    /**
+     * Streams the contacts confirmed by {@code generation}, in {@code _id} order, like
+     * {@link #streamAfter(long, int)}: tagged with it or a later one, but first tagged no later than it,
+     * so contacts a later generation is still marking are left out. The stream must be closed.
+     */
+    Stream<ContactEntity> streamGeneration(long generation);
+
+    /**
+     * Keyset page of the contacts confirmed by {@code generation}, as in {@link #streamGeneration(long)},
+     * with an id greater than {@code afterId}, in {@code _id} order.
+     */
+    List<ContactEntity> findGenerationAfter(long generation, long afterId, int limit);
+
+    /**
+     * Finds up to {@code contacts.persistence.batch-size} ids of contacts tagged with an older generation,
+     * or none at all, that weren't written since {@code writtenBefore}.
+     */
+    List<Long> findStaleIds(long generation, Instant writtenBefore);
+
+    /**
+     * Streams the contacts with an id greater than {@code afterId} in {@code _id} order, through a cursor
+     * that fetches {@code contacts.persistence.read-batch-size} documents per round trip and only the
+     * fields a {@link com.contacts.agenda.model.Contact} needs. The stream must be closed.
+     *
+     * @param limit maximum number of contacts, {@code 0} for no limit
+     */
+    Stream<ContactEntity> streamAfter(long afterId, int limit);
+
+    /**
+     * Removes the contacts with the given ids that are still stale, as in {@link #findStaleIds(long, Instant)},
+     * leaving a tombstone for each removed one. Tombstones are recorded first, so a failure in between leaves
+     * a tombstone for a contact that is removed by the next attempt, never a removal without tombstone. A
+     * contact written again since its id was found is kept and its tombstone withdrawn.
+     *
+     * @return ids of the contacts removed
+     */
+    List<Long> deleteWithTombstones(Collection<Long> ids, long generation, Instant writtenBefore, Instant deletedAt);
+}
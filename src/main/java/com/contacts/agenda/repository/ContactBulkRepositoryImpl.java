@@ -0,0 +1,249 @@
+package com.contacts.agenda.repository;
+
+import com.contacts.agenda.model.ContactEntity;
+import com.contacts.agenda.model.ContactTombstone;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Unordered bulk upsert of contacts.
+ * <p>
+ * {@code saveAll} issues one round trip per document and maps every saved entity back. Here each
+ * batch of {@code contacts.persistence.batch-size} contacts becomes a single {@code bulkWrite} of
+ * upserts, so 100k contacts take {@code ceil(100k / batch-size)} round trips. The upserts {@code $set}
+ * the contact fields instead of replacing the document, so they never drop its {@code generation}.
+ * <p>
+ * Unordered batches let MongoDB apply the writes in any order and keep going past a failed one,
+ * which is safe since every operation targets a different {@code _id}. Failures are still reported
+ * as a {@link org.springframework.data.mongodb.BulkOperationException} once the batch finishes.
+ * <p>
+ * Generation marks go through the same batches, as two {@code updateMulti} per run of consecutive ids,
+ * one for contacts marked for the first time, which also records their {@code firstGeneration}, and one
+ * for the others. Upstream ids are mostly sequential, so marking 100k contacts usually takes a handful of
+ * operations.
+ * <p>
+ * Deletions go through the same batches: one bulk upsert of tombstones followed by a single
+ * {@code _id $in} remove per batch that checks the contacts are still stale, so one written again since it
+ * was found is kept, and its tombstone is withdrawn.
+ * <p>
+ * Reads for the fallback snapshot are cursors over {@code _id} ranges fetching
+ * {@code contacts.persistence.read-batch-size} documents per round trip, projected to the contact fields
+ * so {@code syncedAt} is never transferred or mapped.
+ */
+@Slf4j
+public class ContactBulkRepositoryImpl implements ContactBulkRepository {
+
+    private static final String[] CONTACT_FIELDS = {"name", "email", "source", "createdAt", "updatedAt"};
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final int readBatchSize;
+
+    public ContactBulkRepositoryImpl(
+            MongoTemplate mongoTemplate,
+            @Value("${contacts.persistence.batch-size:1000}") int batchSize,
+            @Value("${contacts.persistence.read-batch-size:2000}") int readBatchSize
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("contacts.persistence.batch-size must be greater than zero");
+        }
+        if (readBatchSize < 1) {
+            throw new IllegalArgumentException("contacts.persistence.read-batch-size must be greater than zero");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.readBatchSize = readBatchSize;
+    }
+
+    @Override
+    public int bulkUpsert(List<ContactEntity> contacts) {
+        int written = 0;
+
+        for (int from = 0; from < contacts.size(); from += batchSize) {
+            List<ContactEntity> batch = contacts.subList(from, Math.min(from + batchSize, contacts.size()));
+
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContactEntity.class);
+            batch.forEach(contact -> operations.upsert(
+                    Query.query(Criteria.where("_id").is(contact.id())),
+                    contentOf(contact)
+            ));
+
+            BulkWriteResult result = operations.execute();
+            written += result.getModifiedCount() + result.getUpserts().size();
+        }
+
+        log.debug("Bulk upserted {} contacts in batches of {}, {} inserted or modified", contacts.size(), batchSize, written);
+        return written;
+    }
+
+    private static Update contentOf(ContactEntity contact) {
+        return Update.update("name", contact.name())
+                .set("email", contact.email())
+                .set("source", contact.source())
+                .set("createdAt", contact.createdAt())
+                .set("updatedAt", contact.updatedAt())
+                .set("syncedAt", contact.syncedAt());
+    }
+
+    @Override
+    public int markGeneration(Collection<Long> ids, long generation) {
+        long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        Update firstMark = Update.update("generation", generation).set("firstGeneration", generation);
+        Update mark = Update.update("generation", generation);
+        int marked = 0;
+
+        BulkOperations operations = null;
+        int pending = 0;
+        for (int from = 0; from < sorted.length; ) {
+            int to = from;
+            while (to + 1 < sorted.length && sorted[to + 1] == sorted[to] + 1) {
+                to++;
+            }
+
+            if (operations == null) {
+                operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContactEntity.class);
+            }
+            // disjoint filters, so the unordered operations never count a contact twice
+            operations.updateMulti(
+                    Query.query(Criteria.where("_id").gte(sorted[from]).lte(sorted[to]).and("generation").exists(false)),
+                    firstMark
+            );
+            operations.updateMulti(
+                    Query.query(Criteria.where("_id").gte(sorted[from]).lte(sorted[to]).and("generation").exists(true).ne(generation)),
+                    mark
+            );
+            pending += 2;
+            if (pending >= batchSize) {
+                marked += operations.execute().getModifiedCount();
+                operations = null;
+                pending = 0;
+            }
+            from = to + 1;
+        }
+        if (operations != null) {
+            marked += operations.execute().getModifiedCount();
+        }
+
+        log.debug("Marked {} of {} contacts with generation {}", marked, sorted.length, generation);
+        return marked;
+    }
+
+    @Override
+    public Stream<ContactEntity> streamGeneration(long generation) {
+        Query query = Query.query(generationCriteria(generation))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(readBatchSize);
+        query.fields().include(CONTACT_FIELDS);
+
+        return mongoTemplate.stream(query, ContactEntity.class);
+    }
+
+    @Override
+    public List<ContactEntity> findGenerationAfter(long generation, long afterId, int limit) {
+        Query query = Query.query(Criteria.where("_id").gt(afterId).andOperator(generationCriteria(generation)))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+        query.fields().include(CONTACT_FIELDS);
+
+        return mongoTemplate.find(query, ContactEntity.class);
+    }
+
+    private static Criteria generationCriteria(long generation) {
+        // contacts marked before firstGeneration existed were confirmed by an earlier generation
+        return new Criteria().andOperator(
+                Criteria.where("generation").gte(generation),
+                new Criteria().orOperator(
+                        Criteria.where("firstGeneration").lte(generation),
+                        Criteria.where("firstGeneration").exists(false)));
+    }
+
+    @Override
+    public List<Long> findStaleIds(long generation, Instant writtenBefore) {
+        Query query = Query.query(staleCriteria(generation, writtenBefore)).limit(batchSize);
+        query.fields().include("_id");
+
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(ContactEntity.class)).stream()
+                .map(document -> document.getLong("_id"))
+                .toList();
+    }
+
+    private static Criteria staleCriteria(long generation, Instant writtenBefore) {
+        // $not also matches contacts stored before generations existed
+        return Criteria.where("generation").not().gte(generation).and("syncedAt").lt(writtenBefore);
+    }
+
+    @Override
+    public Stream<ContactEntity> streamAfter(long afterId, int limit) {
+        // a single round trip when the whole range fits in one batch
+        int cursorBatchSize = limit > 0 ? Math.min(limit, readBatchSize) : readBatchSize;
+        Query query = Query.query(Criteria.where("_id").gt(afterId))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit)
+                .cursorBatchSize(cursorBatchSize);
+        query.fields().include(CONTACT_FIELDS);
+
+        return mongoTemplate.stream(query, ContactEntity.class);
+    }
+
+    @Override
+    public List<Long> deleteWithTombstones(Collection<Long> ids, long generation, Instant writtenBefore, Instant deletedAt) {
+        List<Long> idList = List.copyOf(ids);
+        List<Long> removed = new ArrayList<>();
+
+        for (int from = 0; from < idList.size(); from += batchSize) {
+            List<Long> batch = idList.subList(from, Math.min(from + batchSize, idList.size()));
+
+            BulkOperations tombstones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContactTombstone.class);
+            batch.forEach(id -> tombstones.replaceOne(
+                    Query.query(Criteria.where("_id").is(id)),
+                    new ContactTombstone(id, deletedAt),
+                    FindAndReplaceOptions.options().upsert()
+            ));
+            tombstones.execute();
+
+            // re-checks staleness, a contact written again since findStaleIds must survive the sweep
+            mongoTemplate.remove(
+                    Query.query(Criteria.where("_id").in(batch).andOperator(staleCriteria(generation, writtenBefore))),
+                    ContactEntity.class
+            );
+
+            Set<Long> kept = storedIds(batch);
+            if (!kept.isEmpty()) {
+                mongoTemplate.remove(
+                        Query.query(Criteria.where("_id").in(kept).and("deletedAt").is(deletedAt)),
+                        ContactTombstone.class
+                );
+            }
+            batch.stream().filter(id -> !kept.contains(id)).forEach(removed::add);
+        }
+
+        log.debug("Removed {} of {} stale contacts and recorded their tombstones", removed.size(), idList.size());
+        return removed;
+    }
+
+    private Set<Long> storedIds(List<Long> ids) {
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("_id");
+
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(ContactEntity.class)).stream()
+                .map(document -> document.getLong("_id"))
+                .collect(Collectors.toSet());
+    }
+}
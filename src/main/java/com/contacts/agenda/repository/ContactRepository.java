@@ -1,10 +1,28 @@
 package com.contacts.agenda.repository;
 
 import com.contacts.agenda.model.ContactEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
-public interface ContactRepository extends MongoRepository<ContactEntity, Long> {}
+public interface ContactRepository extends MongoRepository<ContactEntity, Long>, ContactBulkRepository {
 
+    /**
+     * Keyset range query over {@code _id}: resolved by the default {@code _id} index, so its cost
+     * depends on {@code limit} only and never on how deep into the collection the cursor points.
+     */
+    List<ContactEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
+    /**
+     * Keyset range query over {@code (syncedAt, _id)}, resolved by the {@code syncedAt_id} index: returns
+     * the contacts written after the given position, in the order they were written.
+     */
+    @Query(value = "{ '$or': [ { 'syncedAt': { '$gt': ?0 } }, { 'syncedAt': ?0, '_id': { '$gt': ?1 } } ] }",
+            sort = "{ 'syncedAt': 1, '_id': 1 }")
+    List<ContactEntity> findChangedAfter(Instant syncedAt, Long id, Limit limit);
+}
@@ -0,0 +1,9 @@
+package com.contacts.agenda.repository;
+
+import com.contacts.agenda.model.ContactSyncCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContactSyncCheckpointRepository extends MongoRepository<ContactSyncCheckpoint, String> {
+}
@@ -0,0 +1,9 @@
+package com.contacts.agenda.repository;
+
+import com.contacts.agenda.model.ContactSyncState;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContactSyncStateRepository extends MongoRepository<ContactSyncState, String> {
+}
@@ -0,0 +1,21 @@
+package com.contacts.agenda.repository;
+
+import com.contacts.agenda.model.ContactTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ContactTombstoneRepository extends MongoRepository<ContactTombstone, Long> {
+
+    /**
+     * Keyset range query over {@code (deletedAt, _id)}, resolved by the {@code deletedAt_id} index.
+     */
+    @Query(value = "{ '$or': [ { 'deletedAt': { '$gt': ?0 } }, { 'deletedAt': ?0, '_id': { '$gt': ?1 } } ] }",
+            sort = "{ 'deletedAt': 1, '_id': 1 }")
+    List<ContactTombstone> findDeletedAfter(Instant deletedAt, Long id, Limit limit);
+}
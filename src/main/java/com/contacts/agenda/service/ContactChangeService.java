@@ -0,0 +1,146 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.exception.ChangeTokenExpiredException;
+import com.contacts.agenda.exception.InvalidPageRequestException;
+import com.contacts.agenda.mapper.ContactMapper;
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactChanges;
+import com.contacts.agenda.model.ContactEntity;
+import com.contacts.agenda.model.ContactTombstone;
+import com.contacts.agenda.repository.ContactRepository;
+import com.contacts.agenda.repository.ContactTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes feed over the synced MongoDB store: contacts added, modified or deleted since a watermark.
+ * <p>
+ * Contacts are only written when their content changes (see {@link ContactChangeTracker}), so their
+ * {@code syncedAt} is the time of their last change. Deletions are read from {@link ContactTombstone}.
+ * Both are keyset range scans over {@code (timestamp, _id)} indexes merged in order, so a poll costs
+ * what changed, never the size of the dataset.
+ * <p>
+ * <b>Token Semantics:</b>
+ * <ul>
+ *   <li>Without a token the feed starts from the beginning, i.e. the whole dataset</li>
+ *   <li>When {@code hasMore} is true, {@code nextToken} points right after the last returned change</li>
+ *   <li>Once caught up, {@code nextToken} points {@code settle-window} before the read, so writes still
+ *       in flight when the feed was read are delivered on the next poll. Changes in that window may be
+ *       delivered twice, which is harmless since clients apply them by id</li>
+ *   <li>Within a response each contact appears once, with its latest change</li>
+ * </ul>
+ * <p>
+ * <strong>⚠️ Restarts:</strong>
+ * <blockquote>
+ * Change detection hashes live in memory and are seeded from the stored dataset at startup, so unchanged
+ * contacts keep their {@code syncedAt} across restarts and deploys. Only when that load fails does the
+ * first sync write every contact again, and the next poll of every client returns the whole dataset once.
+ * </blockquote>
+ */
+@Service
+@Slf4j
+public class ContactChangeService {
+
+    private static final Comparator<Change> CHANGE_ORDER = Comparator.comparing(Change::position)
+            .thenComparing(Change::deleted);
+
+    private final ContactRepository contactRepository;
+    private final ContactTombstoneRepository tombstoneRepository;
+    private final int maxLimit;
+    private final Duration settleWindow;
+
+    public ContactChangeService(
+            ContactRepository contactRepository,
+            ContactTombstoneRepository tombstoneRepository,
+            @Value("${contacts.pagination.max-limit:500}") int maxLimit,
+            @Value("${contacts.changes.settle-window:30s}") Duration settleWindow
+    ) {
+        this.contactRepository = contactRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.maxLimit = maxLimit;
+        this.settleWindow = settleWindow;
+    }
+
+    private record Change(ContactChangeToken.Position position, boolean deleted, Contact contact) {
+    }
+
+    /**
+     * Returns up to {@code limit} changes after the position encoded in {@code since}.
+     *
+     * @param since token returned as {@code nextToken} by the previous call, {@code null} to start over
+     * @param limit maximum number of changes, capped to {@code contacts.pagination.max-limit}
+     * @throws InvalidPageRequestException if the token is malformed or the limit is not positive
+     * @throws ChangeTokenExpiredException if the token is older than the tombstone retention
+     */
+    public ContactChanges getChanges(String since, int limit) {
+        if (limit < 1) {
+            throw new InvalidPageRequestException("limit must be greater than zero");
+        }
+
+        Instant readStartedAt = Instant.now();
+        int pageSize = Math.min(limit, maxLimit);
+        boolean hasToken = since != null && !since.isBlank();
+        ContactChangeToken.Position from = hasToken ? ContactChangeToken.decode(since) : ContactChangeToken.Position.START;
+
+        if (hasToken && from.at().isBefore(readStartedAt.minus(ContactTombstone.RETENTION))) {
+            throw new ChangeTokenExpiredException("Change token is older than " + ContactTombstone.RETENTION.toDays()
+                    + " days, fetch all contacts again without a token");
+        }
+
+        log.debug("Fetching {} changes after {}", pageSize, from);
+
+        // Reads one extra element of each source to find out whether more changes exist without a count query
+        List<Change> changes = new ArrayList<>(2 * pageSize + 2);
+        for (ContactEntity entity : contactRepository.findChangedAfter(from.at(), from.id(), Limit.of(pageSize + 1))) {
+            changes.add(new Change(new ContactChangeToken.Position(entity.syncedAt(), entity.id()), false,
+                    ContactMapper.INSTANCE.toDomain(entity)));
+        }
+        for (ContactTombstone tombstone : tombstoneRepository.findDeletedAfter(from.at(), from.id(), Limit.of(pageSize + 1))) {
+            changes.add(new Change(new ContactChangeToken.Position(tombstone.deletedAt(), tombstone.id()), true, null));
+        }
+        changes.sort(CHANGE_ORDER);
+
+        boolean hasMore = changes.size() > pageSize;
+        List<Change> page = hasMore ? changes.subList(0, pageSize) : changes;
+
+        // Later changes of the same contact replace earlier ones
+        Map<Long, Change> latest = new LinkedHashMap<>();
+        page.forEach(change -> {
+            latest.remove(change.position().id());
+            latest.put(change.position().id(), change);
+        });
+
+        List<Contact> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        latest.forEach((id, change) -> {
+            if (change.deleted()) {
+                deleted.add(id);
+            } else {
+                upserted.add(change.contact());
+            }
+        });
+
+        ContactChangeToken.Position next = hasMore ? page.getLast().position() : caughtUpPosition(from, readStartedAt);
+        return new ContactChanges(upserted, deleted, ContactChangeToken.encode(next), hasMore);
+    }
+
+    /**
+     * Everything visible was returned, but writes committed with an earlier timestamp may still be in
+     * flight. Going back to {@code settle-window} before the read re-reads them on the next poll, and
+     * never moving behind {@code from} keeps the token advancing for clients that see no changes.
+     */
+    private ContactChangeToken.Position caughtUpPosition(ContactChangeToken.Position from, Instant readStartedAt) {
+        ContactChangeToken.Position settled = new ContactChangeToken.Position(readStartedAt.minus(settleWindow), Long.MIN_VALUE);
+        return settled.compareTo(from) > 0 ? settled : from;
+    }
+}
@@ -0,0 +1,69 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Opaque watermark tokens of the changes feed.
+ * <p>
+ * The token is the base64url encoding of {@code v1:<epochMillis>:<id>}, the keyset position of the
+ * last change a client has seen. Like {@link ContactCursor}, clients must treat it as opaque.
+ */
+final class ContactChangeToken {
+
+    private static final String VERSION_PREFIX = "v1:";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Position in the feed, changes are ordered by {@code at} and then by contact id.
+     */
+    record Position(Instant at, long id) implements Comparable<Position> {
+
+        static final Position START = new Position(Instant.EPOCH, Long.MIN_VALUE);
+
+        private static final Comparator<Position> ORDER = Comparator.comparing(Position::at)
+                .thenComparingLong(Position::id);
+
+        @Override
+        public int compareTo(Position other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private ContactChangeToken() {}
+
+    /**
+     * Token of everything written at or after {@code at}.
+     */
+    static String from(Instant at) {
+        return encode(new Position(at, Long.MIN_VALUE));
+    }
+
+    static String encode(Position position) {
+        String raw = VERSION_PREFIX + position.at().toEpochMilli() + ":" + position.id();
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decode(String token) {
+        try {
+            String decoded = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(VERSION_PREFIX)) {
+                throw new InvalidPageRequestException("Invalid change token: " + token);
+            }
+
+            String[] parts = decoded.substring(VERSION_PREFIX.length()).split(":", 2);
+            if (parts.length != 2) {
+                throw new InvalidPageRequestException("Invalid change token: " + token);
+            }
+            return new Position(Instant.ofEpochMilli(Long.parseLong(parts[0])), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new InvalidPageRequestException("Invalid change token: " + token);
+        }
+    }
+}
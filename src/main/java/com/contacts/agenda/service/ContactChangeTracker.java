@@ -0,0 +1,135 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.model.Contact;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers a content hash of every persisted contact, so only new or modified contacts are written
+ * to the database.
+ * <p>
+ * The hash covers every field of {@link Contact}, so it also catches upstream edits that don't bump
+ * {@code updatedAt}. Responses served from the Redis cache carry exactly the data already persisted,
+ * so they produce no writes at all.
+ * <p>
+ * <b>Metrics:</b>
+ * <ul>
+ *   <li>{@code contacts.persistence.documents} - counter tagged with {@code outcome} (written, skipped)</li>
+ * </ul>
+ * <p>
+ * <strong>⚠️ In-memory State:</strong>
+ * <blockquote>
+ * Hashes live in this instance only. They are {@link #seed(List) seeded} from the stored dataset when it's
+ * loaded at startup, so a restart doesn't write unchanged contacts again nor move their {@code syncedAt}.
+ * Contacts that couldn't be read then are written once more, which is safe since writes are idempotent
+ * upserts by id. If the collection is wiped externally, call {@link #reset()} so the next sync
+ * repopulates it.
+ * </blockquote>
+ */
+@Component
+public class ContactChangeTracker {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<Long, Long> persistedHashes = new ConcurrentHashMap<>();
+    private final Counter writtenCounter;
+    private final Counter skippedCounter;
+
+    public ContactChangeTracker(MeterRegistry meterRegistry) {
+        this.writtenCounter = Counter.builder("contacts.persistence.documents")
+                .description("Contacts written to or skipped by the fallback database")
+                .tag("outcome", "written")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("contacts.persistence.documents")
+                .description("Contacts written to or skipped by the fallback database")
+                .tag("outcome", "skipped")
+                .register(meterRegistry);
+    }
+
+    public record ChangeSet(List<Contact> changed, Map<Long, Long> hashes, int unchanged) {
+    }
+
+    /**
+     * Splits the given contacts into the ones that differ from what was last persisted and counts
+     * the others as skipped. Nothing is remembered until {@link #commit(ChangeSet)}.
+     */
+    public ChangeSet detectChanges(List<Contact> contacts) {
+        List<Contact> changed = new ArrayList<>();
+        Map<Long, Long> hashes = new HashMap<>();
+
+        for (Contact contact : contacts) {
+            long hash = hash(contact);
+            if (!Objects.equals(persistedHashes.get(contact.id()), hash)) {
+                changed.add(contact);
+                hashes.put(contact.id(), hash);
+            }
+        }
+
+        int unchanged = contacts.size() - changed.size();
+        skippedCounter.increment(unchanged);
+        return new ChangeSet(changed, hashes, unchanged);
+    }
+
+    /**
+     * Records the changed contacts as persisted, call it only once the write succeeded.
+     */
+    public void commit(ChangeSet changeSet) {
+        persistedHashes.putAll(changeSet.hashes());
+        writtenCounter.increment(changeSet.changed().size());
+    }
+
+    /**
+     * Remembers contacts read back from the database as persisted. Hashes already tracked come from a
+     * later write, so they are kept.
+     */
+    public void seed(List<Contact> storedContacts) {
+        storedContacts.forEach(contact -> persistedHashes.putIfAbsent(contact.id(), hash(contact)));
+    }
+
+    /**
+     * Drops the hashes of removed contacts, so a contact that comes back with the same content is
+     * written again instead of being skipped as unchanged.
+     */
+    public void forget(Collection<Long> ids) {
+        ids.forEach(persistedHashes::remove);
+    }
+
+    public void reset() {
+        persistedHashes.clear();
+    }
+
+    static long hash(Contact contact) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, String.valueOf(contact.id()));
+        hash = mix(hash, contact.name());
+        hash = mix(hash, contact.email());
+        hash = mix(hash, contact.source());
+        hash = mix(hash, String.valueOf(contact.createdAt()));
+        hash = mix(hash, String.valueOf(contact.updatedAt()));
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value != null) {
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= FNV_PRIME;
+            }
+        }
+        // field separator, so ("ab", "c") and ("a", "bc") hash differently
+        hash ^= 0xff;
+        hash *= FNV_PRIME;
+        return hash;
+    }
+}
@@ -0,0 +1,38 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor tokens for keyset pagination over {@code ContactEntity.id}.
+ * <p>
+ * The token is the base64url encoding of {@code v1:<lastId>}. Clients must treat it as opaque, the
+ * version prefix lets the format evolve (e.g. to a compound key) without breaking cursors already
+ * handed out.
+ */
+final class ContactCursor {
+
+    private static final String VERSION_PREFIX = "v1:";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ContactCursor() {}
+
+    static String encode(long lastId) {
+        return ENCODER.encodeToString((VERSION_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decode(String cursor) {
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(VERSION_PREFIX)) {
+                throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(decoded.substring(VERSION_PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -1,15 +1,28 @@
 package com.contacts.agenda.service;
 
 import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactChangeBatch;
 import com.contacts.agenda.model.ContactEntity;
+import com.contacts.agenda.model.ContactSyncState;
 import com.contacts.agenda.exception.ServiceUnavailableException;
 import com.contacts.agenda.mapper.ContactMapper;
 import com.contacts.agenda.repository.ContactRepository;
-import lombok.RequiredArgsConstructor;
+import com.contacts.agenda.repository.ContactSyncStateRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Service responsible for database persistence and fallback data retrieval.
@@ -17,51 +30,267 @@ import java.util.List;
  * Acts as a backup data source when the external API is unavailable. Contacts are
  * automatically saved to database after successful API calls, ensuring data availability
  * during outages.
+ * <p>
+ * Every successful write or removal is published as a {@link ContactChangeBatch} application event.
+ * <p>
+ * <b>Fallback reads</b> are served from {@link ContactFallbackSnapshot}, an in-memory copy of the stored
+ * dataset loaded at startup and replaced with every live dataset. MongoDB is only read while no copy is
+ * held, through a cursor mapped contact by contact, so no list of entities is ever materialized next to
+ * the contacts.
+ * <p>
+ * <b>Generations:</b> every complete live dataset becomes a generation of the stored one, see
+ * {@link #commitGeneration(List, Instant)}. Cold reads are pinned to the last completed generation, so a
+ * read that overlaps a sync never returns contacts the sync is about to sweep, and contacts stored but not
+ * confirmed by any completed generation yet are left out until the next one confirms them.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ContactFallbackService {
 
     private final ContactRepository contactRepository;
+    private final ContactSyncStateRepository syncStateRepository;
+    private final ContactChangeTracker changeTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContactFallbackSnapshot fallbackSnapshot;
+    private final Duration emptyTtl;
+
+    public ContactFallbackService(
+            ContactRepository contactRepository,
+            ContactSyncStateRepository syncStateRepository,
+            ContactChangeTracker changeTracker,
+            ApplicationEventPublisher eventPublisher,
+            ContactFallbackSnapshot fallbackSnapshot,
+            @Value("${contacts.fallback.empty-ttl:30s}") Duration emptyTtl
+    ) {
+        this.contactRepository = contactRepository;
+        this.syncStateRepository = syncStateRepository;
+        this.changeTracker = changeTracker;
+        this.eventPublisher = eventPublisher;
+        this.fallbackSnapshot = fallbackSnapshot;
+        this.emptyTtl = emptyTtl;
+    }
+
+    /**
+     * Loads the stored dataset into {@link ContactFallbackSnapshot} when the application starts, so the
+     * first outage is already served from memory. A failure only means the first fallback loads it.
+     * <p>
+     * It runs before the background sync is started, so the {@link ContactChangeTracker} is seeded with
+     * the stored contacts by the time the first sync writes.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        try {
+            int loaded = loadStoredContacts().contacts().size();
+            log.info("Loaded {} stored contacts for database fallbacks", loaded);
+        } catch (RuntimeException ex) {
+            log.warn("Could not load stored contacts for database fallbacks, retrying on the first fallback. Error: {}",
+                    ex.getMessage());
+        }
+    }
+
+    /**
+     * Holds a complete live dataset as the fallback snapshot, replacing what was read from the database.
+     */
+    public void publishSnapshot(List<Contact> liveContacts) {
+        fallbackSnapshot.publish(liveContacts);
+    }
 
     /**
      * Retrieves all contacts from fallback database.
      * <p>
-     * This method is called by the circuit breaker fallback when the external API is unavailable.
-     * It returns the last successful dataset saved to database.
+     * It returns the last successful dataset saved to database, used when the external API became
+     * unavailable in the middle of a multi-page fetch.
      *
      * @throws ServiceUnavailableException if database is empty (no previous successful sync)
      */
     public List<Contact> getContactsFromDatabase() {
-        log.debug("Fetching contacts from fallback database");
+        return storedContacts().contacts();
+    }
 
-        List<ContactEntity> entities = contactRepository.findAll();
+    /**
+     * Retrieves one page of the stored dataset, in id order, for the circuit breaker fallback of a single
+     * page.
+     *
+     * @param page     1-based page number, like the external API
+     * @param pageSize contacts per page
+     * @return the contacts of the page, empty when the page is past the end of the stored dataset
+     * @throws ServiceUnavailableException if database is empty (no previous successful sync)
+     */
+    public List<Contact> getPageFromDatabase(long page, long pageSize) {
+        log.debug("Fetching page {} with pageSize {} from fallback snapshot", page, pageSize);
+        return storedContacts().page(page, pageSize);
+    }
+
+    /**
+     * Retrieves every stored contact with an id greater than {@code afterId}, in id order.
+     */
+    public List<Contact> getContactsAfter(long afterId) {
+        return storedContacts().after(afterId);
+    }
 
-        if (entities.isEmpty()) {
-            log.error("Critical: fallback databaase is empty and external API is unavailable");
-            throw new ServiceUnavailableException("External API is unavailable and no cached data exists");
+    /**
+     * Retrieves every stored contact with an id greater than {@code afterId} and lower than {@code beforeId},
+     * in id order, to fill the pages that fell back between two live ones.
+     *
+     * @throws ServiceUnavailableException if database is empty (no previous successful sync)
+     */
+    public List<Contact> getContactsBetween(long afterId, long beforeId) {
+        return storedContacts().between(afterId, beforeId);
+    }
+
+    /**
+     * The held dataset, read from MongoDB only while none is held. Concurrent cold reads wait for a single
+     * load, and an empty database is answered from memory until {@code contacts.fallback.empty-ttl} elapses.
+     *
+     * @throws ServiceUnavailableException if database is empty (no previous successful sync)
+     */
+    private ContactFallbackSnapshot.StoredContacts storedContacts() {
+        Optional<ContactFallbackSnapshot.StoredContacts> held = fallbackSnapshot.current();
+        if (held.isEmpty()) {
+            held = Optional.of(loadStoredContacts());
         }
+        if (held.get().contacts().isEmpty()) {
+            throw emptyDatabase();
+        }
+        return held.get();
+    }
 
-        log.debug("Retrieved {} contacts from database", entities.size());
-        return entities.stream()
-                .map(ContactMapper.INSTANCE::toDomain)
-                .toList();
+    /**
+     * @return the held dataset, empty when the database is empty
+     */
+    private synchronized ContactFallbackSnapshot.StoredContacts loadStoredContacts() {
+        Optional<ContactFallbackSnapshot.StoredContacts> held = fallbackSnapshot.current();
+        if (held.isPresent()) {
+            return held.get();
+        }
+        if (fallbackSnapshot.isKnownEmpty(Instant.now())) {
+            return ContactFallbackSnapshot.StoredContacts.EMPTY;
+        }
+
+        Optional<ContactSyncState> completed = syncStateRepository.findById(ContactSyncState.CONTACTS);
+        log.debug("Loading stored contacts of generation {} from fallback database",
+                completed.map(ContactSyncState::generation).orElse(null));
+
+        List<Contact> contacts = new ArrayList<>();
+        try (Stream<ContactEntity> entities = completed.isPresent()
+                ? contactRepository.streamGeneration(completed.get().generation())
+                : contactRepository.streamAfter(Long.MIN_VALUE, 0)) {
+            entities.forEach(entity -> contacts.add(ContactMapper.INSTANCE.toDomain(entity)));
+        }
+
+        if (contacts.isEmpty()) {
+            fallbackSnapshot.markEmpty(Instant.now().plus(emptyTtl));
+            return ContactFallbackSnapshot.StoredContacts.EMPTY;
+        }
+
+        log.debug("Retrieved {} contacts from database", contacts.size());
+        changeTracker.seed(contacts);
+        return fallbackSnapshot.publishIfAbsent(contacts);
     }
 
-    public List<Contact> saveContacts(List<Contact> contacts) {
+    private static ServiceUnavailableException emptyDatabase() {
+        log.error("Critical: fallback database is empty and external API is unavailable");
+        return new ServiceUnavailableException("External API is unavailable and no cached data exists");
+    }
+
+    /**
+     * Persists the contacts that are new or changed since they were last saved.
+     * <p>
+     * Unchanged contacts, e.g. a dataset served from the Redis cache, are skipped without touching the
+     * database, see {@link ContactChangeTracker}. The rest is written through unordered bulk upserts,
+     * nothing is read back since the caller already holds the contacts.
+     */
+    public void saveContacts(List<Contact> contacts) {
         if (contacts == null || contacts.isEmpty()) {
             log.debug("Skipping save - empty contacts list");
-            return List.of();
+            return;
         }
 
-        log.debug("Saving {} contacts to database", contacts.size());
-        List<ContactEntity> entities = contacts.stream()
+        ContactChangeTracker.ChangeSet changes = changeTracker.detectChanges(contacts);
+        if (changes.changed().isEmpty()) {
+            log.debug("Skipping save - all {} contacts are unchanged", contacts.size());
+            return;
+        }
+
+        log.debug("Saving {} changed contacts to database, skipping {} unchanged", changes.changed().size(), changes.unchanged());
+        // Taken before the entities get their syncedAt, so the token covers every contact of this write
+        Instant writeStartedAt = Instant.now();
+        List<ContactEntity> entities = changes.changed().stream()
                 .map(ContactMapper.INSTANCE::toEntity)
                 .toList();
 
-        return contactRepository.saveAll(entities)
-                .stream().map(ContactMapper.INSTANCE::toDomain)
-                .toList();
+        contactRepository.bulkUpsert(entities);
+        changeTracker.commit(changes);
+        eventPublisher.publishEvent(new ContactChangeBatch(changes.changed(), List.of(), ContactChangeToken.from(writeStartedAt)));
+    }
+
+    /**
+     * Completes a new generation of the stored dataset with a complete live one.
+     * <p>
+     * The stored contacts of the live dataset are tagged with the next generation (mark), then the
+     * generation is recorded in {@link ContactSyncState} in a single document write (switch). Until then
+     * cold reads keep returning the previous generation, and nothing is removed.
+     *
+     * @param liveContacts every contact currently returned by the external API, never a fallback result.
+     *                     They must already be stored, contacts that aren't are confirmed by the next
+     *                     generation
+     * @param startedAt    taken before the live contacts were flushed to the database, contacts written
+     *                     from then on are never swept by this generation
+     * @return the completed generation, empty when the live dataset is empty
+     */
+    public Optional<ContactSyncState> commitGeneration(List<Contact> liveContacts, Instant startedAt) {
+        if (liveContacts == null || liveContacts.isEmpty()) {
+            log.warn("Skipping generation - the live dataset is empty");
+            return Optional.empty();
+        }
+
+        long generation = syncStateRepository.findById(ContactSyncState.CONTACTS)
+                .map(state -> state.generation() + 1)
+                .orElse(1L);
+
+        List<Long> ids = liveContacts.stream().map(Contact::id).toList();
+        int marked = contactRepository.markGeneration(ids, generation);
+
+        ContactSyncState completed = new ContactSyncState(
+                ContactSyncState.CONTACTS, generation, liveContacts.size(), startedAt, Instant.now());
+        syncStateRepository.save(completed);
+        log.debug("Completed generation {} with {} contacts, {} newly marked", generation, liveContacts.size(), marked);
+        return Optional.of(completed);
+    }
+
+    /**
+     * Removes the stored contacts left behind by a completed generation, leaving a tombstone for each of
+     * them so the changes feed reports the deletion.
+     * <p>
+     * Runs in batches of {@code contacts.persistence.batch-size}, each one published on its own, so the
+     * sweep never holds more than one batch of ids and readers and writers are never blocked by it.
+     * Contacts written after the generation started, e.g. still in the write-behind queue when it was
+     * marked, are kept for the next generation to confirm, even when they are written while the sweep
+     * is removing their batch.
+     *
+     * @return number of contacts removed
+     */
+    public int sweepGeneration(ContactSyncState generation) {
+        int removed = 0;
+        List<Long> stale = contactRepository.findStaleIds(generation.generation(), generation.startedAt());
+
+        while (!stale.isEmpty()) {
+            Instant deletedAt = Instant.now();
+            List<Long> deleted = contactRepository.deleteWithTombstones(
+                    stale, generation.generation(), generation.startedAt(), deletedAt);
+            removed += deleted.size();
+            if (!deleted.isEmpty()) {
+                changeTracker.forget(deleted);
+                eventPublisher.publishEvent(new ContactChangeBatch(List.of(), deleted, ContactChangeToken.from(deletedAt)));
+            }
+
+            stale = contactRepository.findStaleIds(generation.generation(), generation.startedAt());
+        }
+
+        if (removed > 0) {
+            log.info("Removed {} contacts that no longer exist in the external API", removed);
+        }
+        return removed;
     }
 }
@@ -0,0 +1,159 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.model.Contact;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable in-process copy of the last known stored dataset, in id order, that database fallbacks are
+ * served from.
+ * <p>
+ * It's published from MongoDB once, when the application starts or on the first fallback after a failed
+ * load, and replaced atomically with every complete live dataset afterwards. Readers always get a
+ * complete dataset, either the previous or the new one, and pages are {@link List#subList(int, int)}
+ * views of it, so serving a fallback copies nothing.
+ * <p>
+ * An empty database is remembered too, until {@code contacts.fallback.empty-ttl} elapses or a live
+ * dataset is published, so an outage on a fresh install doesn't query MongoDB on every request.
+ * <p>
+ * <b>Metrics:</b>
+ * <ul>
+ *   <li>{@code contacts.fallback.snapshot.size} - number of contacts held, {@code NaN} until loaded</li>
+ * </ul>
+ * <p>
+ * <strong>⚠️ Memory:</strong>
+ * <blockquote>
+ * A live dataset that is already in id order is held as the same list as the {@link
+ * com.contacts.agenda.model.ContactSnapshot} served by {@code GET /contacts}, otherwise it's a second,
+ * sorted, copy of it.
+ * </blockquote>
+ */
+@Component
+public class ContactFallbackSnapshot {
+
+    private static final Comparator<Contact> BY_ID = Comparator.comparing(Contact::id);
+
+    /**
+     * Contacts in id order, with their ids unboxed next to them for binary searches.
+     */
+    record StoredContacts(List<Contact> contacts, long[] ids) {
+
+        static final StoredContacts EMPTY = new StoredContacts(List.of(), new long[0]);
+
+        static StoredContacts of(List<Contact> contacts) {
+            List<Contact> ordered = isOrderedById(contacts)
+                    ? List.copyOf(contacts)
+                    : contacts.stream().sorted(BY_ID).toList();
+
+            long[] ids = new long[ordered.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = ordered.get(i).id();
+            }
+            return new StoredContacts(ordered, ids);
+        }
+
+        /**
+         * Contacts of the 1-based {@code page}, empty past the end of the dataset.
+         */
+        List<Contact> page(long page, long pageSize) {
+            long from = (Math.max(page, 1) - 1) * pageSize;
+            if (from >= contacts.size()) {
+                return List.of();
+            }
+            return contacts.subList((int) from, (int) Math.min(from + pageSize, contacts.size()));
+        }
+
+        /**
+         * Contacts with an id greater than {@code afterId}.
+         */
+        List<Contact> after(long afterId) {
+            return contacts.subList(positionAfter(afterId), contacts.size());
+        }
+
+        /**
+         * Contacts with an id greater than {@code afterId} and lower than {@code beforeId}.
+         */
+        List<Contact> between(long afterId, long beforeId) {
+            int from = positionAfter(afterId);
+            int position = Arrays.binarySearch(ids, beforeId);
+            int to = position >= 0 ? position : -position - 1;
+            return from < to ? contacts.subList(from, to) : List.of();
+        }
+
+        private int positionAfter(long afterId) {
+            int position = Arrays.binarySearch(ids, afterId);
+            return position >= 0 ? position + 1 : -position - 1;
+        }
+
+        private static boolean isOrderedById(List<Contact> contacts) {
+            for (int i = 1; i < contacts.size(); i++) {
+                if (contacts.get(i - 1).id() >= contacts.get(i).id()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final AtomicReference<StoredContacts> current = new AtomicReference<>();
+    private volatile Instant emptyUntil;
+
+    public ContactFallbackSnapshot(MeterRegistry meterRegistry) {
+        Gauge.builder("contacts.fallback.snapshot.size", this, ContactFallbackSnapshot::size)
+                .description("Number of contacts held in memory for database fallbacks")
+                .register(meterRegistry);
+    }
+
+    Optional<StoredContacts> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Replaces the held dataset with a complete live one.
+     */
+    void publish(List<Contact> contacts) {
+        current.set(StoredContacts.of(contacts));
+        emptyUntil = null;
+    }
+
+    /**
+     * Holds a dataset read from MongoDB unless a live one was published meanwhile, which is newer.
+     *
+     * @return the dataset held after the call
+     */
+    StoredContacts publishIfAbsent(List<Contact> contacts) {
+        StoredContacts loaded = StoredContacts.of(contacts);
+        return current.compareAndSet(null, loaded) ? loaded : current.get();
+    }
+
+    void markEmpty(Instant until) {
+        emptyUntil = until;
+    }
+
+    boolean isKnownEmpty(Instant now) {
+        Instant until = emptyUntil;
+        return until != null && now.isBefore(until);
+    }
+
+    /**
+     * Drops the held dataset, so the next fallback reads MongoDB again. Call it if the collection is
+     * changed outside this application.
+     */
+    public void reset() {
+        current.set(null);
+        emptyUntil = null;
+    }
+
+    private double size() {
+        StoredContacts stored = current.get();
+        return stored == null ? Double.NaN : stored.contacts().size();
+    }
+}
@@ -0,0 +1,121 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.LongStream;
+
+/**
+ * Fetches a range of fixed-size pages concurrently and returns them in page order.
+ * <p>
+ * Each page runs on its own virtual thread, while a {@link Semaphore} caps how many requests are
+ * in flight against the external API at the same time ({@code kenect.api.fetch-concurrency}).
+ * Wall-clock time is therefore close to {@code ceil(pages / concurrency)} page latencies instead of
+ * growing with the size of the dataset.
+ * <p>
+ * <strong>⚠️ Rate Limits:</strong>
+ * <blockquote>
+ * Concurrency multiplies the request rate seen by the external API. Keep the limit low enough to
+ * stay under its rate limit, otherwise the retries and the circuit breaker will kick in and the
+ * fan-out ends up slower than a sequential fetch.
+ * </blockquote>
+ */
+@Slf4j
+@Component
+public class ContactPageFetcher {
+
+    private final int concurrency;
+
+    public ContactPageFetcher(@Value("${kenect.api.fetch-concurrency:4}") int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("kenect.api.fetch-concurrency must be greater than zero");
+        }
+        this.concurrency = concurrency;
+    }
+
+    @FunctionalInterface
+    public interface PageLoader {
+        ContactPageResponse load(Long page, Long pageSize);
+    }
+
+    /**
+     * Loads pages {@code fromPage..toPage} (both inclusive) and returns them in page order.
+     * <p>
+     * If any page fails, pages still in flight are cancelled and the failure is rethrown as is.
+     */
+    public List<ContactPageResponse> fetchPages(long fromPage, long toPage, long pageSize, PageLoader loader) {
+        if (toPage < fromPage) {
+            return List.of();
+        }
+        return fetchPages(LongStream.rangeClosed(fromPage, toPage).boxed().toList(), pageSize, loader);
+    }
+
+    /**
+     * Loads the given pages, e.g. the ones missing from a resumed sync, and returns them in the same order.
+     * Failures are handled like in {@link #fetchPages(long, long, long, PageLoader)}.
+     */
+    public List<ContactPageResponse> fetchPages(List<Long> pages, long pageSize, PageLoader loader) {
+        if (pages.size() <= 1 || concurrency == 1) {
+            return pages.stream()
+                    .map(page -> loader.load(page, pageSize))
+                    .toList();
+        }
+
+        log.debug("Fetching {} pages from {} with pageSize {} and concurrency {}", pages.size(), pages.getFirst(), pageSize, concurrency);
+
+        Semaphore permits = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ContactPageResponse>> futures = pages.stream()
+                    .map(page -> executor.submit(() -> loadWithPermit(permits, loader, page, pageSize)))
+                    .toList();
+
+            return collectInOrder(futures);
+        }
+    }
+
+    private ContactPageResponse loadWithPermit(Semaphore permits, PageLoader loader, long page, long pageSize)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            return loader.load(page, pageSize);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private List<ContactPageResponse> collectInOrder(List<Future<ContactPageResponse>> futures) {
+        List<ContactPageResponse> pages = new ArrayList<>(futures.size());
+        try {
+            for (Future<ContactPageResponse> future : futures) {
+                pages.add(future.get());
+            }
+            return pages;
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching contact pages", ex);
+        }
+    }
+
+    private RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Failed to fetch contact page", cause);
+    }
+}
@@ -0,0 +1,90 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.exception.InvalidPageRequestException;
+import com.contacts.agenda.mapper.ContactMapper;
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactEntity;
+import com.contacts.agenda.model.ContactPage;
+import com.contacts.agenda.model.ContactSyncState;
+import com.contacts.agenda.repository.ContactRepository;
+import com.contacts.agenda.repository.ContactSyncStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves stable, keyset-paginated slices of contacts from the synced MongoDB store.
+ * <p>
+ * Unlike {@link ContactService#getAllContacts()}, this never calls the external API: it reads the
+ * dataset persisted by previous syncs, so the cost of a request is bounded by {@code limit}.
+ * <p>
+ * <b>Why keyset instead of offset pagination?</b>
+ * <ul>
+ *   <li><b>Stable:</b> contacts inserted or removed by a sync between two calls don't shift pages,
+ *       so clients never see duplicates or skip entries</li>
+ *   <li><b>Constant cost:</b> {@code _id > :lastId} is an index range scan, while {@code skip(n)} walks
+ *       {@code n} index entries on every call</li>
+ * </ul>
+ * <p>
+ * Pages only hold contacts confirmed by the last completed generation, like the fallback snapshot, so a
+ * page read while a sync is marking or sweeping never shows contacts about to be removed nor contacts
+ * the next generation hasn't confirmed yet. Until a first generation completes every stored contact is
+ * served.
+ *
+ * @see ContactCursor for the cursor token format
+ */
+@Service
+@Slf4j
+public class ContactPageService {
+
+    private final ContactRepository contactRepository;
+    private final ContactSyncStateRepository syncStateRepository;
+    private final int maxLimit;
+
+    public ContactPageService(
+            ContactRepository contactRepository,
+            ContactSyncStateRepository syncStateRepository,
+            @Value("${contacts.pagination.max-limit:500}") int maxLimit
+    ) {
+        this.contactRepository = contactRepository;
+        this.syncStateRepository = syncStateRepository;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Returns up to {@code limit} contacts with an id greater than the one encoded in {@code cursor}.
+     * A {@code null} cursor starts from the beginning of the collection.
+     *
+     * @param limit page size, capped to {@code contacts.pagination.max-limit}
+     * @throws InvalidPageRequestException if the cursor is malformed or the limit is not positive
+     */
+    public ContactPage getPage(String cursor, int limit) {
+        if (limit < 1) {
+            throw new InvalidPageRequestException("limit must be greater than zero");
+        }
+
+        int pageSize = Math.min(limit, maxLimit);
+        long afterId = cursor == null || cursor.isBlank() ? Long.MIN_VALUE : ContactCursor.decode(cursor);
+
+        Optional<Long> generation = syncStateRepository.findById(ContactSyncState.CONTACTS).map(ContactSyncState::generation);
+        log.debug("Fetching {} contacts of generation {} after id {}", pageSize, generation.orElse(null), afterId);
+
+        // Reads one extra element to find out whether a next page exists without a count query
+        List<ContactEntity> entities = generation.isPresent()
+                ? contactRepository.findGenerationAfter(generation.get(), afterId, pageSize + 1)
+                : contactRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        boolean hasNext = entities.size() > pageSize;
+
+        List<Contact> contacts = entities.stream()
+                .limit(pageSize)
+                .map(ContactMapper.INSTANCE::toDomain)
+                .toList();
+
+        String nextCursor = hasNext ? ContactCursor.encode(contacts.getLast().id()) : null;
+        return new ContactPage(contacts, nextCursor);
+    }
+}
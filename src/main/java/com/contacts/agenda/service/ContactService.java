@@ -1,13 +1,18 @@
 package com.contacts.agenda.service;
 
 import com.contacts.agenda.client.ContactPageResponse;
+import com.contacts.agenda.config.singleflight.SingleFlight;
 import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactDataset;
+import com.contacts.agenda.model.ContactDataset.StaleSegment;
+import com.contacts.agenda.model.ContactSnapshot;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * <p>
@@ -15,17 +20,31 @@ import java.util.List;
  * <ul>
  *   <li><b>First Request:</b> Fetches up to 1000 contacts (default-page-size) from the external API</li>
  *   <li><b>If total ≤ 1000:</b> Returns immediately (1 API call - optimized case)</li>
- *   <li><b>If total > 1000:</b> Makes second request for remaining contacts (2 API calls total)</li>
- *   <li><b>Benefit:</b> Avoids network overloading and rate limits while minimizing API calls</li>
+ *   <li><b>If total > 1000:</b> Fetches the remaining pages of the same size concurrently through
+ *       {@link ContactPageFetcher}, bounded by {@code kenect.api.fetch-concurrency}, and merges them in order</li>
+ *   <li><b>Benefit:</b> Wall-clock time stays close to one page latency per concurrency slot, instead of a
+ *       single huge request whose latency grows with the dataset and risks timeouts</li>
  * </ul>
  * <p>
- * <b>Example Scenarios:</b>
+ * <b>Example Scenarios (page size 1000, concurrency 4):</b>
  * <ul>
  *   <li>500 contacts → 1 API call (fetches all 500 immediately)</li>
  *   <li>1000 contacts → 1 API call (fetches all 1000 immediately)</li>
- *   <li>5000 contacts → 2 API calls (1st: 1000 contacts, 2nd: remaining 4000)</li>
+ *   <li>5000 contacts → 5 API calls (1st page, then pages 2-5 in parallel)</li>
  * </ul>
  *
+ * <p>
+ * <b>Refresh-ahead:</b> once {@link ContactSyncService} has published a {@link ContactSnapshot}, requests
+ * are served from it and never wait on the external API. The on-demand fetch below only runs on cold
+ * starts or when the background sync is disabled.
+ * <p>
+ * <b>Fallback:</b> fallback pages hold only the requested page of the stored dataset. When the first page
+ * falls back, the rest of the stored dataset is read straight from the database after its last id, so
+ * the external API isn't called again for the remaining pages. When later pages fall back, the live pages
+ * are kept and only the id ranges between them are filled from the stored dataset, and the returned
+ * {@link ContactDataset} lists those segments as stale. Either way the stored contacts come from the
+ * in-memory copy kept by {@link ContactFallbackService}, which every complete live dataset replaces.
+ *
  * @see ResilientContactClient for resilience features (retry, circuit breaker, cache)
  * @see ContactFallbackService for database persistence and fallback mechanism
  */
@@ -33,46 +52,223 @@ import java.util.List;
 @Slf4j
 public class ContactService {
 
+    private static final String ALL_CONTACTS_KEY = "all-contacts";
+
     private final ResilientContactClient contactClient;
+    private final ContactWriteBehindQueue writeBehindQueue;
     private final ContactFallbackService fallbackService;
+    private final ContactPageFetcher pageFetcher;
+    private final ContactSyncJob syncJob;
+    private final ContactSnapshotHolder snapshotHolder;
+    private final SingleFlight singleFlight;
     private final Long defaultPageSize;
 
     public ContactService(
             ResilientContactClient contactClient,
+            ContactWriteBehindQueue writeBehindQueue,
             ContactFallbackService fallbackService,
+            ContactPageFetcher pageFetcher,
+            ContactSyncJob syncJob,
+            ContactSnapshotHolder snapshotHolder,
+            SingleFlight singleFlight,
             @Value("${kenect.api.default-page-size}") Long defaultPageSize
     ) {
         this.contactClient = contactClient;
+        this.writeBehindQueue = writeBehindQueue;
         this.fallbackService = fallbackService;
+        this.pageFetcher = pageFetcher;
+        this.syncJob = syncJob;
+        this.snapshotHolder = snapshotHolder;
+        this.singleFlight = singleFlight;
         this.defaultPageSize = defaultPageSize;
     }
 
     /**
-     * <b>⚠️Performance Optimization Opportunity⚠️</b>
-     * <br>
-     * Database writes are performed on every successful response, including cache hits from Redis.
-     * This creates unnecessary MongoDB writes since cached data was already persisted from previous
-     * API calls.
-     * <br><br>
-     * Future enhancement should detect cache hits and skip database persistence to
-     * reduce database load and improve performance for frequently accessed data.
+     * The response never waits on MongoDB: pages downloaded from the external API are handed to
+     * {@link ContactWriteBehindQueue} by {@link ResilientContactClient#getContacts(Long, Long)} as they
+     * arrive, and pages served from {@code contactPages} were persisted when they were downloaded. The queue
+     * flushes through {@link ContactFallbackService#saveContacts(List)}, which only writes contacts whose
+     * content changed since they were last persisted.
+     * <p>
+     * Concurrent on-demand fetches are coalesced through {@link SingleFlight}, so when the cached pages
+     * expire only one caller (per cluster in {@code redis} mode) hits the external API and the others
+     * share its result.
      */
     public List<Contact> getAllContacts() {
-        ContactPageResponse firstPage = contactClient.getContacts(1L, defaultPageSize);
+        return getAllContactsDataset().contacts();
+    }
+
+    /**
+     * Same as {@link #getAllContacts()}, along with the segments that were read from the stored dataset
+     * because their pages fell back. Snapshot datasets are always live.
+     */
+    public ContactDataset getAllContactsDataset() {
+        return snapshotHolder.current()
+                .map(snapshot -> ContactDataset.live(snapshot.contacts()))
+                .orElseGet(() -> singleFlight.execute(ALL_CONTACTS_KEY, () -> fetchAllContacts(contactClient::getContacts)));
+    }
+
+    /**
+     * Snapshot published by the latest background sync, if any, for callers that need its metadata
+     * (like its content hash) along with the contacts.
+     */
+    public Optional<ContactSnapshot> currentSnapshot() {
+        return snapshotHolder.current();
+    }
+
+    /**
+     * Fetches the whole dataset bypassing the page cache and persists it. A refresh that fell back is
+     * resumed by the next one from the pages it did fetch, see {@link ContactSyncJob}.
+     * <p>
+     * A drifted dataset may miss contacts, so its contacts are only upserted, it never replaces the
+     * fallback snapshot.
+     *
+     * @return the fresh dataset, or empty when the external API was unavailable and the data would
+     * have come from the database fallback
+     */
+    public Optional<ContactSyncJob.SyncedContacts> refreshAllContacts() {
+        return syncJob.run().map(synced -> synced.drifted()
+                ? new ContactSyncJob.SyncedContacts(upsert(synced.contacts()), true)
+                : new ContactSyncJob.SyncedContacts(live(synced.contacts()).contacts(), false));
+    }
+
+    private ContactDataset fetchAllContacts(ContactPageFetcher.PageLoader pageLoader) {
+        ContactPageResponse firstPage = pageLoader.load(1L, defaultPageSize);
 
         if (isFallback(firstPage)) {
             log.warn("Using database fallback since external api is unavailable");
-            return firstPage.getContacts();
+            return ContactDataset.stored(storedDatasetFrom(firstPage));
         }
 
         Long totalCount = getTotalCount(firstPage);
         if (totalCount <= defaultPageSize) {
             log.debug("Fetched all {} contacts in single request", totalCount);
-            return fallbackService.saveContacts(firstPage.getContacts());
+            return published(firstPage.getContacts());
+        }
+
+        List<ContactPageResponse> remainingPages = fetchRemainingPages(totalCount, pageLoader);
+
+        if (remainingPages.stream().anyMatch(this::isFallback)) {
+            log.warn("Filling failed pages from the database fallback since external api became unavailable while fetching remaining pages");
+            return mergeWithStored(firstPage, remainingPages, totalCount);
+        }
+
+        return published(mergePages(firstPage, remainingPages, totalCount));
+    }
+
+    /**
+     * Keeps a complete live dataset of an on-demand fetch as the fallback snapshot. Its pages were already
+     * persisted as they were downloaded.
+     */
+    private ContactDataset published(List<Contact> contacts) {
+        List<Contact> dataset = List.copyOf(contacts);
+        fallbackService.publishSnapshot(dataset);
+        return ContactDataset.live(dataset);
+    }
+
+    /**
+     * Persists a complete live dataset of the background sync and keeps it as the fallback snapshot. Both
+     * share one immutable copy with the {@link ContactSnapshot} built from it.
+     */
+    private ContactDataset live(List<Contact> contacts) {
+        return published(upsert(contacts));
+    }
+
+    private List<Contact> upsert(List<Contact> contacts) {
+        List<Contact> dataset = List.copyOf(contacts);
+        writeBehindQueue.enqueue(dataset);
+        return dataset;
+    }
+
+    /**
+     * Live pages in order, with every run of consecutive fallen back pages replaced by the stored contacts
+     * between the live pages around it. Upstream ids grow from page to page, so the run is made of the ids
+     * after the last live contact before it, and before the first live contact after it, or up to the end
+     * of the stored dataset for the last pages.
+     * <p>
+     * The live pages were persisted as they were downloaded. The mix is never published as the fallback
+     * snapshot, since its stored segments would be served again as if they were live.
+     */
+    private ContactDataset mergeWithStored(ContactPageResponse firstPage, List<ContactPageResponse> remainingPages, Long totalCount) {
+        List<ContactPageResponse> pages = new ArrayList<>(remainingPages.size() + 1);
+        pages.add(firstPage);
+        pages.addAll(remainingPages);
+
+        List<Contact> contacts = new ArrayList<>(Math.toIntExact(totalCount));
+        List<StaleSegment> staleSegments = new ArrayList<>();
+
+        int page = 0;
+        while (page < pages.size()) {
+            if (!isFallback(pages.get(page))) {
+                contacts.addAll(pages.get(page).getContacts());
+                page++;
+                continue;
+            }
+
+            int end = page;
+            while (end < pages.size() && isFallback(pages.get(end))) {
+                end++;
+            }
+
+            int from = contacts.size();
+            contacts.addAll(storedContactsBetween(lastId(contacts), firstLiveId(pages, end), pages.subList(page, end)));
+            if (contacts.size() > from) {
+                staleSegments.add(new StaleSegment(from, contacts.size()));
+            }
+            log.debug("Filled pages {}..{} with {} stored contacts", page + 1, end, contacts.size() - from);
+            page = end;
+        }
+
+        return new ContactDataset(List.copyOf(contacts), staleSegments);
+    }
+
+    /**
+     * Stored contacts between two live ids, or the stored pages the fallback returned when the live ids
+     * aren't in increasing order and no id range can stand for the failed pages.
+     *
+     * @param beforeId first id of the next live page, {@code null} when the failed pages are the last ones
+     */
+    private List<Contact> storedContactsBetween(long afterId, Long beforeId, List<ContactPageResponse> fallbackPages) {
+        if (beforeId == null) {
+            return fallbackService.getContactsAfter(afterId);
         }
+        if (beforeId > afterId) {
+            return fallbackService.getContactsBetween(afterId, beforeId);
+        }
+
+        log.warn("Upstream ids aren't ordered around the failed pages, using the stored pages as they are");
+        List<Contact> storedPages = new ArrayList<>();
+        fallbackPages.forEach(fallbackPage -> storedPages.addAll(fallbackPage.getContacts()));
+        return storedPages;
+    }
+
+    private long lastId(List<Contact> contacts) {
+        return contacts.isEmpty() ? Long.MIN_VALUE : contacts.getLast().id();
+    }
 
-        final var allContacts = fetchRemainingContacts(firstPage, totalCount);
-        return fallbackService.saveContacts(allContacts);
+    private Long firstLiveId(List<ContactPageResponse> pages, int from) {
+        return pages.subList(from, pages.size()).stream()
+                .filter(page -> !isFallback(page) && !page.getContacts().isEmpty())
+                .findFirst()
+                .map(page -> page.getContacts().getFirst().id())
+                .orElse(null);
+    }
+
+    /**
+     * The stored dataset, starting with the fallback first page. A partial first page already is the
+     * whole dataset, otherwise the rest is read after its last id.
+     */
+    private List<Contact> storedDatasetFrom(ContactPageResponse firstPage) {
+        List<Contact> firstContacts = firstPage.getContacts();
+        if (firstContacts.size() < defaultPageSize) {
+            return firstContacts;
+        }
+
+        List<Contact> rest = fallbackService.getContactsAfter(firstContacts.getLast().id());
+        List<Contact> allContacts = new ArrayList<>(firstContacts.size() + rest.size());
+        allContacts.addAll(firstContacts);
+        allContacts.addAll(rest);
+        return allContacts;
     }
 
     private boolean isFallback(ContactPageResponse response) {
@@ -83,14 +279,17 @@ public class ContactService {
         return Long.parseLong(response.getHeaders().get("total-count"));
     }
 
-    private List<Contact> fetchRemainingContacts(ContactPageResponse firstPage, Long totalCount) {
-        Long remainingContacts = totalCount - defaultPageSize;
-        log.debug("Fetching remaining {} of {} total contacts", remainingContacts, totalCount);
+    private List<ContactPageResponse> fetchRemainingPages(Long totalCount, ContactPageFetcher.PageLoader pageLoader) {
+        long lastPage = Math.ceilDiv(totalCount, defaultPageSize);
+        log.debug("Fetching pages 2..{} of {} total contacts", lastPage, totalCount);
 
-        ContactPageResponse secondPage = contactClient.getContacts(2L, remainingContacts);
+        return pageFetcher.fetchPages(2L, lastPage, defaultPageSize, pageLoader);
+    }
 
-        List<Contact> allContacts = new ArrayList<>(firstPage.getContacts());
-        allContacts.addAll(secondPage.getContacts());
+    private List<Contact> mergePages(ContactPageResponse firstPage, List<ContactPageResponse> remainingPages, Long totalCount) {
+        List<Contact> allContacts = new ArrayList<>(Math.toIntExact(totalCount));
+        allContacts.addAll(firstPage.getContacts());
+        remainingPages.forEach(page -> allContacts.addAll(page.getContacts()));
 
         return allContacts;
     }
@@ -0,0 +1,66 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.model.ContactSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the latest {@link ContactSnapshot} and swaps it atomically.
+ * <p>
+ * Readers always get a complete snapshot, either the previous or the new one, never a mix, and
+ * never block the sync that publishes it.
+ * <p>
+ * <b>Metrics:</b>
+ * <ul>
+ *   <li>{@code contacts.snapshot.age} - seconds since the current snapshot was synced</li>
+ *   <li>{@code contacts.snapshot.size} - number of contacts in the current snapshot</li>
+ * </ul>
+ * Both report {@code NaN} until the first snapshot is published.
+ */
+@Component
+public class ContactSnapshotHolder {
+
+    private final AtomicReference<ContactSnapshot> current = new AtomicReference<>();
+    private final Clock clock;
+
+    @Autowired
+    public ContactSnapshotHolder(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    ContactSnapshotHolder(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+
+        Gauge.builder("contacts.snapshot.age", this, ContactSnapshotHolder::ageInSeconds)
+                .description("Seconds since the served contacts snapshot was synced")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("contacts.snapshot.size", this, ContactSnapshotHolder::size)
+                .description("Number of contacts in the served snapshot")
+                .register(meterRegistry);
+    }
+
+    public Optional<ContactSnapshot> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    public void publish(ContactSnapshot snapshot) {
+        current.set(snapshot);
+    }
+
+    private double ageInSeconds() {
+        ContactSnapshot snapshot = current.get();
+        return snapshot == null ? Double.NaN : snapshot.age(clock.instant()).toMillis() / 1000.0;
+    }
+
+    private double size() {
+        ContactSnapshot snapshot = current.get();
+        return snapshot == null ? Double.NaN : snapshot.contacts().size();
+    }
+}
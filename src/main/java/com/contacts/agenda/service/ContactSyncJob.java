@@ -0,0 +1,301 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import com.contacts.agenda.config.sync.ContactSyncProperties;
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactSyncCheckpoint;
+import com.contacts.agenda.repository.ContactSyncCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Resumable fetch of every page of the external API, run by the background sync through
+ * {@link ContactService#refreshAllContacts()}.
+ * <p>
+ * Pages are fetched through {@link ResilientContactClient#refreshContacts(Long, Long)}, which also writes
+ * each one to the {@code contactPages} cache. When some pages fall back, the numbers of the pages that did
+ * complete are recorded in a {@link ContactSyncCheckpoint}, and the next sync reads those pages from the
+ * cache and only fetches the missing ones, instead of starting over from page 1.
+ * <p>
+ * <b>Drift Detection:</b> every page carries the upstream {@code total-count}. Offset pages only fit
+ * together while it stays the same, so a page reporting another count discards the checkpoint and the sync
+ * starts over from page 1, at most {@code contacts.sync.max-drift-restarts} times. Past that the pages are
+ * merged as they are and the result is flagged as {@link SyncedContacts#drifted() drifted}: contacts that
+ * moved across a page boundary may be missing from it, so it must never be used to find deletions. A pass
+ * where some page fell back never merges anything, drifted or not, it's checkpointed like any other.
+ * <p>
+ * <b>Metrics:</b>
+ * <ul>
+ *   <li>{@code contacts.sync.pages} - pages used by syncs, tagged with {@code source} (upstream, checkpoint)</li>
+ *   <li>{@code contacts.sync.drift} - syncs started over because {@code total-count} changed</li>
+ *   <li>{@code contacts.sync.throughput.pages} - pages per second fetched from the external API by the last sync</li>
+ *   <li>{@code contacts.sync.throughput.contacts} - contacts per second fetched from the external API by the last sync</li>
+ * </ul>
+ * <p>
+ * <strong>⚠️ Freshness:</strong>
+ * <blockquote>
+ * A resumed dataset mixes pages as old as the checkpoint with fresh ones. The checkpoint is only resumed
+ * for {@code contacts.sync.checkpoint-ttl} after the sync that started it, however many resumed passes
+ * failed since, and drift detection rules out pages from a dataset of another size, but contacts edited
+ * upstream in between are only picked up by the next sync.
+ * </blockquote>
+ *
+ * @see ContactSyncProperties
+ */
+@Slf4j
+@Component
+public class ContactSyncJob {
+
+    private static final String TOTAL_COUNT = "total-count";
+
+    private final ResilientContactClient contactClient;
+    private final ContactPageFetcher pageFetcher;
+    private final ContactSyncCheckpointRepository checkpointRepository;
+    private final ContactSyncProperties properties;
+    private final long pageSize;
+
+    private final Counter upstreamPages;
+    private final Counter checkpointPages;
+    private final Counter driftCounter;
+    private volatile double pagesPerSecond;
+    private volatile double contactsPerSecond;
+
+    public ContactSyncJob(
+            ResilientContactClient contactClient,
+            ContactPageFetcher pageFetcher,
+            ContactSyncCheckpointRepository checkpointRepository,
+            ContactSyncProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${kenect.api.default-page-size}") Long pageSize
+    ) {
+        this.contactClient = contactClient;
+        this.pageFetcher = pageFetcher;
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+        this.pageSize = pageSize;
+
+        this.upstreamPages = Counter.builder("contacts.sync.pages")
+                .tag("source", "upstream")
+                .description("Pages fetched from the external API by syncs")
+                .register(meterRegistry);
+        this.checkpointPages = Counter.builder("contacts.sync.pages")
+                .tag("source", "checkpoint")
+                .description("Pages resumed from a checkpoint instead of fetched again")
+                .register(meterRegistry);
+        this.driftCounter = Counter.builder("contacts.sync.drift")
+                .description("Syncs started over because the upstream total count changed between pages")
+                .register(meterRegistry);
+        Gauge.builder("contacts.sync.throughput.pages", this, job -> job.pagesPerSecond)
+                .description("Pages per second fetched from the external API by the last sync")
+                .baseUnit("pages/s")
+                .register(meterRegistry);
+        Gauge.builder("contacts.sync.throughput.contacts", this, job -> job.contactsPerSecond)
+                .description("Contacts per second fetched from the external API by the last sync")
+                .baseUnit("contacts/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Every contact of a sync, in page order.
+     *
+     * @param drifted whether {@code total-count} kept changing and the pages were merged anyway, in which
+     *                case contacts may be missing
+     */
+    public record SyncedContacts(List<Contact> contacts, boolean drifted) {
+    }
+
+    /**
+     * Fetches every page, resuming from the checkpoint of a previous sync when there is a usable one.
+     *
+     * @return every contact in page order, or empty when a page fell back to the database
+     */
+    public Optional<SyncedContacts> run() {
+        Throughput throughput = new Throughput(System.nanoTime());
+        try {
+            Optional<ContactSyncCheckpoint> checkpoint = resumableCheckpoint();
+            for (int restarts = 0; ; restarts++) {
+                Pass pass = fetch(checkpoint, restarts < properties.getMaxDriftRestarts(), throughput);
+                if (!pass.restart()) {
+                    return pass.contacts();
+                }
+                checkpoint = Optional.empty();
+            }
+        } finally {
+            throughput.record();
+        }
+    }
+
+    /**
+     * One pass over the pages that aren't in the checkpoint.
+     *
+     * @param restartOnDrift whether a {@code total-count} change ends the pass to start over
+     */
+    private Pass fetch(Optional<ContactSyncCheckpoint> checkpoint, boolean restartOnDrift, Throughput throughput) {
+        NavigableMap<Long, ContactPageResponse> pages = new ConcurrentSkipListMap<>();
+        Instant startedAt;
+        long totalCount;
+
+        if (checkpoint.isPresent()) {
+            startedAt = checkpoint.get().startedAt();
+            totalCount = checkpoint.get().totalCount();
+            checkpoint.get().completedPages().forEach(page -> contactClient.getCachedContacts(page, pageSize)
+                    .filter(cached -> !drifted(cached, checkpoint.get().totalCount()))
+                    .ifPresent(cached -> pages.put(page, cached)));
+            checkpointPages.increment(pages.size());
+            log.info("Resuming contact sync with {} checkpointed pages of {} contacts", pages.size(), totalCount);
+        } else {
+            startedAt = Instant.now();
+            ContactPageResponse firstPage = contactClient.refreshContacts(1L, pageSize);
+            if (isFallback(firstPage)) {
+                return Pass.FALLBACK;
+            }
+            throughput.add(firstPage);
+            totalCount = Long.parseLong(firstPage.getHeaders().get(TOTAL_COUNT));
+            pages.put(1L, firstPage);
+        }
+
+        long lastPage = Math.max(1, Math.ceilDiv(totalCount, pageSize));
+        List<Long> missing = LongStream.rangeClosed(1, lastPage)
+                .filter(page -> !pages.containsKey(page))
+                .boxed()
+                .toList();
+
+        try {
+            pageFetcher.fetchPages(missing, pageSize, (page, size) -> {
+                ContactPageResponse response = contactClient.refreshContacts(page, size);
+                if (!isFallback(response)) {
+                    throughput.add(response);
+                    pages.put(page, response);
+                }
+                return response;
+            });
+        } catch (RuntimeException ex) {
+            saveCheckpoint(pages, totalCount, startedAt);
+            throw ex;
+        }
+
+        // checked before drift, a merge would silently leave the contacts of the fallen back pages out
+        if (pages.size() < lastPage) {
+            saveCheckpoint(pages, totalCount, startedAt);
+            return Pass.FALLBACK;
+        }
+
+        boolean drifted = pages.values().stream().anyMatch(page -> drifted(page, totalCount));
+        // also drops a checkpoint that couldn't be resumed, so it's never resumed after newer pages
+        deleteCheckpoint();
+        if (drifted) {
+            driftCounter.increment();
+            if (restartOnDrift) {
+                log.warn("Upstream total count changed from {} during the contact sync, starting over from page 1", totalCount);
+                return Pass.RESTART;
+            }
+            log.warn("Upstream total count keeps changing during the contact sync, merging the pages as they are");
+        }
+
+        List<Contact> contacts = new ArrayList<>(Math.toIntExact(totalCount));
+        pages.values().forEach(page -> contacts.addAll(page.getContacts()));
+        return new Pass(Optional.of(new SyncedContacts(contacts, drifted)), false);
+    }
+
+    private Optional<ContactSyncCheckpoint> resumableCheckpoint() {
+        if (properties.getCheckpointTtl().isZero()) {
+            return Optional.empty();
+        }
+
+        try {
+            // startedAt, not updatedAt: every failed resumed pass saves the checkpoint again, but its oldest
+            // page is still from the sync that started it
+            Instant resumableSince = Instant.now().minus(properties.getCheckpointTtl());
+            return checkpointRepository.findById(ContactSyncCheckpoint.CONTACTS)
+                    .filter(checkpoint -> checkpoint.pageSize() == pageSize)
+                    .filter(checkpoint -> checkpoint.startedAt().isAfter(resumableSince));
+        } catch (RuntimeException ex) {
+            log.warn("Could not read the contact sync checkpoint, starting from page 1. Error: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void saveCheckpoint(NavigableMap<Long, ContactPageResponse> pages, long totalCount, Instant startedAt) {
+        if (pages.isEmpty() || properties.getCheckpointTtl().isZero()) {
+            return;
+        }
+
+        try {
+            checkpointRepository.save(new ContactSyncCheckpoint(
+                    ContactSyncCheckpoint.CONTACTS, pageSize, totalCount, List.copyOf(pages.keySet()), startedAt, Instant.now()));
+            log.info("Checkpointed {} of {} pages, the next contact sync resumes from there",
+                    pages.size(), Math.ceilDiv(totalCount, pageSize));
+        } catch (RuntimeException ex) {
+            log.warn("Could not save the contact sync checkpoint, the next sync starts from page 1. Error: {}", ex.getMessage());
+        }
+    }
+
+    private void deleteCheckpoint() {
+        try {
+            checkpointRepository.deleteById(ContactSyncCheckpoint.CONTACTS);
+        } catch (RuntimeException ex) {
+            log.warn("Could not delete the contact sync checkpoint. Error: {}", ex.getMessage());
+        }
+    }
+
+    private static boolean isFallback(ContactPageResponse response) {
+        return "true".equals(response.getHeaders().get("x-fallback"));
+    }
+
+    /**
+     * Whether the page was fetched while the dataset had another size. Pages without the header are trusted.
+     */
+    private static boolean drifted(ContactPageResponse page, long totalCount) {
+        String pageTotalCount = page.getHeaders() == null ? null : page.getHeaders().get(TOTAL_COUNT);
+        return pageTotalCount != null && Long.parseLong(pageTotalCount) != totalCount;
+    }
+
+    /**
+     * @param restart whether {@code total-count} changed and the sync starts over from page 1
+     */
+    private record Pass(Optional<SyncedContacts> contacts, boolean restart) {
+        static final Pass FALLBACK = new Pass(Optional.empty(), false);
+        static final Pass RESTART = new Pass(Optional.empty(), true);
+    }
+
+    /**
+     * Pages and contacts fetched from the external API during one sync, restarts included.
+     */
+    private final class Throughput {
+
+        private final long startedAtNanos;
+        private final AtomicLong pages = new AtomicLong();
+        private final AtomicLong contacts = new AtomicLong();
+
+        private Throughput(long startedAtNanos) {
+            this.startedAtNanos = startedAtNanos;
+        }
+
+        void add(ContactPageResponse page) {
+            pages.incrementAndGet();
+            contacts.addAndGet(page.getContacts().size());
+            upstreamPages.increment();
+        }
+
+        void record() {
+            double seconds = Math.max(System.nanoTime() - startedAtNanos, 1) / 1_000_000_000.0;
+            pagesPerSecond = pages.get() / seconds;
+            contactsPerSecond = contacts.get() / seconds;
+            log.debug("Contact sync fetched {} pages ({} contacts) in {} s: {} pages/s, {} contacts/s",
+                    pages.get(), contacts.get(), seconds, pagesPerSecond, contactsPerSecond);
+        }
+    }
+}
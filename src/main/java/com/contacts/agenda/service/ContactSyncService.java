@@ -0,0 +1,177 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.config.sync.ContactSyncProperties;
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background refresh-ahead sync of the whole contacts dataset.
+ * <p>
+ * Pulls every page from the external API on a fixed interval (plus jitter), persists it through
+ * {@link ContactService#refreshAllContacts()} and publishes an immutable {@link ContactSnapshot}
+ * that request threads serve directly. Upstream latency, retries with backoff and circuit breaker
+ * waits all happen here, off the request path.
+ * <p>
+ * Every complete live dataset also becomes a generation of the stored one: the write-behind queue is
+ * flushed, the stored contacts are marked with the generation and it's recorded as completed through
+ * {@link ContactFallbackService#commitGeneration(List, Instant)}. Contacts that disappeared upstream
+ * are then swept and tombstoned in batches through
+ * {@link ContactFallbackService#sweepGeneration(com.contacts.agenda.model.ContactSyncState)}.
+ * <p>
+ * <b>Failure Handling:</b>
+ * <ul>
+ *   <li>If the external API is unavailable the current snapshot is kept and served, the next
+ *       attempt happens at the regular interval</li>
+ *   <li>A failed sync never replaces a snapshot, so readers can't observe a partial dataset</li>
+ *   <li>A {@link ContactSyncJob.SyncedContacts#drifted() drifted} sync may miss contacts that moved across
+ *       pages: its contacts are upserted, but it neither replaces the snapshot nor completes a generation,
+ *       so nothing is swept because of it</li>
+ *   <li>A failed mark or sweep is only logged, the previous generation stays the completed one and the
+ *       next sync marks and sweeps again</li>
+ * </ul>
+ * <p>
+ * <b>Metrics:</b>
+ * <ul>
+ *   <li>{@code contacts.sync.duration} - timer tagged with {@code outcome} (success, fallback, drift, failure)</li>
+ *   <li>{@code contacts.snapshot.age} - see {@link ContactSnapshotHolder}</li>
+ * </ul>
+ *
+ * @see ContactSyncProperties for interval, jitter and initial delay
+ */
+@Slf4j
+@Service
+public class ContactSyncService {
+
+    private final ContactService contactService;
+    private final ContactFallbackService fallbackService;
+    private final ContactWriteBehindQueue writeBehindQueue;
+    private final ContactSnapshotHolder snapshotHolder;
+    private final ContactSyncProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+
+    public ContactSyncService(
+            ContactService contactService,
+            ContactFallbackService fallbackService,
+            ContactWriteBehindQueue writeBehindQueue,
+            ContactSnapshotHolder snapshotHolder,
+            ContactSyncProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.contactService = contactService;
+        this.fallbackService = fallbackService;
+        this.writeBehindQueue = writeBehindQueue;
+        this.snapshotHolder = snapshotHolder;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("contact-sync").daemon().factory()
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Background contact sync is disabled, contacts will be fetched on demand");
+            return;
+        }
+
+        log.info("Starting background contact sync every {} (+ up to {} jitter)", properties.getInterval(), properties.getJitter());
+        schedule(properties.getInitialDelay());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Runs one sync and publishes a new snapshot when the external API returned live data.
+     *
+     * @return {@code true} if a new snapshot was published
+     */
+    public boolean syncNow() {
+        Instant startedAt = Instant.now();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+
+        try {
+            Optional<ContactSyncJob.SyncedContacts> synced = contactService.refreshAllContacts();
+            if (synced.isEmpty()) {
+                outcome = "fallback";
+                log.warn("Contact sync skipped, external api is unavailable. Keeping current snapshot");
+                return false;
+            }
+            if (synced.get().drifted()) {
+                outcome = "drift";
+                log.warn("Contact sync merged {} contacts while the upstream total count kept changing, contacts may be "
+                        + "missing. Keeping current snapshot and generation", synced.get().contacts().size());
+                return false;
+            }
+
+            List<Contact> contacts = synced.get().contacts();
+            Instant finishedAt = Instant.now();
+            snapshotHolder.publish(new ContactSnapshot(contacts, finishedAt, Duration.between(startedAt, finishedAt)));
+            outcome = "success";
+
+            log.info("Published contacts snapshot with {} contacts in {} ms",
+                    contacts.size(), Duration.between(startedAt, finishedAt).toMillis());
+
+            completeGeneration(contacts);
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("Contact sync failed. Keeping current snapshot", ex);
+            return false;
+        } finally {
+            sample.stop(meterRegistry.timer("contacts.sync.duration", "outcome", outcome));
+        }
+    }
+
+    private void completeGeneration(List<Contact> liveContacts) {
+        try {
+            // Taken before the flush, so whatever the queue writes after it is never swept by this generation
+            Instant startedAt = Instant.now();
+            writeBehindQueue.flush();
+            fallbackService.commitGeneration(liveContacts, startedAt)
+                    .ifPresent(fallbackService::sweepGeneration);
+        } catch (RuntimeException ex) {
+            log.warn("Could not complete the stored generation, retrying on the next sync. Error: {}", ex.getMessage());
+        }
+    }
+
+    private void schedule(Duration delay) {
+        scheduler.schedule(this::runAndReschedule, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void runAndReschedule() {
+        try {
+            syncNow();
+        } finally {
+            if (!scheduler.isShutdown()) {
+                schedule(nextDelay());
+            }
+        }
+    }
+
+    private Duration nextDelay() {
+        long jitterMillis = properties.getJitter().toMillis();
+        long randomJitter = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0;
+        return properties.getInterval().plusMillis(randomJitter);
+    }
+}
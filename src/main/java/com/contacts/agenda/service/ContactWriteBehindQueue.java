@@ -0,0 +1,298 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.config.persistence.WriteBehindProperties;
+import com.contacts.agenda.model.Contact;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind stage between the request path and the fallback database.
+ * <p>
+ * {@link #enqueue(List)} hands contacts over and returns right away, a dedicated worker thread
+ * flushes them through {@link ContactFallbackService#saveContacts(List)} in batches.
+ * <p>
+ * <b>Queue Semantics:</b>
+ * <ul>
+ *   <li><b>Coalescing:</b> pending contacts are keyed by id, a newer write of the same id replaces the
+ *       pending one instead of taking another slot</li>
+ *   <li><b>Batching:</b> the worker waits {@code flush-delay} after the first pending contact and then
+ *       drains everything pending into a single flush</li>
+ *   <li><b>Backpressure:</b> at {@code capacity} producers wait up to {@code offer-timeout} for space,
+ *       the contacts that still don't fit are dropped</li>
+ *   <li><b>Failures:</b> a failed flush puts its contacts back, unless a newer write of the same id
+ *       arrived meanwhile, and the worker retries after {@code retry-backoff}</li>
+ * </ul>
+ * <p>
+ * <b>Metrics:</b>
+ * <ul>
+ *   <li>{@code contacts.writebehind.depth} - contacts waiting for a flush</li>
+ *   <li>{@code contacts.writebehind.flush} - flush latency, tagged with {@code outcome} (success, failure)</li>
+ *   <li>{@code contacts.writebehind.coalesced} - writes merged into an already pending contact</li>
+ *   <li>{@code contacts.writebehind.dropped} - contacts rejected because the queue was full</li>
+ * </ul>
+ * <p>
+ * <strong>⚠️ Durability:</strong>
+ * <blockquote>
+ * Pending contacts live in memory. They are flushed on a graceful shutdown but lost on a crash, and
+ * dropped ones are not retried. Both are recovered by the next sync, since the database is only a
+ * fallback copy of the external API.
+ * </blockquote>
+ *
+ * @see WriteBehindProperties
+ */
+@Slf4j
+@Component
+public class ContactWriteBehindQueue {
+
+    private final ContactFallbackService fallbackService;
+    private final WriteBehindProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private LinkedHashMap<Long, Contact> pending = new LinkedHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter coalescedCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ContactWriteBehindQueue(
+            ContactFallbackService fallbackService,
+            WriteBehindProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        if (properties.getCapacity() < 1) {
+            throw new IllegalArgumentException("contacts.persistence.write-behind.capacity must be greater than zero");
+        }
+        this.fallbackService = fallbackService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("contacts.writebehind.depth", this, ContactWriteBehindQueue::depth)
+                .description("Contacts waiting to be flushed to the fallback database")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("contacts.writebehind.coalesced")
+                .description("Writes merged into an already pending contact")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("contacts.writebehind.dropped")
+                .description("Contacts rejected because the write-behind queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("contact-write-behind")
+                .daemon()
+                .start(this::runWorker);
+    }
+
+    /**
+     * Stops the worker once its current flush is done and flushes whatever is still pending.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        signalNotEmpty();
+        if (worker != null) {
+            worker.join(properties.getRetryBackoff().plus(properties.getFlushDelay()).toMillis() + 5_000);
+        }
+
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Could not flush {} pending contacts on shutdown", depth(), ex);
+        }
+    }
+
+    /**
+     * Queues contacts to be persisted, blocking at most {@code offer-timeout} when the queue is full.
+     */
+    public void enqueue(List<Contact> contacts) {
+        if (contacts == null || contacts.isEmpty()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + properties.getOfferTimeout().toNanos();
+        int coalesced = 0;
+        int dropped = 0;
+
+        lock.lock();
+        try {
+            for (int i = 0; i < contacts.size(); i++) {
+                Contact contact = contacts.get(i);
+                if (pending.containsKey(contact.id())) {
+                    pending.put(contact.id(), contact);
+                    coalesced++;
+                    continue;
+                }
+
+                if (!awaitSpace(deadline)) {
+                    dropped += contacts.size() - i;
+                    break;
+                }
+                pending.put(contact.id(), contact);
+            }
+            notEmpty.signal();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for write-behind queue space");
+        } finally {
+            lock.unlock();
+        }
+
+        coalescedCounter.increment(coalesced);
+        if (dropped > 0) {
+            droppedCounter.increment(dropped);
+            log.warn("Write-behind queue is full, dropped {} contacts", dropped);
+        }
+    }
+
+    /**
+     * Drains every pending contact and persists it in the calling thread.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Contact> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "failure";
+            try {
+                fallbackService.saveContacts(batch);
+                outcome = "success";
+                log.debug("Flushed {} contacts to the fallback database", batch.size());
+            } catch (RuntimeException ex) {
+                requeue(batch);
+                throw ex;
+            } finally {
+                sample.stop(meterRegistry.timer("contacts.writebehind.flush", "outcome", outcome));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int depth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                if (awaitPending()) {
+                    TimeUnit.MILLISECONDS.sleep(properties.getFlushDelay().toMillis());
+                    flush();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Write-behind flush failed, retrying in {}", properties.getRetryBackoff(), ex);
+                sleepQuietly(properties.getRetryBackoff().toMillis());
+            }
+        }
+    }
+
+    private boolean awaitPending() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running && pending.isEmpty()) {
+                notEmpty.await();
+            }
+            return !pending.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean awaitSpace(long deadline) throws InterruptedException {
+        while (pending.size() >= properties.getCapacity()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            notFull.awaitNanos(remaining);
+        }
+        return true;
+    }
+
+    private List<Contact> drain() {
+        lock.lock();
+        try {
+            List<Contact> batch = new ArrayList<>(pending.values());
+            pending = new LinkedHashMap<>();
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void requeue(List<Contact> batch) {
+        int dropped = 0;
+
+        lock.lock();
+        try {
+            for (Contact contact : batch) {
+                if (pending.containsKey(contact.id())) {
+                    continue;
+                }
+                if (pending.size() >= properties.getCapacity()) {
+                    dropped++;
+                    continue;
+                }
+                pending.put(contact.id(), contact);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (dropped > 0) {
+            droppedCounter.increment(dropped);
+        }
+    }
+
+    private void signalNotEmpty() {
+        lock.lock();
+        try {
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
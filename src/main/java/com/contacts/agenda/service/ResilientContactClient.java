@@ -1,18 +1,23 @@
 package com.contacts.agenda.service;
 
 import com.contacts.agenda.client.ContactPageResponse;
-import com.contacts.agenda.client.KenectLabsClient;
+import com.contacts.agenda.client.KenectLabsStreamingClient;
+import com.contacts.agenda.client.KenectLabsStreamingClient.StreamedPage;
 import com.contacts.agenda.model.Contact;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Resilient client for Kenect Labs external API with multiple resilience strategies.
@@ -21,10 +26,14 @@ import java.util.List;
  * <ul>
  *   <li><b>Retry:</b> Up to 3 attempts with exponential backoff (1s, 2s, 4s) + jitter</li>
  *   <li><b>Circuit Breaker:</b> Opens after 50% failures in 10 calls, stays open for 30 seconds</li>
- *   <li><b>Cache:</b> Stores responses in Redis for 5 minutes</li>
- *   <li><b>Fallback:</b> Returns data from MongoDB when API is unavailable</li>
+ *   <li><b>Cache:</b> Stores responses in Redis, fresh for 5 minutes and served stale up to 30 minutes
+ *       while refreshed in the background</li>
+ *   <li><b>Fallback:</b> Returns the same page from MongoDB when API is unavailable</li>
  * </ul>
  * <p>
+ * Pages are read through {@link KenectLabsStreamingClient}, which parses the upstream array contact by
+ * contact instead of binding the whole body in one go.
+ * <p>
  * <b>Data Source Priority:</b>
  * <ol>
  *   <li><b>Redis Cache:</b> If available and not expired (fastest response)</li>
@@ -51,8 +60,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ResilientContactClient {
 
-    private final KenectLabsClient kenectLabsClient;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_PRESIZED_CAPACITY = 10_000;
+
+    private static final String CONTACT_PAGES_CACHE = "contactPages";
+
+    private final KenectLabsStreamingClient streamingClient;
     private final ContactFallbackService fallbackService;
+    private final ContactWriteBehindQueue writeBehindQueue;
+    private final CacheManager cacheManager;
 
     /**
      * Fetches contacts from external API with retry, circuit breaker, and cache.
@@ -75,9 +91,19 @@ public class ResilientContactClient {
      *
      * <p><b>Cache Strategy:</b></p>
      * <ul>
-     *   <li>Stores in Redis for 5 minutes</li>
+     *   <li>Fresh for 5 minutes (soft TTL), then served stale while one background refresh runs</li>
+     *   <li>Removed after 30 minutes (hard TTL), only then a request waits for the external API</li>
      *   <li>Key format: "page-pageSize" (e.g., "1-1000")</li>
+     *   <li>Stale pages are revalidated with {@code If-None-Match} / {@code If-Modified-Since}, a
+     *       {@code 304} reuses the cached contacts</li>
      * </ul>
+     *
+     * <p><b>Persistence:</b></p>
+     * <p>
+     * A downloaded page is handed to {@link ContactWriteBehindQueue} right here, whether a request or the
+     * background refresh of a stale entry (which calls this same method) downloaded it. Pages read from
+     * the cache, on any instance, or revalidated with a {@code 304} hold contacts that were persisted when
+     * they were downloaded, so they are never enqueued again.
      * <p>
      * <strong>⚠️ Configuration:</strong>
      * <blockquote>
@@ -88,12 +114,91 @@ public class ResilientContactClient {
      */
     @Retry(name = "kenectApi")
     @CircuitBreaker(name = "kenectApi", fallbackMethod = "getContactsFallback")
-    @Cacheable(value = "contactPages", key = "#page + '-' + #pageSize")
+    @Cacheable(value = "contactPages", key = "#page + '-' + #pageSize", sync = true)
     public ContactPageResponse getContacts(Long page, Long pageSize) {
         log.debug("Fetching page {} with pageSize {} from external API", page, pageSize);
 
-        ResponseEntity<List<Contact>> response = kenectLabsClient.getContacts(page, pageSize);
-        return ContactPageResponse.from(response.getBody(), response.getHeaders());
+        return fetchPage(page, pageSize, true);
+    }
+
+    /**
+     * Same as {@link #getContacts(Long, Long)} but always calls the external API and overwrites the
+     * cached page, used by the background sync so it never republishes data read from the cache. Pages are
+     * not persisted here, the sync persists the whole dataset once every page is in.
+     *
+     * @see ContactSyncService
+     */
+    @Retry(name = "kenectApi")
+    @CircuitBreaker(name = "kenectApi", fallbackMethod = "getContactsFallback")
+    @CachePut(value = "contactPages", key = "#page + '-' + #pageSize")
+    public ContactPageResponse refreshContacts(Long page, Long pageSize) {
+        log.debug("Refreshing page {} with pageSize {} from external API", page, pageSize);
+
+        return fetchPage(page, pageSize, false);
+    }
+
+    /**
+     * Page currently stored in {@code contactPages}, stale entries included, without calling the external
+     * API or refreshing it.
+     *
+     * @see ContactSyncJob
+     */
+    public Optional<ContactPageResponse> getCachedContacts(Long page, Long pageSize) {
+        return Optional.ofNullable(cachedPage(page, pageSize));
+    }
+
+    /**
+     * Streams the page straight into a list sized for it, so the only copy of the page held in memory is
+     * the one that gets cached.
+     * <p>
+     * When the page is still cached (stale or refreshed by the sync), the request carries its
+     * {@code ETag} / {@code Last-Modified} validators. On {@code 304 Not Modified} the cached page is
+     * returned as is (or with new validators, see {@link ContactPageResponse#revalidate(HttpHeaders)}), so
+     * the cache only touches the entry and its TTL starts over without downloading, serializing or
+     * uploading the page again.
+     *
+     * @param persist whether a downloaded page is handed to {@link ContactWriteBehindQueue}
+     */
+    private ContactPageResponse fetchPage(Long page, Long pageSize, boolean persist) {
+        ContactPageResponse cached = cachedPage(page, pageSize);
+        String eTag = cached == null ? null : cached.header(HttpHeaders.ETAG);
+        String lastModified = cached == null ? null : cached.header(HttpHeaders.LAST_MODIFIED);
+
+        List<Contact> contacts = new ArrayList<>(initialCapacity(pageSize));
+        StreamedPage streamed = streamingClient.streamContacts(page, pageSize, eTag, lastModified, contacts::add);
+
+        if (streamed.notModified() && cached != null) {
+            log.debug("Page {} with pageSize {} not modified upstream, reusing cached contacts", page, pageSize);
+            return cached.revalidate(streamed.headers());
+        }
+        if (persist) {
+            writeBehindQueue.enqueue(contacts);
+        }
+        return ContactPageResponse.from(contacts, streamed.headers());
+    }
+
+    /**
+     * Page currently stored in {@code contactPages}, stale entries included, whose validators are sent
+     * along. Cache read failures only cost the conditional request.
+     */
+    private ContactPageResponse cachedPage(Long page, Long pageSize) {
+        Cache cache = cacheManager.getCache(CONTACT_PAGES_CACHE);
+        if (cache == null) {
+            return null;
+        }
+
+        try {
+            ContactPageResponse cached = cache.get(page + "-" + pageSize, ContactPageResponse.class);
+            return cached == null || cached.getContacts() == null ? null : cached;
+        } catch (RuntimeException ex) {
+            log.warn("Could not read cached page {} with pageSize {}, fetching it unconditionally. Error: {}",
+                    page, pageSize, ex.getMessage());
+            return null;
+        }
+    }
+
+    private static int initialCapacity(Long pageSize) {
+        return pageSize == null ? DEFAULT_CAPACITY : (int) Math.min(pageSize, MAX_PRESIZED_CAPACITY);
     }
 
     /**
@@ -111,6 +216,9 @@ public class ResilientContactClient {
      * came from the fallback mechanism, preventing it from attempting additional API calls
      * that would trigger this fallback again.
      * </blockquote>
+     * <p>
+     * Only the requested page of the stored dataset is returned, taken from the in-memory copy kept by
+     * {@link ContactFallbackService}, so a fallback doesn't query MongoDB.
      *
      * @throws com.contacts.agenda.exception.ServiceUnavailableException if database is also empty
      * @see ContactService#isFallback(ContactPageResponse)
@@ -118,7 +226,9 @@ public class ResilientContactClient {
     private ContactPageResponse getContactsFallback(Long page, Long pageSize, Throwable throwable) {
         log.warn("API call failed, using fallback. Error: {}", throwable.getMessage());
 
-        List<Contact> fallbackContacts = fallbackService.getContactsFromDatabase();
+        List<Contact> fallbackContacts = pageSize == null
+                ? fallbackService.getContactsFromDatabase()
+                : fallbackService.getPageFromDatabase(page == null ? 1 : page, pageSize);
 
         HttpHeaders fallbackHeaders = new HttpHeaders();
         fallbackHeaders.add("x-fallback", "true");
@@ -105,6 +105,61 @@ class ContactPageResponseTest {
         }
     }
 
+    @Nested
+    @DisplayName("Revalidation")
+    class Revalidation {
+
+        @Test
+        @DisplayName("Should look up headers case-insensitively")
+        void shouldLookUpHeadersCaseInsensitively() {
+            HttpHeaders httpHeaders = new HttpHeaders();
+            httpHeaders.add("ETag", "\"v1\"");
+
+            ContactPageResponse response = ContactPageResponse.from(List.of(), httpHeaders);
+
+            assertThat(response.header(HttpHeaders.ETAG)).isEqualTo("\"v1\"");
+            assertThat(response.header(HttpHeaders.LAST_MODIFIED)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should keep contacts and merge 304 headers over the stored ones when the validators changed")
+        void shouldMergeNotModifiedHeaders() {
+            List<Contact> contacts = List.of(createContact(1L, "John Doe", "john@example.com"));
+            HttpHeaders stored = new HttpHeaders();
+            stored.add("total-count", "1");
+            stored.add("ETag", "W/\"v1\"");
+            stored.add("Date", "Mon, 05 Oct 2025 10:00:00 GMT");
+
+            HttpHeaders notModified = new HttpHeaders();
+            notModified.add("ETag", "W/\"v2\"");
+            notModified.add("Date", "Mon, 05 Oct 2025 10:05:00 GMT");
+
+            ContactPageResponse revalidated = ContactPageResponse.from(contacts, stored).revalidate(notModified);
+
+            assertThat(revalidated.getContacts()).isSameAs(contacts);
+            assertThat(revalidated.getHeaders()).contains(
+                    entry("total-count", "1"),
+                    entry("etag", "W/\"v2\""),
+                    entry("date", "Mon, 05 Oct 2025 10:05:00 GMT")
+            );
+        }
+
+        @Test
+        @DisplayName("Should return the same page when the 304 repeats the stored validators")
+        void shouldReturnSamePageWhenValidatorsUnchanged() {
+            HttpHeaders stored = new HttpHeaders();
+            stored.add("ETag", "\"v1\"");
+            stored.add("Last-Modified", "Mon, 05 Oct 2025 10:00:00 GMT");
+            ContactPageResponse page = ContactPageResponse.from(List.of(createContact(1L, "John Doe", "john@example.com")), stored);
+
+            HttpHeaders notModified = new HttpHeaders();
+            notModified.add("ETag", "\"v1\"");
+            notModified.add("Date", "Mon, 05 Oct 2025 10:05:00 GMT");
+
+            assertThat(page.revalidate(notModified)).isSameAs(page);
+        }
+    }
+
     @Nested
     @DisplayName("Serialization")
     class Serialization {
@@ -0,0 +1,224 @@
+package com.contacts.agenda.client;
+
+import com.contacts.agenda.model.Contact;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContactList;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("KenectLabsStreamingClient WireMock Tests")
+class KenectLabsStreamingClientTest {
+
+    private WireMockServer wireMockServer;
+    private KenectLabsStreamingClient streamingClient;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        RestClient restClient = RestClient.builder()
+                .baseUrl(wireMockServer.baseUrl())
+                .build();
+
+        streamingClient = new KenectLabsStreamingClient(restClient, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Nested
+    @DisplayName("Streaming")
+    class Streaming {
+
+        @Test
+        @DisplayName("Should push every contact to the consumer in upstream order")
+        void shouldStreamContactsInOrder() throws Exception {
+            List<Contact> expectedContacts = createContactList(2500, "Streamed Contact",
+                    Instant.now().truncatedTo(ChronoUnit.MILLIS));
+
+            stubFor(get(urlPathEqualTo("/api/v1/contacts"))
+                    .withQueryParam("page", equalTo("2"))
+                    .withQueryParam("pageSize", equalTo("2500"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withHeader("total-count", "5000")
+                            .withBody(objectMapper.writeValueAsString(expectedContacts))));
+
+            List<Contact> received = new ArrayList<>();
+            HttpHeaders headers = streamingClient.streamContacts(2L, 2500L, received::add);
+
+            assertThat(received).isEqualTo(expectedContacts);
+            assertThat(headers.getFirst("total-count")).isEqualTo("5000");
+            verify(getRequestedFor(urlPathEqualTo("/api/v1/contacts"))
+                    .withHeader("Accept", equalTo("application/json")));
+        }
+
+        @Test
+        @DisplayName("Should omit query parameters that are not provided")
+        void shouldOmitMissingParameters() {
+            stubFor(get(urlEqualTo("/api/v1/contacts"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("[]")));
+
+            List<Contact> received = new ArrayList<>();
+            streamingClient.streamContacts(null, null, received::add);
+
+            assertThat(received).isEmpty();
+            verify(getRequestedFor(urlEqualTo("/api/v1/contacts")));
+        }
+
+        @Test
+        @DisplayName("Should treat an empty body as an empty page")
+        void shouldHandleEmptyBody() {
+            stubFor(get(urlEqualTo("/api/v1/contacts"))
+                    .willReturn(aResponse().withStatus(200)));
+
+            List<Contact> received = new ArrayList<>();
+            streamingClient.streamContacts(null, null, received::add);
+
+            assertThat(received).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional Requests")
+    class ConditionalRequests {
+
+        @Test
+        @DisplayName("Should send validators and report 304 without reading a body")
+        void shouldReportNotModified() {
+            stubFor(get(urlPathEqualTo("/api/v1/contacts"))
+                    .withHeader("If-None-Match", equalTo("\"v1\""))
+                    .withHeader("If-Modified-Since", equalTo("Mon, 05 Oct 2025 10:00:00 GMT"))
+                    .willReturn(aResponse()
+                            .withStatus(304)
+                            .withHeader("ETag", "\"v1\"")));
+
+            List<Contact> received = new ArrayList<>();
+            var streamed = streamingClient.streamContacts(1L, 1000L, "\"v1\"", "Mon, 05 Oct 2025 10:00:00 GMT", received::add);
+
+            assertThat(streamed.notModified()).isTrue();
+            assertThat(streamed.headers().getETag()).isEqualTo("\"v1\"");
+            assertThat(received).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should stream the page when it changed")
+        void shouldStreamModifiedPage() throws Exception {
+            List<Contact> expectedContacts = createContactList(3, "Changed Contact",
+                    Instant.now().truncatedTo(ChronoUnit.MILLIS));
+
+            stubFor(get(urlPathEqualTo("/api/v1/contacts"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withHeader("ETag", "\"v2\"")
+                            .withBody(objectMapper.writeValueAsString(expectedContacts))));
+
+            List<Contact> received = new ArrayList<>();
+            var streamed = streamingClient.streamContacts(1L, 1000L, "\"v1\"", null, received::add);
+
+            assertThat(streamed.notModified()).isFalse();
+            assertThat(streamed.headers().getETag()).isEqualTo("\"v2\"");
+            assertThat(received).isEqualTo(expectedContacts);
+            verify(getRequestedFor(urlPathEqualTo("/api/v1/contacts"))
+                    .withHeader("If-None-Match", equalTo("\"v1\""))
+                    .withoutHeader("If-Modified-Since"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Errors")
+    class Errors {
+
+        @Test
+        @DisplayName("Should translate 404 Not Found into HttpClientErrorException")
+        void shouldHandle404Response() {
+            stubFor(get(urlEqualTo("/api/v1/contacts"))
+                    .willReturn(aResponse()
+                            .withStatus(404)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"error\": \"Not Found\"}")));
+
+            var ex = assertThrows(HttpClientErrorException.NotFound.class,
+                    () -> streamingClient.streamContacts(null, null, contact -> {}));
+
+            assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+
+        @Test
+        @DisplayName("Should translate 500 Internal Server Error into HttpServerErrorException")
+        void shouldHandle500Response() {
+            stubFor(get(urlEqualTo("/api/v1/contacts"))
+                    .willReturn(aResponse()
+                            .withStatus(500)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"error\": \"Internal Server Error\"}")));
+
+            var ex = assertThrows(HttpServerErrorException.InternalServerError.class,
+                    () -> streamingClient.streamContacts(null, null, contact -> {}));
+
+            assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        @Test
+        @DisplayName("Should reject a body that is not a JSON array")
+        void shouldRejectNonArrayBody() {
+            stubFor(get(urlEqualTo("/api/v1/contacts"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"error\": \"unexpected\"}")));
+
+            assertThrows(RestClientException.class,
+                    () -> streamingClient.streamContacts(null, null, contact -> {}));
+        }
+
+        @Test
+        @DisplayName("Should fail with a retryable exception when the body is cut off")
+        void shouldFailOnTruncatedBody() {
+            stubFor(get(urlEqualTo("/api/v1/contacts"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("[{\"id\": 1, \"name\": \"Cut\"}, {\"id\": 2, \"na")));
+
+            List<Contact> received = new ArrayList<>();
+            assertThrows(RestClientException.class,
+                    () -> streamingClient.streamContacts(null, null, received::add));
+
+            assertThat(received).hasSize(1);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.contacts.agenda.config.cache;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import com.contacts.agenda.model.Contact;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContact;
+import static com.contacts.agenda.fixture.ContactFixture.createContactList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CompactContactPageSerializer Tests")
+class CompactContactPageSerializerTest {
+
+    private final RedisSerializer<Object> json = CacheConfig.buildJsonSerializer();
+    private final CompactContactPageSerializer serializer = new CompactContactPageSerializer(json, 8192);
+
+    @Nested
+    @DisplayName("Round Trip")
+    class RoundTrip {
+
+        @Test
+        @DisplayName("Should round-trip an enveloped page")
+        void shouldRoundTripEnvelopedPage() {
+            var envelope = new CacheEnvelope(page(createContactList(50, "Contact", now(), 1)), 1_700_000_000_000L);
+
+            var decoded = serializer.deserialize(serializer.serialize(envelope));
+
+            assertThat(decoded).isEqualTo(envelope);
+        }
+
+        @Test
+        @DisplayName("Should round-trip null fields, unordered ids and several sources")
+        void shouldRoundTripSparseContacts() {
+            var contacts = List.of(
+                    new Contact(10L, null, "a@example.com", "KENECT_LABS", now(), null),
+                    new Contact(3L, "B", null, "OTHER", null, now()),
+                    new Contact(null, "C", "c@example.com", null, now(), now().minusSeconds(5))
+            );
+            var page = page(contacts);
+
+            assertThat(serializer.deserialize(serializer.serialize(page))).isEqualTo(page);
+        }
+
+        @Test
+        @DisplayName("Should deflate pages above the threshold and still round-trip them")
+        void shouldDeflateLargePages() {
+            var page = page(createContactList(1000, "Contact", now(), 1));
+
+            byte[] bytes = serializer.serialize(page);
+
+            assertThat(bytes[0] & 0x80).isEqualTo(0x80);
+            assertThat(serializer.deserialize(bytes)).isEqualTo(page);
+        }
+
+        @Test
+        @DisplayName("Should keep the envelope timestamp uncompressed right after the marker")
+        void shouldStampEnvelopeAtFixedOffset() {
+            var envelope = new CacheEnvelope(page(createContactList(1000, "Contact", now(), 1)), 1_700_000_000_000L);
+
+            byte[] bytes = serializer.serialize(envelope);
+
+            assertThat(bytes[0]).isEqualTo((byte) (CompactContactPageSerializer.TYPE_STAMPED_PAGE | 0x80));
+            assertThat(ByteBuffer.wrap(bytes, 1, Long.BYTES).getLong()).isEqualTo(1_700_000_000_000L);
+
+            ByteBuffer.wrap(bytes, 1, Long.BYTES).putLong(1_700_000_300_000L);
+            assertThat(serializer.deserialize(bytes)).isEqualTo(new CacheEnvelope(envelope.getValue(), 1_700_000_300_000L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Compatibility")
+    class Compatibility {
+
+        @Test
+        @DisplayName("Should be much smaller than the typed JSON encoding")
+        void shouldBeSmallerThanJson() {
+            var envelope = new CacheEnvelope(page(createContactList(1000, "Contact", now(), 1)), 1_700_000_000_000L);
+            var uncompressed = new CompactContactPageSerializer(json, 0);
+
+            assertThat(uncompressed.serialize(envelope).length).isLessThan(json.serialize(envelope).length / 2);
+        }
+
+        @Test
+        @DisplayName("Should read entries written by the JSON serializer")
+        void shouldReadJsonEntries() {
+            var envelope = new CacheEnvelope(page(List.of(createContact(1L, "John", "john@example.com"))), 42L);
+
+            assertThat(serializer.deserialize(json.serialize(envelope))).isEqualTo(envelope);
+        }
+
+        @Test
+        @DisplayName("Should read enveloped pages written with a varint timestamp")
+        void shouldReadVarintEnvelopes() {
+            var page = page(List.of(createContact(1L, "John", "john@example.com")));
+            byte[] pageBytes = new CompactContactPageSerializer(json, 0).serialize(page);
+
+            byte[] legacy = new byte[pageBytes.length + 1];
+            legacy[0] = 0x02;
+            legacy[1] = 42;
+            System.arraycopy(pageBytes, 1, legacy, 2, pageBytes.length - 1);
+
+            assertThat(serializer.deserialize(legacy)).isEqualTo(new CacheEnvelope(page, 42L));
+        }
+
+        @Test
+        @DisplayName("Should delegate values other than pages to the JSON serializer")
+        void shouldDelegateOtherValues() {
+            byte[] bytes = serializer.serialize("plain value");
+
+            assertThat(bytes).isEqualTo(json.serialize("plain value"));
+            assertThat(serializer.deserialize(bytes)).isEqualTo("plain value");
+        }
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private static ContactPageResponse page(List<Contact> contacts) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("total-count", String.valueOf(contacts.size()));
+        return ContactPageResponse.from(new ArrayList<>(contacts), headers);
+    }
+}
@@ -0,0 +1,236 @@
+package com.contacts.agenda.config.cache;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.stream.LongStream;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NearCache Tests")
+class NearCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCache remote;
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private NearCacheInvalidator invalidator;
+    private NearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = spy(new ConcurrentMapCache("contactPages"));
+        local = Caffeine.newBuilder()
+                .maximumWeight(5)
+                .weigher(new NearCacheWeigher())
+                .executor(Runnable::run)
+                .build();
+        invalidator = new NearCacheInvalidator(redisTemplate);
+        cache = new NearCache(remote, local, invalidator);
+        invalidator.register("contactPages", cache);
+    }
+
+    @Nested
+    @DisplayName("Reads")
+    class Reads {
+
+        @Test
+        @DisplayName("Should serve repeated reads from L1 without hitting Redis")
+        void shouldServeFromLocal() {
+            remote.put("1-1000", "page");
+
+            cache.get("1-1000");
+            cache.get("1-1000");
+            var value = cache.get("1-1000", () -> "unused");
+
+            assertThat(value).isEqualTo("page");
+            verify(remote, times(1)).get("1-1000");
+        }
+
+        @Test
+        @DisplayName("Should keep loaded values in L1")
+        void shouldKeepLoadedValues() {
+            cache.get("1-1000", () -> "loaded");
+
+            assertThat(local.getIfPresent("1-1000")).isEqualTo("loaded");
+        }
+
+        @Test
+        @DisplayName("Should evict by weight measured in contacts")
+        void shouldEvictByWeight() {
+            cache.put("1-1000", pageOf(3));
+            cache.put("2-1000", pageOf(3));
+            local.cleanUp();
+
+            assertThat(local.estimatedSize()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation")
+    class Invalidation {
+
+        @Test
+        @DisplayName("Should publish invalidation on put, evict and clear")
+        void shouldPublishOnWrites() {
+            cache.put("1-1000", "page");
+            cache.evict("1-1000");
+            cache.clear();
+
+            verify(redisTemplate, times(2)).convertAndSend(eq(NearCacheInvalidator.CHANNEL), endsWith("|contactPages|1-1000"));
+            verify(redisTemplate).convertAndSend(eq(NearCacheInvalidator.CHANNEL), endsWith("|contactPages"));
+        }
+
+        @Test
+        @DisplayName("Should drop L1 entry when another instance refreshes it")
+        void shouldDropLocalEntryOnRemoteInvalidation() {
+            cache.put("1-1000", "old");
+            remote.put("1-1000", "refreshed elsewhere");
+
+            invalidator.onMessage(message("other-instance|contactPages|1-1000"), null);
+
+            assertThat(cache.get("1-1000").get()).isEqualTo("refreshed elsewhere");
+        }
+
+        @Test
+        @DisplayName("Should not keep a value in L1 when it is invalidated while being read from Redis")
+        void shouldDropValueInvalidatedDuringRead() {
+            remote.put("1-1000", "old");
+            doAnswer(invocation -> {
+                Object read = invocation.callRealMethod();
+                invalidator.onMessage(message("other-instance|contactPages|1-1000"), null);
+                return read;
+            }).when(remote).get("1-1000");
+
+            assertThat(cache.get("1-1000").get()).isEqualTo("old");
+            assertThat(local.getIfPresent("1-1000")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should ignore its own invalidation messages")
+        void shouldIgnoreOwnMessages() {
+            cache.put("1-1000", "page");
+
+            var published = ArgumentCaptor.forClass(String.class);
+            verify(redisTemplate).convertAndSend(eq(NearCacheInvalidator.CHANNEL), published.capture());
+            invalidator.onMessage(message(published.getValue()), null);
+
+            assertThat(local.getIfPresent("1-1000")).isEqualTo("page");
+        }
+
+        @Test
+        @DisplayName("Should keep working when publishing fails")
+        void shouldTolerateFailedPublish() {
+            doThrow(new IllegalStateException("redis down")).when(redisTemplate).convertAndSend(anyString(), anyString());
+
+            cache.put("1-1000", "page");
+
+            assertThat(cache.get("1-1000").get()).isEqualTo("page");
+        }
+    }
+
+    @Nested
+    @DisplayName("Touch")
+    class Touch {
+
+        @Test
+        @DisplayName("Should swap the restamped envelope into L1 without publishing an invalidation")
+        void shouldTouchWithoutPublishing() {
+            TouchableCache touchableRemote = mock(TouchableCache.class);
+            var touchable = new NearCache(touchableRemote, local, invalidator);
+            var page = pageOf(1);
+            local.put("1-1000", new CacheEnvelope(page, 1_000L));
+            var restamped = new CacheEnvelope(page, 2_000L);
+            when(touchableRemote.touch("1-1000", restamped)).thenReturn(true);
+
+            assertThat(touchable.touch("1-1000", restamped)).isTrue();
+
+            assertThat(local.getIfPresent("1-1000")).isSameAs(restamped);
+            verify(touchableRemote, never()).put(any(), any());
+            verifyNoInteractions(redisTemplate);
+        }
+
+        @Test
+        @DisplayName("Should leave L1 alone when the Redis entry can't be touched")
+        void shouldNotTouchWhenRemoteCannot() {
+            var stored = new CacheEnvelope(pageOf(1), 1_000L);
+            local.put("1-1000", stored);
+
+            assertThat(cache.touch("1-1000", new CacheEnvelope(stored.getValue(), 2_000L))).isFalse();
+
+            assertThat(local.getIfPresent("1-1000")).isSameAs(stored);
+            verifyNoInteractions(redisTemplate);
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiry")
+    class Expiry {
+
+        private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:30:00Z"), ZoneOffset.UTC);
+        private final NearCacheExpiry expiry = new NearCacheExpiry(Duration.ofMinutes(30), clock);
+
+        @Test
+        @DisplayName("Should expire enveloped values when their Redis copy expires")
+        void shouldExpireWithRedisCopy() {
+            var envelope = new CacheEnvelope("page", clock.millis() - Duration.ofMinutes(20).toMillis());
+
+            assertThat(expiry.expireAfterCreate("1-1000", envelope, 0)).isEqualTo(Duration.ofMinutes(10).toNanos());
+            assertThat(expiry.expireAfterRead("1-1000", envelope, 0, 42)).isEqualTo(42);
+        }
+
+        @Test
+        @DisplayName("Should expire right away an enveloped value older than the TTL")
+        void shouldExpireOutdatedEnvelope() {
+            var envelope = new CacheEnvelope("page", clock.millis() - Duration.ofMinutes(31).toMillis());
+
+            assertThat(expiry.expireAfterCreate("1-1000", envelope, 0)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should give the whole TTL to values without envelope")
+        void shouldGiveWholeTtlToPlainValues() {
+            assertThat(expiry.expireAfterCreate("1-1000", "page", 0)).isEqualTo(Duration.ofMinutes(30).toNanos());
+        }
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(
+                NearCacheInvalidator.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    private static ContactPageResponse pageOf(int contacts) {
+        return ContactPageResponse.from(
+                LongStream.rangeClosed(1, contacts)
+                        .mapToObj(id -> createContact(id, "Contact " + id, "contact" + id + "@example.com"))
+                        .toList(),
+                new HttpHeaders()
+        );
+    }
+}
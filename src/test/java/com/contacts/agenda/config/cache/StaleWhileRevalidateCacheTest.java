@@ -0,0 +1,262 @@
+package com.contacts.agenda.config.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StaleWhileRevalidateCache Tests")
+class StaleWhileRevalidateCacheTest {
+
+    private static final Duration SOFT_TTL = Duration.ofMinutes(5);
+
+    private MutableClock clock;
+    private List<Runnable> pendingRefreshes;
+    private ConcurrentMapCache delegate;
+    private StaleWhileRevalidateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        pendingRefreshes = new ArrayList<>();
+        delegate = new ConcurrentMapCache("contactPages");
+        cache = new StaleWhileRevalidateCache(delegate, SOFT_TTL, pendingRefreshes::add, clock);
+    }
+
+    @Nested
+    @DisplayName("Get With Value Loader")
+    class GetWithValueLoader {
+
+        @Test
+        @DisplayName("Should load and store value on a miss")
+        void shouldLoadOnMiss() {
+            var value = cache.get("1-1000", () -> "loaded");
+
+            assertThat(value).isEqualTo("loaded");
+            assertThat(delegate.get("1-1000").get()).isInstanceOf(CacheEnvelope.class);
+            assertThat(pendingRefreshes).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should serve fresh value without calling the loader")
+        void shouldServeFreshValue() {
+            cache.put("1-1000", "cached");
+            clock.advance(SOFT_TTL.minusSeconds(1));
+
+            var value = cache.get("1-1000", () -> {
+                throw new AssertionError("Loader should not be called");
+            });
+
+            assertThat(value).isEqualTo("cached");
+            assertThat(pendingRefreshes).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should serve stale value immediately and refresh it in the background")
+        void shouldServeStaleAndRefresh() {
+            cache.put("1-1000", "stale");
+            clock.advance(SOFT_TTL);
+
+            var value = cache.get("1-1000", () -> "refreshed");
+
+            assertThat(value).isEqualTo("stale");
+            assertThat(pendingRefreshes).hasSize(1);
+
+            pendingRefreshes.getFirst().run();
+
+            assertThat(cache.get("1-1000", () -> "unused")).isEqualTo("refreshed");
+        }
+
+        @Test
+        @DisplayName("Should schedule a single refresh per key while one is in flight")
+        void shouldScheduleSingleRefreshPerKey() {
+            var loads = new AtomicInteger();
+            cache.put("1-1000", "stale");
+            clock.advance(SOFT_TTL.plusSeconds(1));
+
+            for (int i = 0; i < 10; i++) {
+                cache.get("1-1000", () -> "refreshed-" + loads.incrementAndGet());
+            }
+
+            assertThat(pendingRefreshes).hasSize(1);
+            pendingRefreshes.getFirst().run();
+            assertThat(loads.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should keep serving stale value when the refresh fails")
+        void shouldKeepStaleValueWhenRefreshFails() {
+            cache.put("1-1000", "stale");
+            clock.advance(SOFT_TTL);
+
+            cache.get("1-1000", () -> {
+                throw new IllegalStateException("external api down");
+            });
+            pendingRefreshes.getFirst().run();
+
+            assertThat(cache.get("1-1000").get()).isEqualTo("stale");
+
+            cache.get("1-1000", () -> "retried");
+            assertThat(pendingRefreshes).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Should treat values stored without envelope as stale")
+        void shouldTreatLegacyValuesAsStale() {
+            delegate.put("1-1000", "legacy");
+
+            var value = cache.get("1-1000", () -> "refreshed");
+
+            assertThat(value).isEqualTo("legacy");
+            assertThat(pendingRefreshes).hasSize(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Plain Cache Operations")
+    class PlainCacheOperations {
+
+        @Test
+        @DisplayName("Should unwrap envelope on get and put if absent")
+        void shouldUnwrapEnvelope() {
+            cache.put("1-1000", "cached");
+
+            assertThat(cache.get("1-1000").get()).isEqualTo("cached");
+            assertThat(cache.get("1-1000", String.class)).isEqualTo("cached");
+            assertThat(cache.putIfAbsent("1-1000", "other").get()).isEqualTo("cached");
+            assertThat(cache.get("2-1000")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should delegate eviction")
+        void shouldDelegateEviction() {
+            cache.put("1-1000", "cached");
+
+            cache.evict("1-1000");
+
+            assertThat(delegate.get("1-1000")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Unchanged Values")
+    class UnchangedValues {
+
+        private TouchableMapCache touchableDelegate;
+        private StaleWhileRevalidateCache touchableCache;
+
+        @BeforeEach
+        void setUp() {
+            touchableDelegate = new TouchableMapCache();
+            touchableCache = new StaleWhileRevalidateCache(touchableDelegate, SOFT_TTL, pendingRefreshes::add, clock);
+        }
+
+        @Test
+        @DisplayName("Should touch the entry when a refresh loads the stored value")
+        void shouldTouchUnchangedRefresh() {
+            touchableCache.put("1-1000", "cached");
+            clock.advance(SOFT_TTL);
+
+            touchableCache.get("1-1000", () -> "cached");
+            pendingRefreshes.getFirst().run();
+
+            assertThat(touchableDelegate.puts).hasValue(1);
+            assertThat(touchableDelegate.touches).hasValue(1);
+            assertThat(((CacheEnvelope) touchableDelegate.get("1-1000").get()).getWrittenAtMillis()).isEqualTo(clock.millis());
+            assertThat(touchableCache.get("1-1000", () -> {
+                throw new AssertionError("Loader should not be called");
+            })).isEqualTo("cached");
+        }
+
+        @Test
+        @DisplayName("Should write the entry when a refresh loads a new value")
+        void shouldPutChangedRefresh() {
+            touchableCache.put("1-1000", "cached");
+            clock.advance(SOFT_TTL);
+
+            touchableCache.get("1-1000", () -> "refreshed");
+            pendingRefreshes.getFirst().run();
+
+            assertThat(touchableDelegate.puts).hasValue(2);
+            assertThat(touchableDelegate.touches).hasValue(0);
+            assertThat(touchableCache.get("1-1000").get()).isEqualTo("refreshed");
+        }
+
+        @Test
+        @DisplayName("Should write the entry when it can't be touched")
+        void shouldPutWhenTouchFails() {
+            touchableCache.put("1-1000", "cached");
+            touchableDelegate.touchable = false;
+
+            touchableCache.put("1-1000", "cached");
+
+            assertThat(touchableDelegate.puts).hasValue(2);
+        }
+    }
+
+    private static final class TouchableMapCache extends ConcurrentMapCache implements TouchableCache {
+
+        private final AtomicInteger puts = new AtomicInteger();
+        private final AtomicInteger touches = new AtomicInteger();
+        private boolean touchable = true;
+
+        private TouchableMapCache() {
+            super("contactPages");
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            puts.incrementAndGet();
+            super.put(key, value);
+        }
+
+        @Override
+        public boolean touch(Object key, CacheEnvelope envelope) {
+            if (!touchable || getNativeCache().replace(key, envelope) == null) {
+                return false;
+            }
+            touches.incrementAndGet();
+            return true;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
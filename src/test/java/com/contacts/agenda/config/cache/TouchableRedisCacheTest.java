@@ -0,0 +1,124 @@
+package com.contacts.agenda.config.cache;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.http.HttpHeaders;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Map;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContactList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@DisplayName("TouchableRedisCache Tests")
+class TouchableRedisCacheTest {
+
+    private static final String KEY = "1-1000";
+    private static final String REDIS_KEY = "contactPages::" + KEY;
+
+    @Container
+    static GenericContainer<?> redisContainer = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisContainer.getHost(), redisContainer.getFirstMappedPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.delete(REDIS_KEY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("Should restamp the entry and restart its TTL without rewriting the page")
+    void shouldTouchInPlace() {
+        RedisSerializer<Object> json = CacheConfig.buildJsonSerializer();
+        TouchableRedisCache cache = cache(new CompactContactPageSerializer(json, 1024));
+        var page = page();
+        cache.put(KEY, new CacheEnvelope(page, 1_000L));
+        redisTemplate.expire(REDIS_KEY, Duration.ofMinutes(1));
+        byte[] written = rawValue();
+
+        assertThat(cache.touch(KEY, new CacheEnvelope(page, 1_700_000_000_000L))).isTrue();
+
+        byte[] touched = rawValue();
+        assertThat(touched).hasSameSizeAs(written);
+        int bodyOffset = 1 + CompactContactPageSerializer.STAMP_BYTES;
+        assertThat(Arrays.copyOfRange(touched, bodyOffset, touched.length))
+                .isEqualTo(Arrays.copyOfRange(written, bodyOffset, written.length));
+        assertThat(cache.get(KEY).get()).isEqualTo(new CacheEnvelope(page, 1_700_000_000_000L));
+        assertThat(redisTemplate.getExpire(REDIS_KEY)).isGreaterThan(Duration.ofMinutes(29).toSeconds());
+    }
+
+    @Test
+    @DisplayName("Should not touch entries written by the JSON codec")
+    void shouldNotTouchJsonEntries() {
+        TouchableRedisCache cache = cache(CacheConfig.buildJsonSerializer());
+        cache.put(KEY, new CacheEnvelope(page(), 1_000L));
+
+        assertThat(cache.touch(KEY, new CacheEnvelope(page(), 2_000L))).isFalse();
+        assertThat(((CacheEnvelope) cache.get(KEY).get()).getWrittenAtMillis()).isEqualTo(1_000L);
+    }
+
+    @Test
+    @DisplayName("Should not create missing entries")
+    void shouldNotTouchMissingEntries() {
+        TouchableRedisCache cache = cache(new CompactContactPageSerializer(CacheConfig.buildJsonSerializer(), 1024));
+
+        assertThat(cache.touch(KEY, new CacheEnvelope(page(), 2_000L))).isFalse();
+        assertThat(redisTemplate.hasKey(REDIS_KEY)).isFalse();
+    }
+
+    private TouchableRedisCache cache(RedisSerializer<Object> valueSerializer) {
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(30))
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer));
+        var cacheManager = new TouchableRedisCacheManager(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                configuration, Map.of("contactPages", configuration), redisTemplate);
+        cacheManager.initializeCaches();
+        return (TouchableRedisCache) cacheManager.getCache("contactPages");
+    }
+
+    private byte[] rawValue() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return connection.stringCommands().get(REDIS_KEY.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static ContactPageResponse page() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("total-count", "1000");
+        return ContactPageResponse.from(createContactList(1000, "Contact", Instant.now().truncatedTo(ChronoUnit.MILLIS), 1), headers);
+    }
+}
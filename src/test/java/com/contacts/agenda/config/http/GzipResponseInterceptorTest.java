@@ -0,0 +1,118 @@
+package com.contacts.agenda.config.http;
+
+import com.contacts.agenda.client.KenectLabsStreamingClient;
+import com.contacts.agenda.model.Contact;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpClient;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContactList;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GzipResponseInterceptor Tests")
+class GzipResponseInterceptorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private WireMockServer wireMockServer;
+    private KenectLabsStreamingClient streamingClient;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+
+        RestClient restClient = RestClient.builder()
+                .baseUrl(wireMockServer.baseUrl())
+                .requestFactory(new JdkClientHttpRequestFactory(HttpClient.newHttpClient()))
+                .requestInterceptor(new GzipResponseInterceptor())
+                .build();
+
+        streamingClient = new KenectLabsStreamingClient(restClient, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    @DisplayName("Should request gzip and inflate the body while streaming it")
+    void shouldInflateGzipBody() throws Exception {
+        List<Contact> expectedContacts = createContactList(1000, "Compressed Contact",
+                Instant.now().truncatedTo(ChronoUnit.MILLIS));
+
+        wireMockServer.stubFor(get(urlPathEqualTo("/api/v1/contacts"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Content-Encoding", "gzip")
+                        .withBody(gzip(objectMapper.writeValueAsBytes(expectedContacts)))));
+
+        List<Contact> received = new ArrayList<>();
+        streamingClient.streamContacts(1L, 1000L, received::add);
+
+        assertThat(received).isEqualTo(expectedContacts);
+        wireMockServer.verify(getRequestedFor(urlPathEqualTo("/api/v1/contacts"))
+                .withHeader("Accept-Encoding", equalTo("gzip")));
+    }
+
+    @Test
+    @DisplayName("Should pass uncompressed bodies through untouched")
+    void shouldPassThroughPlainBody() throws Exception {
+        List<Contact> expectedContacts = createContactList(3, "Plain Contact",
+                Instant.now().truncatedTo(ChronoUnit.MILLIS));
+
+        wireMockServer.stubFor(get(urlPathEqualTo("/api/v1/contacts"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(expectedContacts))));
+
+        List<Contact> received = new ArrayList<>();
+        streamingClient.streamContacts(1L, 1000L, received::add);
+
+        assertThat(received).isEqualTo(expectedContacts);
+    }
+
+    @Test
+    @DisplayName("Should treat an empty gzip body as an empty page")
+    void shouldHandleEmptyGzipBody() {
+        wireMockServer.stubFor(get(urlPathEqualTo("/api/v1/contacts"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Encoding", "gzip")));
+
+        List<Contact> received = new ArrayList<>();
+        streamingClient.streamContacts(1L, 1000L, received::add);
+
+        assertThat(received).isEmpty();
+    }
+
+    private static byte[] gzip(byte[] body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
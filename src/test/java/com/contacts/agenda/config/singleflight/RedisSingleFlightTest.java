@@ -0,0 +1,248 @@
+package com.contacts.agenda.config.singleflight;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two {@link RedisSingleFlight} instances, each with its own connection and in-process layer, stand in
+ * for two application instances sharing one Redis.
+ */
+@Testcontainers
+@DisplayName("RedisSingleFlight Tests")
+class RedisSingleFlightTest {
+
+    private static final String KEY = "all-contacts";
+    private static final String LOCK_KEY = "contacts-agenda:single-flight:" + KEY;
+
+    @Container
+    static GenericContainer<?> redisContainer = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private final SingleFlightProperties properties = new SingleFlightProperties();
+
+    private LettuceConnectionFactory firstConnection;
+    private LettuceConnectionFactory secondConnection;
+    private StringRedisTemplate redisTemplate;
+    private RedisSingleFlight firstInstance;
+    private RedisSingleFlight secondInstance;
+
+    @BeforeEach
+    void setUp() {
+        properties.setLockTtl(Duration.ofSeconds(10));
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        properties.setPollInterval(Duration.ofMillis(10));
+
+        firstConnection = connect();
+        secondConnection = connect();
+        redisTemplate = new StringRedisTemplate(firstConnection);
+        redisTemplate.delete(LOCK_KEY);
+
+        firstInstance = new RedisSingleFlight(redisTemplate, new InProcessSingleFlight(), properties);
+        secondInstance = new RedisSingleFlight(new StringRedisTemplate(secondConnection), new InProcessSingleFlight(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstConnection.destroy();
+        secondConnection.destroy();
+    }
+
+    @Nested
+    @DisplayName("Lock Contention")
+    class LockContention {
+
+        @Test
+        @DisplayName("Should make the other instance wait until the lock holder finished loading")
+        void shouldWaitForLockHolder() throws Exception {
+            var events = new CopyOnWriteArrayList<String>();
+            var holding = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<String> first = executor.submit(() -> firstInstance.execute(KEY, () -> {
+                    holding.countDown();
+                    await(release);
+                    events.add("first loaded");
+                    return "first";
+                }));
+                assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+                Future<String> second = executor.submit(() -> secondInstance.execute(KEY, () -> {
+                    events.add("second loaded");
+                    return "second";
+                }));
+                Thread.sleep(200);
+                assertThat(events).isEmpty();
+
+                release.countDown();
+
+                assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+                assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+            }
+            assertThat(events).containsExactly("first loaded", "second loaded");
+        }
+
+        @Test
+        @DisplayName("Should coalesce callers of one instance before competing for the lock")
+        void shouldCoalesceLocalCallersFirst() throws Exception {
+            var loads = new AtomicInteger();
+            var release = new CountDownLatch(1);
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Integer>> results = List.of(
+                        executor.submit(() -> firstInstance.execute(KEY, () -> {
+                            await(release);
+                            return loads.incrementAndGet();
+                        })),
+                        executor.submit(() -> firstInstance.execute(KEY, () -> {
+                            await(release);
+                            return loads.incrementAndGet();
+                        }))
+                );
+                Thread.sleep(100);
+                release.countDown();
+
+                for (Future<Integer> result : results) {
+                    assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+                }
+            }
+            assertThat(loads).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Should load anyway once wait-timeout elapses")
+        void shouldLoadAfterWaitTimeout() {
+            properties.setWaitTimeout(Duration.ofMillis(300));
+            redisTemplate.opsForValue().set(LOCK_KEY, "stuck-instance", Duration.ofSeconds(10));
+
+            long begin = System.nanoTime();
+            String value = secondInstance.execute(KEY, () -> "loaded");
+            long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+
+            assertThat(value).isEqualTo("loaded");
+            assertThat(elapsedMillis).isGreaterThanOrEqualTo(300);
+            assertThat(redisTemplate.opsForValue().get(LOCK_KEY)).isEqualTo("stuck-instance");
+        }
+    }
+
+    @Nested
+    @DisplayName("Lock Release")
+    class LockRelease {
+
+        @Test
+        @DisplayName("Should release the lock after loading")
+        void shouldReleaseAfterLoading() {
+            firstInstance.execute(KEY, () -> {
+                assertThat(redisTemplate.hasKey(LOCK_KEY)).isTrue();
+                return "value";
+            });
+
+            assertThat(redisTemplate.hasKey(LOCK_KEY)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should release the lock when the loader fails")
+        void shouldReleaseAfterFailure() {
+            assertThatThrownBy(() -> firstInstance.execute(KEY, () -> {
+                throw new IllegalStateException("upstream down");
+            })).isInstanceOf(IllegalStateException.class);
+
+            assertThat(redisTemplate.hasKey(LOCK_KEY)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should not release a lock another instance took over after it expired")
+        void shouldOnlyReleaseOwnLock() {
+            firstInstance.execute(KEY, () -> {
+                // the lock expired mid-load and the other instance acquired it
+                redisTemplate.opsForValue().set(LOCK_KEY, "other-instance", Duration.ofSeconds(10));
+                return "value";
+            });
+
+            assertThat(redisTemplate.opsForValue().get(LOCK_KEY)).isEqualTo("other-instance");
+        }
+    }
+
+    @Nested
+    @ExtendWith(MockitoExtension.class)
+    @DisplayName("Redis Unavailable")
+    class RedisUnavailable {
+
+        @Mock
+        private StringRedisTemplate unavailableRedis;
+
+        @Mock
+        private ValueOperations<String, String> valueOperations;
+
+        @Test
+        @DisplayName("Should load without the lock when it can't be acquired")
+        void shouldLoadWhenLockCannotBeAcquired() {
+            when(unavailableRedis.opsForValue()).thenThrow(new RedisConnectionFailureException("redis down"));
+            var singleFlight = new RedisSingleFlight(unavailableRedis, new InProcessSingleFlight(), properties);
+
+            assertThat(singleFlight.execute(KEY, () -> "loaded")).isEqualTo("loaded");
+        }
+
+        @Test
+        @DisplayName("Should load without waiting when the lock can't be checked")
+        void shouldLoadWhenLockCannotBeChecked() {
+            when(unavailableRedis.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+            when(unavailableRedis.hasKey(LOCK_KEY)).thenThrow(new RedisConnectionFailureException("redis down"));
+            var singleFlight = new RedisSingleFlight(unavailableRedis, new InProcessSingleFlight(), properties);
+
+            long begin = System.nanoTime();
+            String value = singleFlight.execute(KEY, () -> "loaded");
+
+            assertThat(value).isEqualTo("loaded");
+            assertThat(Duration.ofNanos(System.nanoTime() - begin)).isLessThan(properties.getWaitTimeout());
+        }
+    }
+
+    private static LettuceConnectionFactory connect() {
+        var connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisContainer.getHost(), redisContainer.getFirstMappedPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        return connectionFactory;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.contacts.agenda.controller;
+
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactSnapshot;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContactList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ContactBodyCache Tests")
+class ContactBodyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ContactBodyCache bodyCache = new ContactBodyCache(new ContactStreamWriter(objectMapper), true, 4);
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @Nested
+    @DisplayName("Rendering")
+    class Rendering {
+
+        @Test
+        @DisplayName("Should render every coding to the same JSON array")
+        void shouldRenderEveryCodingToSameJson() throws Exception {
+            List<Contact> contacts = createContactList(1200, "Rendered Contact", now);
+            ContactSnapshot snapshot = snapshot(contacts);
+
+            for (ContentEncoding encoding : ContentEncoding.values()) {
+                byte[] body = bodyCache.body(snapshot, MediaType.APPLICATION_JSON, encoding);
+
+                List<Contact> parsed = objectMapper.readValue(decode(body, encoding), new TypeReference<>() {});
+                assertThat(parsed).as(encoding.token()).isEqualTo(contacts);
+            }
+        }
+
+        @Test
+        @DisplayName("Should render once per representation while the data doesn't change")
+        void shouldReuseRenderedBodies() {
+            List<Contact> contacts = createContactList(10, "Rendered Contact", now);
+
+            byte[] first = bodyCache.body(snapshot(contacts), MediaType.APPLICATION_JSON, ContentEncoding.GZIP);
+            byte[] sameData = bodyCache.body(snapshot(contacts), MediaType.APPLICATION_JSON, ContentEncoding.GZIP);
+            byte[] otherFormat = bodyCache.body(snapshot(contacts), MediaType.APPLICATION_NDJSON, ContentEncoding.GZIP);
+
+            assertThat(sameData).isSameAs(first);
+            assertThat(otherFormat).isNotSameAs(first);
+        }
+
+        @Test
+        @DisplayName("Should render again once the data changes")
+        void shouldRenderAgainWhenDataChanges() {
+            byte[] before = bodyCache.body(snapshot(createContactList(10, "Before", now)),
+                    MediaType.APPLICATION_JSON, ContentEncoding.IDENTITY);
+            byte[] after = bodyCache.body(snapshot(createContactList(10, "After", now)),
+                    MediaType.APPLICATION_JSON, ContentEncoding.IDENTITY);
+
+            assertThat(new String(after)).contains("After").doesNotContain("Before");
+            assertThat(after).isNotSameAs(before);
+        }
+
+        @Test
+        @DisplayName("Should keep projections in use as separate representations")
+        void shouldKeepProjections() {
+            ContactSnapshot snapshot = snapshot(createContactList(10, "Projected Contact", now));
+
+            byte[] first = bodyCache.body(snapshot, MediaType.APPLICATION_JSON, ContentEncoding.IDENTITY, ContactProjection.parse("id"));
+            byte[] second = bodyCache.body(snapshot, MediaType.APPLICATION_JSON, ContentEncoding.IDENTITY, ContactProjection.parse("id"));
+
+            assertThat(new String(first)).startsWith("[{\"id\":1}");
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("Should keep full representations however many projections are requested")
+        void shouldKeepFullRepresentationsBesideProjections() {
+            ContactSnapshot snapshot = snapshot(createContactList(10, "Projected Contact", now));
+            byte[] full = bodyCache.body(snapshot, MediaType.APPLICATION_JSON, ContentEncoding.GZIP);
+
+            for (String fields : List.of("id", "id,name", "name", "email", "source", "createdAt", "updatedAt")) {
+                bodyCache.body(snapshot, MediaType.APPLICATION_JSON, ContentEncoding.IDENTITY, ContactProjection.parse(fields));
+            }
+
+            assertThat(bodyCache.body(snapshot, MediaType.APPLICATION_JSON, ContentEncoding.GZIP)).isSameAs(full);
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent Requests")
+    class ConcurrentRequests {
+
+        @Test
+        @DisplayName("Should render once for concurrent requests without holding up other representations")
+        void shouldRenderOnceOutsideLock() throws Exception {
+            var renderings = new AtomicInteger();
+            var rendering = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            ContactStreamWriter slowWriter = new ContactStreamWriter(objectMapper) {
+                @Override
+                void write(Iterable<Contact> contacts, ContactProjection projection, MediaType format, OutputStream out) throws IOException {
+                    if (MediaType.APPLICATION_JSON.equals(format)) {
+                        renderings.incrementAndGet();
+                        rendering.countDown();
+                        await(release);
+                    }
+                    super.write(contacts, projection, format, out);
+                }
+            };
+            var slowCache = new ContactBodyCache(slowWriter, true, 4);
+            ContactSnapshot snapshot = snapshot(createContactList(10, "Concurrent Contact", now));
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<byte[]> first = executor.submit(() -> slowCache.body(snapshot, MediaType.APPLICATION_JSON, ContentEncoding.IDENTITY));
+                assertThat(rendering.await(5, TimeUnit.SECONDS)).isTrue();
+                Future<byte[]> second = executor.submit(() -> slowCache.body(snapshot, MediaType.APPLICATION_JSON, ContentEncoding.IDENTITY));
+
+                byte[] other = slowCache.body(snapshot, MediaType.APPLICATION_NDJSON, ContentEncoding.IDENTITY);
+                assertThat(first).isNotDone();
+
+                release.countDown();
+                assertThat(other).isNotEmpty();
+                assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+            }
+            assertThat(renderings).hasValue(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Accept-Encoding negotiation")
+    class Negotiation {
+
+        @ParameterizedTest(name = "\"{0}\" -> {1}")
+        @CsvSource(delimiter = '|', value = {
+                "gzip, deflate, br     | GZIP",
+                "deflate               | DEFLATE",
+                "gzip;q=0, deflate     | DEFLATE",
+                "br                    | IDENTITY",
+                "*                     | GZIP",
+                "gzip;q=0, *           | DEFLATE",
+                "identity              | IDENTITY",
+                "GZIP;q=0.5            | GZIP"
+        })
+        void shouldNegotiate(String acceptEncoding, ContentEncoding expected) {
+            assertThat(ContentEncoding.negotiate(acceptEncoding)).isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("Should default to identity without Accept-Encoding")
+        void shouldDefaultToIdentity() {
+            assertThat(ContentEncoding.negotiate(null)).isEqualTo(ContentEncoding.IDENTITY);
+            assertThat(ContentEncoding.negotiate(" ")).isEqualTo(ContentEncoding.IDENTITY);
+        }
+    }
+
+    private ContactSnapshot snapshot(List<Contact> contacts) {
+        return new ContactSnapshot(contacts, now, Duration.ofMillis(10));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] decode(byte[] body, ContentEncoding encoding) throws Exception {
+        InputStream in = switch (encoding) {
+            case GZIP -> new GZIPInputStream(new ByteArrayInputStream(body));
+            case DEFLATE -> new InflaterInputStream(new ByteArrayInputStream(body));
+            case IDENTITY -> new ByteArrayInputStream(body);
+        };
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.contacts.agenda.controller;
+
+import com.contacts.agenda.model.ContactSnapshot;
+import com.contacts.agenda.service.ContactChangeService;
+import com.contacts.agenda.service.ContactPageService;
+import com.contacts.agenda.service.ContactService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.management.OperatingSystemMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContactList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * CPU per {@code GET /contacts} request with gzip, served from a snapshot: serialized and compressed on
+ * every request (what a servlet container with {@code server.compression} does) vs copied from
+ * {@link ContactBodyCache}.
+ * <p>
+ * {@value #CLIENTS} concurrent clients send {@value #REQUESTS} requests, and the process CPU time
+ * consumed is divided by the number of requests.
+ * <p>
+ * Excluded from {@code ./gradlew test}, run it with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Contact Body Load Benchmark")
+class ContactBodyLoadBenchmarkTest {
+
+    private static final int CLIENTS = 8;
+    private static final int REQUESTS = 400;
+    private static final int WARMUP_REQUESTS = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final OperatingSystemMXBean os = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
+
+    @ParameterizedTest(name = "{0} contacts")
+    @ValueSource(ints = {1_000, 10_000, 50_000})
+    @DisplayName("Per-request rendering vs pre-rendered bodies")
+    void comparePerRequestAndPreRendered(int totalContacts) throws Exception {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ContactSnapshot snapshot = new ContactSnapshot(createContactList(totalContacts, "Load Contact", now), now, Duration.ZERO);
+
+        MockMvc perRequest = mockMvc(snapshot, false);
+        MockMvc preRendered = mockMvc(snapshot, true);
+
+        run(perRequest, true, WARMUP_REQUESTS);
+        run(preRendered, false, WARMUP_REQUESTS);
+
+        double perRequestMicros = cpuMicrosPerRequest(perRequest, true);
+        double preRenderedMicros = cpuMicrosPerRequest(preRendered, false);
+
+        System.out.printf("%,7d contacts | per-request serialize+gzip %,10.0f µs CPU/req | pre-rendered %,8.0f µs CPU/req | %.1fx%n",
+                totalContacts, perRequestMicros, preRenderedMicros, perRequestMicros / preRenderedMicros);
+
+        assertThat(preRenderedMicros).isLessThan(perRequestMicros);
+    }
+
+    private MockMvc mockMvc(ContactSnapshot snapshot, boolean preRendered) {
+        ContactService contactService = mock(ContactService.class);
+        when(contactService.currentSnapshot()).thenReturn(Optional.of(snapshot));
+
+        ContactStreamWriter writer = new ContactStreamWriter(objectMapper);
+        ContactController controller = new ContactController(contactService, mock(ContactPageService.class),
+                mock(ContactChangeService.class), mock(ContactChangeStream.class),
+                writer, new ContactBodyCache(writer, preRendered, 32));
+
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private double cpuMicrosPerRequest(MockMvc mockMvc, boolean compressResponse) throws Exception {
+        long cpuBefore = os.getProcessCpuTime();
+        run(mockMvc, compressResponse, REQUESTS);
+        long cpuNanos = os.getProcessCpuTime() - cpuBefore;
+
+        return cpuNanos / 1_000.0 / REQUESTS;
+    }
+
+    /**
+     * @param compressResponse gzip the body after the controller, like the servlet container would when
+     *                         the controller writes it uncompressed
+     */
+    private void run(MockMvc mockMvc, boolean compressResponse, int requests) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(CLIENTS)) {
+            List<Future<Integer>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(() -> {
+                    byte[] body = mockMvc.perform(get("/contacts").header("Accept-Encoding", "gzip"))
+                            .andReturn()
+                            .getResponse()
+                            .getContentAsByteArray();
+                    return compressResponse ? gzip(body).length : body.length;
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                assertThat(future.get()).isPositive();
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,152 @@
+package com.contacts.agenda.controller;
+
+import com.contacts.agenda.config.push.ContactPushProperties;
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactChangeBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("ContactChangeStream Tests")
+class ContactChangeStreamTest {
+
+    private static final int BUFFER_SIZE = 4;
+    private static final int BATCH_SIZE = 2;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContactChangeStream stream;
+
+    @BeforeEach
+    void setUp() {
+        ContactPushProperties properties = new ContactPushProperties();
+        properties.setBufferSize(BUFFER_SIZE);
+        properties.setBatchSize(BATCH_SIZE);
+        properties.setHeartbeat(Duration.ofHours(1));
+
+        meterRegistry = new SimpleMeterRegistry();
+        stream = new ContactChangeStream(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.stop();
+    }
+
+    @Nested
+    @DisplayName("Delivery")
+    class Delivery {
+
+        @Test
+        @DisplayName("Should push batches to every subscriber with the change token as event id")
+        void shouldPushToEverySubscriber() {
+            var first = stream.subscribe().take(1).collectList().toFuture();
+            var second = stream.subscribe().take(1).collectList().toFuture();
+
+            stream.onChange(batch(1));
+
+            for (var events : List.of(first.join(), second.join())) {
+                assertThat(events).singleElement().satisfies(event -> {
+                    assertThat(event.id()).isEqualTo("token");
+                    assertThat(event.event()).isEqualTo(ContactChangeStream.EVENT_NAME);
+                    assertThat(event.data().upserted()).extracting(Contact::id).containsExactly(1L);
+                });
+            }
+        }
+
+        @Test
+        @DisplayName("Should split large batches into events of batch-size contacts")
+        void shouldSplitLargeBatches() {
+            var events = stream.subscribe().take(3).collectList().toFuture();
+
+            stream.onChange(new ContactChangeBatch(contacts(3), List.of(9L), "token"));
+
+            assertThat(events.join())
+                    .extracting(ServerSentEvent::data)
+                    .extracting(batch -> batch.upserted().size() + batch.deleted().size())
+                    .containsExactly(2, 1, 1);
+        }
+
+        @Test
+        @DisplayName("Should not evict a subscriber that keeps up when a write exceeds buffer-size events")
+        void shouldNotEvictForLargeWrite() {
+            int contacts = BUFFER_SIZE * BATCH_SIZE + 1;
+            var events = stream.subscribe().take(BUFFER_SIZE + 1).collectList().toFuture();
+
+            stream.onChange(new ContactChangeBatch(contacts(contacts), List.of(), "token"));
+
+            assertThat(events.join())
+                    .extracting(event -> event.data().upserted().size())
+                    .containsExactly(2, 2, 2, 2, 1);
+            assertThat(meterRegistry.get("contacts.push.evicted").counter().count()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should drop the subscriber once the client disconnects")
+        void shouldRemoveCancelledSubscribers() {
+            Disposable subscription = stream.subscribe().subscribe();
+            assertThat(stream.subscriberCount()).isEqualTo(1);
+
+            subscription.dispose();
+
+            await().atMost(Duration.ofSeconds(2)).until(() -> stream.subscriberCount() == 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Slow Consumers")
+    class SlowConsumers {
+
+        @Test
+        @DisplayName("Should evict a subscriber whose buffer is full without affecting the others")
+        void shouldEvictSlowSubscriber() {
+            stream.subscribe().subscribe(new StalledSubscriber());
+            var received = new CopyOnWriteArrayList<ServerSentEvent<ContactChangeBatch>>();
+            stream.subscribe().subscribe(received::add);
+
+            // a few writes are held by the operators between the buffer and the socket
+            for (int i = 1; i <= BUFFER_SIZE + 10; i++) {
+                stream.onChange(batch(i));
+                int expected = i;
+                await().atMost(Duration.ofSeconds(2)).until(() -> received.size() == expected);
+            }
+
+            assertThat(stream.subscriberCount()).isEqualTo(1);
+            assertThat(meterRegistry.get("contacts.push.evicted").counter().count()).isEqualTo(1);
+        }
+    }
+
+    /**
+     * Subscriber that never requests anything, like a client that stopped reading from its socket.
+     */
+    private static final class StalledSubscriber extends BaseSubscriber<ServerSentEvent<ContactChangeBatch>> {
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+        }
+    }
+
+    private static ContactChangeBatch batch(long id) {
+        return new ContactChangeBatch(List.of(createContact(id, "Contact " + id, "contact" + id + "@example.com")), List.of(), "token");
+    }
+
+    private static List<Contact> contacts(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> createContact(id, "Contact " + id, "contact" + id + "@example.com"))
+                .toList();
+    }
+}
@@ -3,6 +3,10 @@ package com.contacts.agenda.controller;
 import com.contacts.agenda.model.Contact;
 import com.contacts.agenda.model.ContactEntity;
 import com.contacts.agenda.repository.ContactRepository;
+import com.contacts.agenda.repository.ContactSyncStateRepository;
+import com.contacts.agenda.service.ContactChangeTracker;
+import com.contacts.agenda.service.ContactFallbackSnapshot;
+import com.contacts.agenda.service.ContactWriteBehindQueue;
 import com.contacts.agenda.fixture.ContactFixture.*;
 import com.contacts.agenda.fixture.ContactEntityFixture;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -30,6 +34,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
@@ -41,6 +46,7 @@ import static com.contacts.agenda.fixture.ContactFixture.createContactList;
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 @Testcontainers
 @ActiveProfiles("test")
@@ -83,9 +89,25 @@ class ContactControllerIntegrationTest {
     @Autowired
     private CircuitBreakerRegistry circuitBreakerRegistry;
 
+    @Autowired
+    private ContactChangeTracker changeTracker;
+
+    @Autowired
+    private ContactWriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private ContactFallbackSnapshot fallbackSnapshot;
+
+    @Autowired
+    private ContactSyncStateRepository syncStateRepository;
+
     @BeforeEach
     void setUp() {
+        writeBehindQueue.flush();
         contactRepository.deleteAll();
+        syncStateRepository.deleteAll();
+        changeTracker.reset();
+        fallbackSnapshot.reset();
 
         wireMock.resetAll();
         wireMock.resetRequests();
@@ -158,7 +180,7 @@ class ContactControllerIntegrationTest {
 
             wireMock.stubFor(get(urlPathEqualTo("/api/v1/contacts"))
                     .withQueryParam("page", equalTo("2"))
-                    .withQueryParam("pageSize", equalTo("500"))
+                    .withQueryParam("pageSize", equalTo("1000"))
                     .willReturn(aResponse()
                             .withStatus(200)
                             .withHeader("Content-Type", "application/json")
@@ -176,8 +198,8 @@ class ContactControllerIntegrationTest {
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).hasSize(1500);
 
-            List<ContactEntity> savedContacts = contactRepository.findAll();
-            assertThat(savedContacts).hasSize(1500);
+            await().atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> assertThat(contactRepository.findAll()).hasSize(1500));
         }
     }
 
@@ -319,11 +341,13 @@ class ContactControllerIntegrationTest {
             assertThat(response.getBody().getFirst().name()).isEqualTo("Fresh Contact");
             assertThat(response.getBody().get(1).name()).isEqualTo("New Contact");
 
-            List<ContactEntity> updatedContacts = contactRepository.findAll();
-            assertThat(updatedContacts).hasSize(2);
-            assertThat(updatedContacts.stream().noneMatch(c -> c.name().equals("Stale Contact"))).isTrue();
-            assertThat(updatedContacts.stream().anyMatch(c -> c.name().equals("Fresh Contact"))).isTrue();
-            assertThat(updatedContacts.stream().anyMatch(c -> c.name().equals("New Contact"))).isTrue();
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+                List<ContactEntity> updatedContacts = contactRepository.findAll();
+                assertThat(updatedContacts).hasSize(2);
+                assertThat(updatedContacts.stream().noneMatch(c -> c.name().equals("Stale Contact"))).isTrue();
+                assertThat(updatedContacts.stream().anyMatch(c -> c.name().equals("Fresh Contact"))).isTrue();
+                assertThat(updatedContacts.stream().anyMatch(c -> c.name().equals("New Contact"))).isTrue();
+            });
         }
     }
 }
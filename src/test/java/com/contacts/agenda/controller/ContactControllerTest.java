@@ -1,31 +1,64 @@
 package com.contacts.agenda.controller;
 
+import com.contacts.agenda.exception.ChangeTokenExpiredException;
+import com.contacts.agenda.exception.InvalidPageRequestException;
 import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactChangeBatch;
+import com.contacts.agenda.model.ContactChanges;
+import com.contacts.agenda.model.ContactDataset;
+import com.contacts.agenda.model.ContactPage;
+import com.contacts.agenda.model.ContactSnapshot;
+import com.contacts.agenda.service.ContactChangeService;
+import com.contacts.agenda.service.ContactPageService;
 import com.contacts.agenda.service.ContactService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 import static com.contacts.agenda.fixture.ContactFixture.aContact;
 import static com.contacts.agenda.fixture.ContactFixture.createContact;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ContactController.class)
+@Import({ContactStreamWriter.class, ContactBodyCache.class})
 @DisplayName("Contact Controller Integration Tests")
 class ContactControllerTest {
 
@@ -35,6 +68,15 @@ class ContactControllerTest {
     @MockitoBean
     private ContactService contactService;
 
+    @MockitoBean
+    private ContactPageService contactPageService;
+
+    @MockitoBean
+    private ContactChangeService contactChangeService;
+
+    @MockitoBean
+    private ContactChangeStream contactChangeStream;
+
     @Nested
     @DisplayName("GET /contacts")
     class GetAllContacts {
@@ -49,7 +91,7 @@ class ContactControllerTest {
                     createContact(3L, "Bob Johnson", "bob.johnson@example.com", "KENECT_LABS", now, now)
             );
 
-            when(contactService.getAllContacts()).thenReturn(expectedContacts);
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(expectedContacts));
 
             mockMvc.perform(get("/contacts")
                             .contentType(MediaType.APPLICATION_JSON))
@@ -72,7 +114,7 @@ class ContactControllerTest {
         @Test
         @DisplayName("Should return empty array when service returns no contacts")
         void shouldReturnEmptyArrayWhenServiceReturnsNoContacts() throws Exception {
-            when(contactService.getAllContacts()).thenReturn(Collections.emptyList());
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(Collections.emptyList()));
 
             mockMvc.perform(get("/contacts")
                             .contentType(MediaType.APPLICATION_JSON))
@@ -83,6 +125,39 @@ class ContactControllerTest {
                     .andExpect(jsonPath("$", is(empty())));
         }
 
+        @Test
+        @DisplayName("Should list the segments read from the database fallback")
+        void shouldListStaleSegments() throws Exception {
+            var contacts = List.of(
+                    createContact(1L, "John Doe", "john.doe@example.com"),
+                    createContact(2L, "Stored 2", "stored2@example.com"),
+                    createContact(3L, "Stored 3", "stored3@example.com"),
+                    createContact(4L, "Jane Smith", "jane.smith@example.com"),
+                    createContact(5L, "Stored 5", "stored5@example.com")
+            );
+            when(contactService.getAllContactsDataset()).thenReturn(new ContactDataset(contacts, List.of(
+                    new ContactDataset.StaleSegment(1, 3),
+                    new ContactDataset.StaleSegment(4, 5)
+            )));
+
+            mockMvc.perform(get("/contacts"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Stale-Segments", "1-2,4-4"))
+                    .andExpect(jsonPath("$", hasSize(5)));
+        }
+
+        @Test
+        @DisplayName("Should not send stale segments for a live dataset")
+        void shouldNotSendStaleSegmentsForLiveDataset() throws Exception {
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(List.of(
+                    createContact(1L, "John Doe", "john.doe@example.com")
+            )));
+
+            mockMvc.perform(get("/contacts"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Stale-Segments"));
+        }
+
         @Test
         @DisplayName("Should return single contact when service returns one contact")
         void shouldReturnSingleContactWhenServiceReturnsOneContact() throws Exception {
@@ -96,7 +171,7 @@ class ContactControllerTest {
                     .updatedAt(now)
                     .build();
 
-            when(contactService.getAllContacts()).thenReturn(List.of(expectedContact));
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(List.of(expectedContact)));
 
             mockMvc.perform(get("/contacts"))
                     .andDo(print())
@@ -123,7 +198,7 @@ class ContactControllerTest {
                     createContact(5L, "Contact 5", "contact5@example.com", "KENECT_LABS", now, now)
             );
 
-            when(contactService.getAllContacts()).thenReturn(largeContactList);
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(largeContactList));
 
             mockMvc.perform(get("/contacts"))
                     .andDo(print())
@@ -148,7 +223,7 @@ class ContactControllerTest {
                     createContact(3L, "Future Contact", "future@example.com", "KENECT_LABS", past, future)
             );
 
-            when(contactService.getAllContacts()).thenReturn(contactsWithDifferentTimes);
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(contactsWithDifferentTimes));
 
             mockMvc.perform(get("/contacts"))
                     .andDo(print())
@@ -173,7 +248,7 @@ class ContactControllerTest {
                     createContact(3L, "Smith-Johnson", "smith-johnson@test.co.uk", "KENECT_LABS", now, now)
             );
 
-            when(contactService.getAllContacts()).thenReturn(specialContacts);
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(specialContacts));
 
             mockMvc.perform(get("/contacts"))
                     .andDo(print())
@@ -189,6 +264,444 @@ class ContactControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /contacts - NDJSON streaming")
+    class StreamContactsAsNdjson {
+
+        @Test
+        @DisplayName("Should write one contact per line when NDJSON is requested")
+        void shouldWriteOneContactPerLineWhenNdjsonIsRequested() throws Exception {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            List<Contact> contacts = Arrays.asList(
+                    createContact(1L, "John Doe", "john.doe@example.com", "KENECT_LABS", now, now),
+                    createContact(2L, "Jane Smith", "jane.smith@example.com", "KENECT_LABS", now, now)
+            );
+
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(contacts));
+
+            String body = mockMvc.perform(get("/contacts")
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            assertThat(body.lines().toList())
+                    .hasSize(2)
+                    .satisfiesExactly(
+                            line -> assertThat(line).startsWith("{\"id\":1,").contains("\"name\":\"John Doe\""),
+                            line -> assertThat(line).startsWith("{\"id\":2,").contains("\"name\":\"Jane Smith\"")
+                    );
+            assertThat(body).endsWith("\n");
+        }
+
+        @Test
+        @DisplayName("Should return empty body when there are no contacts")
+        void shouldReturnEmptyBodyWhenThereAreNoContacts() throws Exception {
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(Collections.emptyList()));
+
+            mockMvc.perform(get("/contacts")
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("Should prefer JSON array when JSON has higher quality than NDJSON")
+        void shouldPreferJsonArrayWhenJsonHasHigherQuality() throws Exception {
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(Collections.emptyList()));
+
+            mockMvc.perform(get("/contacts")
+                            .header("Accept", "application/x-ndjson;q=0.5, application/json"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(content().string("[]"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /contacts - Binary formats")
+    class BinaryFormats {
+
+        private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule());
+        private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).registerModule(new JavaTimeModule());
+
+        @Test
+        @DisplayName("Should write a CBOR array when CBOR is requested")
+        void shouldWriteCborWhenRequested() throws Exception {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            List<Contact> contacts = List.of(
+                    createContact(1L, "John Doe", "john.doe@example.com", "KENECT_LABS", now, now),
+                    createContact(2L, "Jane Smith", "jane.smith@example.com", "KENECT_LABS", now, now)
+            );
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(contacts));
+
+            byte[] body = mockMvc.perform(get("/contacts")
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsByteArray();
+
+            assertThat(cborMapper.readValue(body, new TypeReference<List<Contact>>() {})).isEqualTo(contacts);
+        }
+
+        @Test
+        @DisplayName("Should give the Smile representation of a snapshot its own ETag")
+        void shouldServeSmileSnapshotWithOwnETag() throws Exception {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            var snapshot = new ContactSnapshot(List.of(createContact(1L, "John Doe", "john.doe@example.com", "KENECT_LABS", now, now)),
+                    now, Duration.ofMillis(5));
+            when(contactService.currentSnapshot()).thenReturn(Optional.of(snapshot));
+
+            String json = mockMvc.perform(get("/contacts"))
+                    .andReturn().getResponse().getHeader("ETag");
+            var smile = mockMvc.perform(get("/contacts").accept(ContactStreamWriter.APPLICATION_SMILE))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(ContactStreamWriter.APPLICATION_SMILE))
+                    .andReturn().getResponse();
+
+            assertThat(smile.getHeader("ETag")).isNotNull().isNotEqualTo(json);
+            assertThat(smileMapper.readValue(smile.getContentAsByteArray(), new TypeReference<List<Contact>>() {}))
+                    .isEqualTo(snapshot.contacts());
+        }
+
+        @Test
+        @DisplayName("Should write a CBOR page when CBOR is requested")
+        void shouldWriteCborPage() throws Exception {
+            var contacts = List.of(createContact(1L, "John Doe", "john.doe@example.com"));
+            when(contactPageService.getPage(null, 1)).thenReturn(new ContactPage(contacts, "next-token"));
+
+            byte[] body = mockMvc.perform(get("/contacts")
+                            .param("limit", "1")
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsByteArray();
+
+            assertThat(cborMapper.readValue(body, ContactPage.class)).isEqualTo(new ContactPage(contacts, "next-token"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /contacts - Conditional requests")
+    class ConditionalRequests {
+
+        private ContactSnapshot publishSnapshot() {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            ContactSnapshot snapshot = new ContactSnapshot(
+                    List.of(createContact(1L, "John Doe", "john.doe@example.com", "KENECT_LABS", now, now)),
+                    now,
+                    Duration.ofMillis(10)
+            );
+            when(contactService.currentSnapshot()).thenReturn(Optional.of(snapshot));
+            return snapshot;
+        }
+
+        @Test
+        @DisplayName("Should send a strong ETag built from the snapshot content hash")
+        void shouldSendStrongETag() throws Exception {
+            ContactSnapshot snapshot = publishSnapshot();
+
+            mockMvc.perform(get("/contacts"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + snapshot.contentHash() + "-json\""))
+                    .andExpect(header().string("Vary", "Accept"))
+                    .andExpect(jsonPath("$", hasSize(1)));
+
+            verify(contactService, never()).getAllContactsDataset();
+        }
+
+        @Test
+        @DisplayName("Should answer 304 without a body when If-None-Match matches")
+        void shouldAnswerNotModifiedWhenETagMatches() throws Exception {
+            ContactSnapshot snapshot = publishSnapshot();
+
+            mockMvc.perform(get("/contacts")
+                            .header("If-None-Match", "\"" + snapshot.contentHash() + "-json\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("Should return the contacts when If-None-Match is outdated")
+        void shouldReturnContactsWhenETagIsOutdated() throws Exception {
+            publishSnapshot();
+
+            mockMvc.perform(get("/contacts")
+                            .header("If-None-Match", "\"outdated-json\""))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("Should use a different ETag per representation")
+        void shouldUseDifferentETagPerRepresentation() throws Exception {
+            ContactSnapshot snapshot = publishSnapshot();
+
+            mockMvc.perform(get("/contacts")
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .header("If-None-Match", "\"" + snapshot.contentHash() + "-json\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + snapshot.contentHash() + "-x-ndjson\""));
+        }
+
+        @Test
+        @DisplayName("Should keep the same ETag when a sync brings no changes")
+        void shouldKeepETagAcrossIdenticalSnapshots() {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            List<Contact> contacts = List.of(createContact(1L, "John Doe", "john.doe@example.com", "KENECT_LABS", now, now));
+            List<Contact> changed = List.of(createContact(1L, "John Doe Jr", "john.doe@example.com", "KENECT_LABS", now, now));
+
+            var first = new ContactSnapshot(contacts, now, Duration.ofMillis(10));
+            var second = new ContactSnapshot(contacts, now.plusSeconds(240), Duration.ofMillis(20));
+            var third = new ContactSnapshot(changed, now.plusSeconds(480), Duration.ofMillis(20));
+
+            assertThat(second.contentHash()).isEqualTo(first.contentHash());
+            assertThat(third.contentHash()).isNotEqualTo(first.contentHash());
+        }
+
+        @Test
+        @DisplayName("Should serve the snapshot gzipped when the client accepts it")
+        void shouldServeGzippedSnapshot() throws Exception {
+            ContactSnapshot snapshot = publishSnapshot();
+
+            byte[] body = mockMvc.perform(get("/contacts")
+                            .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(header().stringValues("Vary", "Accept", "Accept-Encoding"))
+                    .andExpect(header().string("ETag", "\"" + snapshot.contentHash() + "-json-gzip\""))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsByteArray();
+
+            try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                        .startsWith("[{\"id\":1,")
+                        .endsWith("}]");
+            }
+        }
+
+        @Test
+        @DisplayName("Should not send an ETag when there is no snapshot")
+        void shouldNotSendETagWithoutSnapshot() throws Exception {
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(Collections.emptyList()));
+
+            mockMvc.perform(get("/contacts"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("ETag"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /contacts?fields=")
+    class FieldProjection {
+
+        @Test
+        @DisplayName("Should return only the requested fields of every contact")
+        void shouldProjectFields() throws Exception {
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(List.of(
+                    createContact(1L, "John Doe", "john.doe@example.com"),
+                    createContact(2L, "Jane Smith", "jane.smith@example.com")
+            )));
+
+            mockMvc.perform(get("/contacts").param("fields", "id,name"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("[{\"id\":1,\"name\":\"John Doe\"},{\"id\":2,\"name\":\"Jane Smith\"}]", true));
+        }
+
+        @Test
+        @DisplayName("Should give each projection of a snapshot its own ETag")
+        void shouldUseDistinctETagPerProjection() throws Exception {
+            var snapshot = new ContactSnapshot(List.of(createContact(1L, "John Doe", "john.doe@example.com")),
+                    Instant.now(), Duration.ofMillis(5));
+            when(contactService.currentSnapshot()).thenReturn(Optional.of(snapshot));
+
+            String full = mockMvc.perform(get("/contacts"))
+                    .andReturn().getResponse().getHeader("ETag");
+            String projected = mockMvc.perform(get("/contacts").param("fields", "id"))
+                    .andExpect(content().json("[{\"id\":1}]", true))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            assertThat(projected).isNotNull().isNotEqualTo(full);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /contacts?cursor=&limit=")
+    class GetContactsPage {
+
+        @Test
+        @DisplayName("Should return first page with next cursor when limit is provided")
+        void shouldReturnFirstPageWithNextCursor() throws Exception {
+            var contacts = List.of(
+                    createContact(1L, "John Doe", "john.doe@example.com"),
+                    createContact(2L, "Jane Smith", "jane.smith@example.com")
+            );
+            when(contactPageService.getPage(null, 2)).thenReturn(new ContactPage(contacts, "next-token"));
+
+            mockMvc.perform(get("/contacts").param("limit", "2"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.contacts", hasSize(2)))
+                    .andExpect(jsonPath("$.contacts[0].id", is(1)))
+                    .andExpect(jsonPath("$.contacts[1].id", is(2)))
+                    .andExpect(jsonPath("$.nextCursor", is("next-token")));
+
+            verify(contactService, never()).getAllContactsDataset();
+        }
+
+        @Test
+        @DisplayName("Should forward cursor and return null next cursor on last page")
+        void shouldForwardCursorAndReturnNullNextCursorOnLastPage() throws Exception {
+            var contacts = List.of(createContact(3L, "Bob Johnson", "bob.johnson@example.com"));
+            when(contactPageService.getPage("next-token", 2)).thenReturn(new ContactPage(contacts, null));
+
+            mockMvc.perform(get("/contacts")
+                            .param("cursor", "next-token")
+                            .param("limit", "2"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.contacts", hasSize(1)))
+                    .andExpect(jsonPath("$.contacts[0].id", is(3)))
+                    .andExpect(jsonPath("$.nextCursor", nullValue()));
+        }
+
+        @Test
+        @DisplayName("Should return only the requested fields of a page")
+        void shouldProjectPageFields() throws Exception {
+            var contacts = List.of(createContact(1L, "John Doe", "john.doe@example.com"));
+            when(contactPageService.getPage(null, 1)).thenReturn(new ContactPage(contacts, "next-token"));
+
+            mockMvc.perform(get("/contacts")
+                            .param("limit", "1")
+                            .param("fields", "id,name"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("{\"contacts\":[{\"id\":1,\"name\":\"John Doe\"}],\"nextCursor\":\"next-token\"}", true));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when a field is unknown")
+        void shouldReturnBadRequestWhenFieldIsUnknown() throws Exception {
+            mockMvc.perform(get("/contacts")
+                            .param("limit", "1")
+                            .param("fields", "id,phone"))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message", containsString("phone")));
+
+            verify(contactPageService, never()).getPage(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when cursor is invalid")
+        void shouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+            when(contactPageService.getPage("garbage", 10))
+                    .thenThrow(new InvalidPageRequestException("Invalid cursor: garbage"));
+
+            mockMvc.perform(get("/contacts")
+                            .param("cursor", "garbage")
+                            .param("limit", "10"))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.status", is(400)))
+                    .andExpect(jsonPath("$.message", is("Invalid cursor: garbage")))
+                    .andExpect(jsonPath("$.path", is("/contacts")));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /contacts/changes")
+    class GetChanges {
+
+        @Test
+        @DisplayName("Should return upserted and deleted contacts with the next token")
+        void shouldReturnChanges() throws Exception {
+            var contacts = List.of(createContact(1L, "John Doe", "john.doe@example.com"));
+            when(contactChangeService.getChanges("token", 500))
+                    .thenReturn(new ContactChanges(contacts, List.of(2L), "next-token", false));
+
+            mockMvc.perform(get("/contacts/changes").param("since", "token"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.upserted", hasSize(1)))
+                    .andExpect(jsonPath("$.upserted[0].id", is(1)))
+                    .andExpect(jsonPath("$.deleted[0]", is(2)))
+                    .andExpect(jsonPath("$.nextToken", is("next-token")))
+                    .andExpect(jsonPath("$.hasMore", is(false)));
+
+            verify(contactService, never()).getAllContactsDataset();
+        }
+
+        @Test
+        @DisplayName("Should return 410 when the token is older than the tombstone retention")
+        void shouldReturnGoneWhenTokenExpired() throws Exception {
+            when(contactChangeService.getChanges("old-token", 10))
+                    .thenThrow(new ChangeTokenExpiredException("Change token is too old"));
+
+            mockMvc.perform(get("/contacts/changes")
+                            .param("since", "old-token")
+                            .param("limit", "10"))
+                    .andDo(print())
+                    .andExpect(status().isGone())
+                    .andExpect(jsonPath("$.status", is(410)))
+                    .andExpect(jsonPath("$.path", is("/contacts/changes")));
+        }
+
+        @Test
+        @DisplayName("Should stream change batches as Server-Sent Events")
+        void shouldStreamChangeBatches() throws Exception {
+            var batch = new ContactChangeBatch(List.of(createContact(1L, "John Doe", "john.doe@example.com")), List.of(2L), "token");
+            when(contactChangeStream.subscribe()).thenReturn(Flux.just(
+                    ServerSentEvent.<ContactChangeBatch>builder().id("token").event("contacts-changed").data(batch).build()
+            ));
+
+            MvcResult result = mockMvc.perform(get("/contacts/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(content().string(containsString("id:token")))
+                    .andExpect(content().string(containsString("event:contacts-changed")))
+                    .andExpect(content().string(containsString("\"deleted\":[2]")));
+
+            verify(contactChangeService, never()).getChanges(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should close the event stream quietly when the async request times out")
+        void shouldCloseEventStreamOnTimeout() throws Exception {
+            when(contactChangeStream.subscribe()).thenReturn(Flux.never());
+
+            MvcResult result = mockMvc.perform(get("/contacts/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+            for (AsyncListener listener : asyncContext.getListeners()) {
+                listener.onTimeout(new AsyncEvent(asyncContext));
+            }
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(content().string(not(containsString("An unexpected error occurred"))));
+        }
+    }
+
     @Nested
     @DisplayName("Error Handling")
     class ErrorHandling {
@@ -196,7 +709,7 @@ class ContactControllerTest {
         @Test
         @DisplayName("Should handle service exceptions gracefully")
         void shouldHandleServiceExceptionsGracefully() throws Exception {
-            when(contactService.getAllContacts()).thenThrow(new RuntimeException("External API unavailable"));
+            when(contactService.getAllContactsDataset()).thenThrow(new RuntimeException("External API unavailable"));
 
             mockMvc.perform(get("/contacts"))
                     .andDo(print())
@@ -211,7 +724,7 @@ class ContactControllerTest {
         @Test
         @DisplayName("Should return correct content type header")
         void shouldReturnCorrectContentTypeHeader() throws Exception {
-            when(contactService.getAllContacts()).thenReturn(Collections.emptyList());
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(Collections.emptyList()));
 
             mockMvc.perform(get("/contacts"))
                     .andDo(print())
@@ -223,7 +736,7 @@ class ContactControllerTest {
         @Test
         @DisplayName("Should accept requests without specific Accept header")
         void shouldAcceptRequestsWithoutSpecificAcceptHeader() throws Exception {
-            when(contactService.getAllContacts()).thenReturn(Collections.emptyList());
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(Collections.emptyList()));
 
             mockMvc.perform(get("/contacts"))
                     .andDo(print())
@@ -233,7 +746,7 @@ class ContactControllerTest {
         @Test
         @DisplayName("Should accept requests with JSON Accept header")
         void shouldAcceptRequestsWithJsonAcceptHeader() throws Exception {
-            when(contactService.getAllContacts()).thenReturn(Collections.emptyList());
+            when(contactService.getAllContactsDataset()).thenReturn(ContactDataset.live(Collections.emptyList()));
 
             mockMvc.perform(get("/contacts")
                             .accept(MediaType.APPLICATION_JSON))
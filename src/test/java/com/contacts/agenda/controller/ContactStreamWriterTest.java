@@ -0,0 +1,261 @@
+package com.contacts.agenda.controller;
+
+import com.contacts.agenda.exception.InvalidContactRequestException;
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactPage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContactList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ContactStreamWriter Tests")
+class ContactStreamWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ContactStreamWriter writer = new ContactStreamWriter(objectMapper);
+
+    @Nested
+    @DisplayName("JSON Array")
+    class JsonArray {
+
+        @Test
+        @DisplayName("Should write a valid JSON array that round-trips to the same contacts")
+        void shouldWriteValidJsonArray() throws Exception {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            List<Contact> contacts = createContactList(1200, "Streamed Contact", now);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            writer.writeJsonArray(contacts, out);
+
+            List<Contact> parsed = objectMapper.readValue(out.toByteArray(), new TypeReference<>() {});
+            assertThat(parsed).isEqualTo(contacts);
+        }
+
+        @Test
+        @DisplayName("Should write empty array when there are no contacts")
+        void shouldWriteEmptyArray() throws Exception {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            writer.writeJsonArray(List.of(), out);
+
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+        }
+
+        @Test
+        @DisplayName("Should flush periodically instead of buffering the whole payload")
+        void shouldFlushPeriodically() throws Exception {
+            CountingFlushStream out = new CountingFlushStream();
+
+            writer.writeJsonArray(createContactList(1500, "Contact", Instant.now()), out);
+
+            assertThat(out.flushes).isGreaterThanOrEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("NDJSON")
+    class Ndjson {
+
+        @Test
+        @DisplayName("Should write one JSON object per line")
+        void shouldWriteOneObjectPerLine() throws Exception {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            List<Contact> contacts = createContactList(3, "Line Contact", now);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            writer.writeNdjson(contacts, out);
+
+            List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+            assertThat(lines).hasSize(3);
+            for (int i = 0; i < lines.size(); i++) {
+                assertThat(objectMapper.readValue(lines.get(i), Contact.class)).isEqualTo(contacts.get(i));
+            }
+        }
+
+        @Test
+        @DisplayName("Should terminate every record with a newline")
+        void shouldTerminateEveryRecordWithNewline() throws Exception {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            writer.writeNdjson(createContactList(2, "Contact", Instant.now()), out);
+
+            String body = out.toString(StandardCharsets.UTF_8);
+            assertThat(body).endsWith("}\n").doesNotStartWith(" ");
+            assertThat(body).doesNotContain("\n ");
+        }
+    }
+
+    @Nested
+    @DisplayName("Projections")
+    class Projections {
+
+        @Test
+        @DisplayName("Should write only the selected fields in declaration order")
+        void shouldWriteSelectedFieldsOnly() throws Exception {
+            Instant now = Instant.parse("2025-10-05T10:30:00Z");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            writer.writeJsonArray(createContactList(2, "Contact", now), ContactProjection.parse("name, ID"), out);
+
+            assertThat(out.toString(StandardCharsets.UTF_8))
+                    .isEqualTo("[{\"id\":1,\"name\":\"Contact 1\"},{\"id\":2,\"name\":\"Contact 2\"}]");
+        }
+
+        @Test
+        @DisplayName("Should write the same bytes when projected writes run concurrently")
+        void shouldWriteConcurrentProjections() throws Exception {
+            List<Contact> contacts = createContactList(200, "Contact", Instant.parse("2025-10-05T10:30:00Z"));
+            ContactProjection projection = ContactProjection.parse("id,name,createdAt");
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            writer.writeJsonArray(contacts, projection, expected);
+
+            try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+                List<Future<String>> writes = IntStream.range(0, 32)
+                        .mapToObj(i -> executor.submit(() -> {
+                            ByteArrayOutputStream out = new ByteArrayOutputStream();
+                            writer.writeJsonArray(contacts, projection, out);
+                            return out.toString(StandardCharsets.UTF_8);
+                        }))
+                        .toList();
+
+                for (Future<String> write : writes) {
+                    assertThat(write.get()).isEqualTo(expected.toString(StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should serialize projected instants exactly like the full contact")
+        void shouldSerializeInstantsLikeFullContact() throws Exception {
+            List<Contact> contacts = createContactList(3, "Contact", Instant.now().truncatedTo(ChronoUnit.MILLIS));
+            ByteArrayOutputStream projected = new ByteArrayOutputStream();
+
+            writer.writeNdjson(contacts, ContactProjection.parse("id,name,email,source,createdAt"), projected);
+
+            String[] lines = projected.toString(StandardCharsets.UTF_8).split("\n");
+            for (int i = 0; i < contacts.size(); i++) {
+                Contact parsed = objectMapper.readValue(lines[i], Contact.class);
+                assertThat(parsed.createdAt()).isEqualTo(contacts.get(i).createdAt());
+                assertThat(parsed.updatedAt()).isNull();
+            }
+        }
+
+        @Test
+        @DisplayName("Should write the same bytes as Jackson when every field is selected")
+        void shouldMatchJacksonForAllFields() throws Exception {
+            List<Contact> contacts = createContactList(5, "Contact", Instant.now());
+            ByteArrayOutputStream listed = new ByteArrayOutputStream();
+            ByteArrayOutputStream defaults = new ByteArrayOutputStream();
+
+            writer.writeJsonArray(contacts, ContactProjection.parse("id,name,email,source,createdAt,updatedAt"), listed);
+            writer.writeJsonArray(contacts, defaults);
+
+            assertThat(listed.toByteArray()).isEqualTo(defaults.toByteArray())
+                    .isEqualTo(objectMapper.writeValueAsBytes(contacts));
+        }
+
+        @Test
+        @DisplayName("Should write a projected page with its cursor")
+        void shouldWriteProjectedPage() throws Exception {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            writer.writePage(new ContactPage(createContactList(1, "Contact", Instant.now()), "next"),
+                    ContactProjection.parse("id"), out);
+
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"contacts\":[{\"id\":1}],\"nextCursor\":\"next\"}");
+        }
+
+        @Test
+        @DisplayName("Should reject unknown fields")
+        void shouldRejectUnknownFields() {
+            assertThatThrownBy(() -> ContactProjection.parse("id,phone"))
+                    .isInstanceOf(InvalidContactRequestException.class)
+                    .hasMessageContaining("phone");
+        }
+    }
+
+    @Nested
+    @DisplayName("Binary formats")
+    class BinaryFormats {
+
+        private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule());
+        private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).registerModule(new JavaTimeModule());
+
+        @Test
+        @DisplayName("Should write a CBOR array that decodes to the same contacts")
+        void shouldRoundTripCbor() throws Exception {
+            List<Contact> contacts = createContactList(1200, "Binary Contact", Instant.now().truncatedTo(ChronoUnit.MILLIS));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            writer.write(contacts, ContactProjection.ALL, MediaType.APPLICATION_CBOR, out);
+
+            List<Contact> parsed = cborMapper.readValue(out.toByteArray(), new TypeReference<>() {});
+            assertThat(parsed).isEqualTo(contacts);
+        }
+
+        @Test
+        @DisplayName("Should write a Smile array smaller than the JSON one")
+        void shouldRoundTripSmile() throws Exception {
+            List<Contact> contacts = createContactList(500, "Binary Contact", Instant.now().truncatedTo(ChronoUnit.MILLIS));
+            ByteArrayOutputStream smile = new ByteArrayOutputStream();
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+
+            writer.write(contacts, ContactProjection.ALL, ContactStreamWriter.APPLICATION_SMILE, smile);
+            writer.write(contacts, ContactProjection.ALL, MediaType.APPLICATION_JSON, json);
+
+            List<Contact> parsed = smileMapper.readValue(smile.toByteArray(), new TypeReference<>() {});
+            assertThat(parsed).isEqualTo(contacts);
+            assertThat(smile.size()).isLessThan(json.size());
+        }
+
+        @Test
+        @DisplayName("Should write a projected CBOR page with its cursor")
+        void shouldWriteProjectedCborPage() throws Exception {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            writer.writePage(new ContactPage(createContactList(2, "Contact", Instant.now()), "next"),
+                    ContactProjection.parse("id,name"), MediaType.APPLICATION_CBOR, out);
+
+            assertThat(cborMapper.readTree(out.toByteArray())).isEqualTo(objectMapper.readTree(
+                    "{\"contacts\":[{\"id\":1,\"name\":\"Contact 1\"},{\"id\":2,\"name\":\"Contact 2\"}],\"nextCursor\":\"next\"}"));
+        }
+    }
+
+    private static class CountingFlushStream extends OutputStream {
+        private int flushes;
+
+        @Override
+        public void write(int b) {
+            // discard
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.contacts.agenda.repository;
 
 import com.contacts.agenda.model.ContactEntity;
+import com.contacts.agenda.model.ContactTombstone;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -18,9 +20,12 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static com.contacts.agenda.fixture.ContactEntityFixture.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataMongoTest
 @Testcontainers
@@ -40,9 +45,13 @@ class ContactRepositoryIntegrationTest {
     @Autowired
     private ContactRepository contactRepository;
 
+    @Autowired
+    private ContactTombstoneRepository tombstoneRepository;
+
     @BeforeEach
     void setUp() {
         contactRepository.deleteAll();
+        tombstoneRepository.deleteAll();
     }
 
     @Nested
@@ -131,6 +140,111 @@ class ContactRepositoryIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Keyset Range Operations")
+    class KeysetRangeOperations {
+
+        @Test
+        @DisplayName("Should return contacts after the given id ordered by id and bounded by limit")
+        void shouldReturnContactsAfterIdOrderedAndLimited() {
+            contactRepository.saveAll(List.of(
+                    createSimpleContact(5L, "Contact 5", "contact5@example.com"),
+                    createSimpleContact(1L, "Contact 1", "contact1@example.com"),
+                    createSimpleContact(3L, "Contact 3", "contact3@example.com"),
+                    createSimpleContact(4L, "Contact 4", "contact4@example.com"),
+                    createSimpleContact(2L, "Contact 2", "contact2@example.com")
+            ));
+
+            List<ContactEntity> page = contactRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(2));
+
+            assertThat(page)
+                    .extracting(ContactEntity::id)
+                    .containsExactly(3L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should return empty list when cursor is past the last id")
+        void shouldReturnEmptyWhenCursorIsPastLastId() {
+            contactRepository.save(createSimpleContact(1L, "Contact 1", "contact1@example.com"));
+
+            List<ContactEntity> page = contactRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(10));
+
+            assertThat(page).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should stream contacts after an id without syncedAt")
+        void shouldStreamContactsAfterId() {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            contactRepository.saveAll(LongStream.rangeClosed(1, 5)
+                    .mapToObj(id -> createContactEntity(id, "Contact " + id, "contact" + id + "@example.com", now))
+                    .toList());
+
+            try (Stream<ContactEntity> limited = contactRepository.streamAfter(1L, 2);
+                 Stream<ContactEntity> rest = contactRepository.streamAfter(3L, 0)) {
+                assertThat(limited.toList())
+                        .extracting(ContactEntity::id, ContactEntity::name, ContactEntity::syncedAt)
+                        .containsExactly(
+                                tuple(2L, "Contact 2", null),
+                                tuple(3L, "Contact 3", null));
+                assertThat(rest.toList()).extracting(ContactEntity::id).containsExactly(4L, 5L);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Upsert Operations")
+    class BulkUpsertOperations {
+
+        @Test
+        @DisplayName("Should insert contacts across several batches")
+        void shouldInsertAcrossBatches() {
+            List<ContactEntity> contacts = LongStream.rangeClosed(1, 2_500)
+                    .mapToObj(id -> createSimpleContact(id, "Contact " + id, "contact" + id + "@example.com"))
+                    .toList();
+
+            int written = contactRepository.bulkUpsert(contacts);
+
+            assertThat(written).isEqualTo(2_500);
+            assertThat(contactRepository.count()).isEqualTo(2_500);
+        }
+
+        @Test
+        @DisplayName("Should replace existing contacts and count only modified documents")
+        void shouldReplaceExistingContacts() {
+            ContactEntity unchanged = createSimpleContact(1L, "Contact 1", "contact1@example.com");
+            contactRepository.saveAll(List.of(
+                    unchanged,
+                    createSimpleContact(2L, "Contact 2", "contact2@example.com")
+            ));
+
+            int written = contactRepository.bulkUpsert(List.of(
+                    unchanged,
+                    createSimpleContact(2L, "Renamed 2", "contact2@example.com"),
+                    createSimpleContact(3L, "Contact 3", "contact3@example.com")
+            ));
+
+            assertThat(written).isEqualTo(2);
+            assertThat(contactRepository.findAll())
+                    .extracting(ContactEntity::name)
+                    .containsExactlyInAnyOrder("Contact 1", "Renamed 2", "Contact 3");
+        }
+
+        @Test
+        @DisplayName("Should keep the generation of contacts it updates")
+        void shouldKeepGeneration() {
+            contactRepository.save(createSimpleContact(1L, "Contact 1", "contact1@example.com"));
+            contactRepository.markGeneration(List.of(1L), 7);
+
+            contactRepository.bulkUpsert(List.of(createSimpleContact(1L, "Renamed 1", "contact1@example.com")));
+
+            assertThat(contactRepository.findById(1L)).hasValueSatisfying(contact -> {
+                assertThat(contact.name()).isEqualTo("Renamed 1");
+                assertThat(contact.generation()).isEqualTo(7L);
+            });
+        }
+    }
+
     @Nested
     @DisplayName("Update Operations")
     class UpdateOperations {
@@ -234,4 +348,160 @@ class ContactRepositoryIntegrationTest {
             assertThat(contactRepository.existsById(999L)).isFalse();
         }
     }
+
+    @Nested
+    @DisplayName("Changes Feed Operations")
+    class ChangesFeedOperations {
+
+        @Test
+        @DisplayName("Should return contacts changed after a (syncedAt, id) position in change order")
+        void shouldFindChangedAfterPosition() {
+            Instant base = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            contactRepository.saveAll(List.of(
+                    createContactEntity(1L, "Contact 1", "contact1@example.com", base),
+                    createContactEntity(2L, "Contact 2", "contact2@example.com", base.plusMillis(1)),
+                    createContactEntity(3L, "Contact 3", "contact3@example.com", base.plusMillis(1)),
+                    createContactEntity(4L, "Contact 4", "contact4@example.com", base)
+            ));
+
+            List<ContactEntity> changed = contactRepository.findChangedAfter(base, 1L, Limit.of(10));
+
+            assertThat(changed).extracting(ContactEntity::id).containsExactly(4L, 2L, 3L);
+        }
+
+        @Test
+        @DisplayName("Should remove contacts and record their tombstones")
+        void shouldDeleteWithTombstones() {
+            Instant deletedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            contactRepository.saveAll(LongStream.rangeClosed(1, 3)
+                    .mapToObj(id -> createContactEntity(id, "Test", "test@example.com", deletedAt.minusSeconds(60)))
+                    .toList());
+
+            List<Long> removed = contactRepository.deleteWithTombstones(List.of(1L, 3L), 1, deletedAt, deletedAt);
+
+            assertThat(removed).containsExactly(1L, 3L);
+            assertThat(contactRepository.findAll()).extracting(ContactEntity::id).containsExactly(2L);
+            assertThat(tombstoneRepository.findDeletedAfter(deletedAt.minusMillis(1), Long.MIN_VALUE, Limit.of(10)))
+                    .extracting(ContactTombstone::id)
+                    .containsExactly(1L, 3L);
+        }
+
+        @Test
+        @DisplayName("Should keep and never tombstone a contact written again since it was found stale")
+        void shouldKeepContactWrittenAgain() {
+            Instant startedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            contactRepository.saveAll(LongStream.rangeClosed(1, 3)
+                    .mapToObj(id -> createContactEntity(id, "Test", "test@example.com", startedAt.minusSeconds(60)))
+                    .toList());
+            List<Long> stale = contactRepository.findStaleIds(1, startedAt);
+            contactRepository.bulkUpsert(List.of(createContactEntity(2L, "Back", "back@example.com", startedAt.plusMillis(1))));
+
+            List<Long> removed = contactRepository.deleteWithTombstones(stale, 1, startedAt, startedAt.plusMillis(2));
+
+            assertThat(removed).containsExactlyInAnyOrder(1L, 3L);
+            assertThat(contactRepository.findAll()).extracting(ContactEntity::name).containsExactly("Back");
+            assertThat(tombstoneRepository.findDeletedAfter(startedAt, Long.MIN_VALUE, Limit.of(10)))
+                    .extracting(ContactTombstone::id)
+                    .containsExactly(1L, 3L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Generation Operations")
+    class GenerationOperations {
+
+        @Test
+        @DisplayName("Should mark stored contacts across id runs and ignore missing ones")
+        void shouldMarkGeneration() {
+            contactRepository.saveAll(LongStream.of(1, 2, 3, 5, 8, 9)
+                    .mapToObj(id -> createMinimalEntity(id))
+                    .toList());
+
+            int marked = contactRepository.markGeneration(List.of(9L, 1L, 2L, 5L, 8L, 42L), 3);
+            int markedAgain = contactRepository.markGeneration(List.of(1L, 2L), 3);
+
+            assertThat(marked).isEqualTo(5);
+            assertThat(markedAgain).isZero();
+            assertThat(contactRepository.findAll())
+                    .extracting(ContactEntity::id, ContactEntity::generation)
+                    .containsExactlyInAnyOrder(
+                            tuple(1L, 3L), tuple(2L, 3L), tuple(3L, null),
+                            tuple(5L, 3L), tuple(8L, 3L), tuple(9L, 3L));
+        }
+
+        @Test
+        @DisplayName("Should stream only contacts of the generation or a later one")
+        void shouldStreamGeneration() {
+            contactRepository.saveAll(LongStream.rangeClosed(1, 4)
+                    .mapToObj(id -> createMinimalEntity(id))
+                    .toList());
+            contactRepository.markGeneration(List.of(1L, 2L, 4L), 2);
+            contactRepository.markGeneration(List.of(4L), 3);
+
+            try (Stream<ContactEntity> generation = contactRepository.streamGeneration(2)) {
+                assertThat(generation.toList()).extracting(ContactEntity::id).containsExactly(1L, 2L, 4L);
+            }
+        }
+
+        @Test
+        @DisplayName("Should page through contacts confirmed by the generation after the given id")
+        void shouldFindGenerationAfter() {
+            contactRepository.saveAll(LongStream.rangeClosed(1, 5)
+                    .mapToObj(id -> createMinimalEntity(id))
+                    .toList());
+            contactRepository.markGeneration(List.of(1L, 2L, 4L, 5L), 1);
+            // generation 2 is still marking, contact 3 is new to it
+            contactRepository.markGeneration(List.of(3L), 2);
+
+            List<ContactEntity> page = contactRepository.findGenerationAfter(1, 1L, 2);
+
+            assertThat(page).extracting(ContactEntity::id).containsExactly(2L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should leave out contacts of a later generation still being marked")
+        void shouldStreamGenerationWhileNextIsMarked() {
+            contactRepository.saveAll(LongStream.rangeClosed(1, 4)
+                    .mapToObj(id -> createMinimalEntity(id))
+                    .toList());
+            contactRepository.markGeneration(List.of(1L, 2L, 3L), 1);
+
+            // generation 2 has marked the new contact 4 and contact 1 so far
+            contactRepository.markGeneration(List.of(1L, 4L), 2);
+
+            try (Stream<ContactEntity> generation = contactRepository.streamGeneration(1)) {
+                assertThat(generation.toList()).extracting(ContactEntity::id).containsExactly(1L, 2L, 3L);
+            }
+            assertThat(contactRepository.findAll())
+                    .extracting(ContactEntity::id, ContactEntity::firstGeneration)
+                    .containsExactlyInAnyOrder(tuple(1L, 1L), tuple(2L, 1L), tuple(3L, 1L), tuple(4L, 2L));
+        }
+
+        @Test
+        @DisplayName("Should stream contacts marked before first generations were recorded")
+        void shouldStreamContactsWithoutFirstGeneration() {
+            contactRepository.save(aContact().id(1L).name("Test").email("test@example.com").generation(1L).build());
+            contactRepository.markGeneration(List.of(1L), 2);
+
+            try (Stream<ContactEntity> generation = contactRepository.streamGeneration(1)) {
+                assertThat(generation.toList()).extracting(ContactEntity::id).containsExactly(1L);
+            }
+        }
+
+        @Test
+        @DisplayName("Should find contacts of older or no generation written before the generation started")
+        void shouldFindStaleIds() {
+            Instant startedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            contactRepository.saveAll(List.of(
+                    createContactEntity(1L, "Current", "current@example.com", startedAt.minusSeconds(60)),
+                    createContactEntity(2L, "Older", "older@example.com", startedAt.minusSeconds(60)),
+                    createContactEntity(3L, "Unmarked", "unmarked@example.com", startedAt.minusSeconds(60)),
+                    createContactEntity(4L, "Written after", "after@example.com", startedAt.plusMillis(1))
+            ));
+            contactRepository.markGeneration(List.of(2L), 1);
+            contactRepository.markGeneration(List.of(1L), 2);
+
+            assertThat(contactRepository.findStaleIds(2, startedAt)).containsExactlyInAnyOrder(2L, 3L);
+        }
+    }
 }
@@ -0,0 +1,165 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.exception.ChangeTokenExpiredException;
+import com.contacts.agenda.exception.InvalidPageRequestException;
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactTombstone;
+import com.contacts.agenda.repository.ContactRepository;
+import com.contacts.agenda.repository.ContactTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static com.contacts.agenda.fixture.ContactEntityFixture.createContactEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContactChangeService Tests")
+class ContactChangeServiceTest {
+
+    private static final int MAX_LIMIT = 3;
+    private static final Duration SETTLE_WINDOW = Duration.ofSeconds(30);
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private ContactTombstoneRepository tombstoneRepository;
+
+    private ContactChangeService changeService;
+
+    private final Instant base = Instant.now().minus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MILLIS);
+
+    @BeforeEach
+    void setUp() {
+        changeService = new ContactChangeService(contactRepository, tombstoneRepository, MAX_LIMIT, SETTLE_WINDOW);
+    }
+
+    @Nested
+    @DisplayName("Get Changes")
+    class GetChanges {
+
+        @Test
+        @DisplayName("Should start from the beginning without a token")
+        void shouldStartFromBeginning() {
+            when(contactRepository.findChangedAfter(Instant.EPOCH, Long.MIN_VALUE, Limit.of(4)))
+                    .thenReturn(List.of(createContactEntity(1L, "John", "john@example.com", base)));
+            when(tombstoneRepository.findDeletedAfter(Instant.EPOCH, Long.MIN_VALUE, Limit.of(4)))
+                    .thenReturn(List.of());
+
+            var changes = changeService.getChanges(null, 10);
+
+            assertThat(changes.upserted()).extracting(Contact::id).containsExactly(1L);
+            assertThat(changes.deleted()).isEmpty();
+            assertThat(changes.hasMore()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should merge upserts and tombstones in change order and point after the last one")
+        void shouldMergeInChangeOrder() {
+            var since = new ContactChangeToken.Position(base, 0L);
+            when(contactRepository.findChangedAfter(base, 0L, Limit.of(3)))
+                    .thenReturn(List.of(
+                            createContactEntity(1L, "John", "john@example.com", base.plusMillis(1)),
+                            createContactEntity(3L, "Jack", "jack@example.com", base.plusMillis(3))
+                    ));
+            when(tombstoneRepository.findDeletedAfter(base, 0L, Limit.of(3)))
+                    .thenReturn(List.of(new ContactTombstone(2L, base.plusMillis(2))));
+
+            var changes = changeService.getChanges(ContactChangeToken.encode(since), 2);
+
+            assertThat(changes.upserted()).extracting(Contact::id).containsExactly(1L);
+            assertThat(changes.deleted()).containsExactly(2L);
+            assertThat(changes.hasMore()).isTrue();
+            assertThat(ContactChangeToken.decode(changes.nextToken()))
+                    .isEqualTo(new ContactChangeToken.Position(base.plusMillis(2), 2L));
+        }
+
+        @Test
+        @DisplayName("Should report only the latest change of a contact")
+        void shouldKeepLatestChangePerContact() {
+            when(contactRepository.findChangedAfter(any(Instant.class), anyLong(), any(Limit.class)))
+                    .thenReturn(List.of(createContactEntity(1L, "John", "john@example.com", base.plusMillis(5))));
+            when(tombstoneRepository.findDeletedAfter(any(Instant.class), anyLong(), any(Limit.class)))
+                    .thenReturn(List.of(new ContactTombstone(1L, base.plusMillis(1))));
+
+            var changes = changeService.getChanges(null, 3);
+
+            assertThat(changes.upserted()).extracting(Contact::id).containsExactly(1L);
+            assertThat(changes.deleted()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should step back by the settle window once caught up")
+        void shouldStepBackBySettleWindowWhenCaughtUp() {
+            Instant recent = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            when(contactRepository.findChangedAfter(any(Instant.class), anyLong(), any(Limit.class)))
+                    .thenReturn(List.of(createContactEntity(1L, "John", "john@example.com", recent)));
+            when(tombstoneRepository.findDeletedAfter(any(Instant.class), anyLong(), any(Limit.class)))
+                    .thenReturn(List.of());
+
+            var changes = changeService.getChanges(ContactChangeToken.encode(new ContactChangeToken.Position(base, 0L)), 3);
+
+            var next = ContactChangeToken.decode(changes.nextToken());
+            assertThat(changes.hasMore()).isFalse();
+            assertThat(next.at()).isBefore(recent).isAfter(base);
+        }
+
+        @Test
+        @DisplayName("Should never move the token backwards")
+        void shouldNotMoveTokenBackwards() {
+            var since = new ContactChangeToken.Position(Instant.now().truncatedTo(ChronoUnit.MILLIS), 7L);
+            when(contactRepository.findChangedAfter(any(Instant.class), anyLong(), any(Limit.class))).thenReturn(List.of());
+            when(tombstoneRepository.findDeletedAfter(any(Instant.class), anyLong(), any(Limit.class))).thenReturn(List.of());
+
+            var changes = changeService.getChanges(ContactChangeToken.encode(since), 3);
+
+            assertThat(ContactChangeToken.decode(changes.nextToken())).isEqualTo(since);
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation")
+    class Validation {
+
+        @Test
+        @DisplayName("Should reject a malformed token")
+        void shouldRejectMalformedToken() {
+            assertThatThrownBy(() -> changeService.getChanges("not-a-token", 3))
+                    .isInstanceOf(InvalidPageRequestException.class);
+            verifyNoInteractions(contactRepository, tombstoneRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a non-positive limit")
+        void shouldRejectNonPositiveLimit() {
+            assertThatThrownBy(() -> changeService.getChanges(null, 0))
+                    .isInstanceOf(InvalidPageRequestException.class);
+        }
+
+        @Test
+        @DisplayName("Should reject a token older than the tombstone retention")
+        void shouldRejectExpiredToken() {
+            var expired = new ContactChangeToken.Position(Instant.now().minus(ContactTombstone.RETENTION).minusSeconds(60), 1L);
+
+            assertThatThrownBy(() -> changeService.getChanges(ContactChangeToken.encode(expired), 3))
+                    .isInstanceOf(ChangeTokenExpiredException.class);
+            verifyNoInteractions(contactRepository, tombstoneRepository);
+        }
+    }
+}
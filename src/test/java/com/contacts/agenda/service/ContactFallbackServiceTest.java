@@ -3,22 +3,37 @@ package com.contacts.agenda.service;
 import com.contacts.agenda.exception.ServiceUnavailableException;
 import com.contacts.agenda.mapper.ContactMapper;
 import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactChangeBatch;
 import com.contacts.agenda.model.ContactEntity;
+import com.contacts.agenda.model.ContactSyncState;
 import com.contacts.agenda.repository.ContactRepository;
+import com.contacts.agenda.repository.ContactSyncStateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static com.contacts.agenda.fixture.ContactFixture.createContact;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +43,22 @@ class ContactFallbackServiceTest {
     @Mock
     private ContactRepository contactRepository;
 
-    @InjectMocks
+    @Mock
+    private ContactSyncStateRepository syncStateRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
     private ContactFallbackService fallbackService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        fallbackService = new ContactFallbackService(contactRepository, syncStateRepository, new ContactChangeTracker(meterRegistry), eventPublisher,
+                new ContactFallbackSnapshot(meterRegistry), Duration.ofSeconds(30));
+    }
+
     @Nested
     @DisplayName("Get Contacts From Database")
     class GetContactsFromDatabase {
@@ -41,7 +69,7 @@ class ContactFallbackServiceTest {
             var contact = createContact(1L, "John Doe", "john@example.com");
             var entity = ContactMapper.INSTANCE.toEntity(contact);
 
-            when(contactRepository.findAll()).thenReturn(List.of(entity));
+            when(contactRepository.streamAfter(Long.MIN_VALUE, 0)).thenReturn(Stream.of(entity));
 
             var result = fallbackService.getContactsFromDatabase();
 
@@ -58,12 +86,125 @@ class ContactFallbackServiceTest {
         @Test
         @DisplayName("Should throw ServiceUnavailableException when database is empty")
         void shouldThrowExceptionWhenDatabaseEmpty() {
-            when(contactRepository.findAll()).thenReturn(List.of());
+            when(contactRepository.streamAfter(Long.MIN_VALUE, 0)).thenReturn(Stream.empty());
 
             assertThatThrownBy(() -> fallbackService.getContactsFromDatabase())
                     .isInstanceOf(ServiceUnavailableException.class)
                     .hasMessage("External API is unavailable and no cached data exists");
         }
+
+        @Test
+        @DisplayName("Should read the database once and serve later fallbacks from memory")
+        void shouldServeLaterFallbacksFromMemory() {
+            when(contactRepository.streamAfter(Long.MIN_VALUE, 0))
+                    .thenAnswer(invocation -> Stream.of(entity(2L), entity(1L)));
+
+            fallbackService.getContactsFromDatabase();
+            var result = fallbackService.getContactsFromDatabase();
+
+            assertThat(result).extracting(Contact::id).containsExactly(1L, 2L);
+            verify(contactRepository, times(1)).streamAfter(anyLong(), anyInt());
+            verify(contactRepository, never()).findAll();
+        }
+
+        @Test
+        @DisplayName("Should remember an empty database instead of reading it on every fallback")
+        void shouldRememberEmptyDatabase() {
+            when(contactRepository.streamAfter(Long.MIN_VALUE, 0)).thenAnswer(invocation -> Stream.empty());
+
+            for (int i = 0; i < 3; i++) {
+                assertThatThrownBy(() -> fallbackService.getContactsFromDatabase())
+                        .isInstanceOf(ServiceUnavailableException.class);
+            }
+
+            verify(contactRepository, times(1)).streamAfter(anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should serve the published live dataset without reading the database")
+        void shouldServePublishedLiveDataset() {
+            fallbackService.publishSnapshot(List.of(
+                    createContact(1L, "Live 1", "live1@example.com"),
+                    createContact(2L, "Live 2", "live2@example.com")
+            ));
+
+            assertThat(fallbackService.getContactsFromDatabase()).extracting(Contact::name).containsExactly("Live 1", "Live 2");
+            verifyNoInteractions(contactRepository);
+        }
+
+        @Test
+        @DisplayName("Should keep a live dataset published while loading from the database")
+        void shouldKeepLiveDatasetPublishedDuringLoad() {
+            when(contactRepository.streamAfter(Long.MIN_VALUE, 0)).thenAnswer(invocation -> {
+                fallbackService.publishSnapshot(List.of(createContact(9L, "Live", "live@example.com")));
+                return Stream.of(entity(1L));
+            });
+
+            fallbackService.loadSnapshot();
+
+            assertThat(fallbackService.getContactsFromDatabase()).extracting(Contact::id).containsExactly(9L);
+        }
+
+        @Test
+        @DisplayName("Should only read contacts of the last completed generation")
+        void shouldReadLastCompletedGeneration() {
+            when(syncStateRepository.findById(ContactSyncState.CONTACTS)).thenReturn(Optional.of(generation(4)));
+            when(contactRepository.streamGeneration(4)).thenReturn(Stream.of(entity(1L)));
+
+            assertThat(fallbackService.getContactsFromDatabase()).extracting(Contact::id).containsExactly(1L);
+            verify(contactRepository, never()).streamAfter(anyLong(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Page From Database")
+    class GetPageFromDatabase {
+
+        @BeforeEach
+        void publishDataset() {
+            fallbackService.publishSnapshot(List.of(
+                    createContact(10L, "Contact 10", "contact10@example.com"),
+                    createContact(20L, "Contact 20", "contact20@example.com"),
+                    createContact(30L, "Contact 30", "contact30@example.com"),
+                    createContact(40L, "Contact 40", "contact40@example.com"),
+                    createContact(50L, "Contact 50", "contact50@example.com")
+            ));
+        }
+
+        @Test
+        @DisplayName("Should return the requested page in id order")
+        void shouldReturnRequestedPage() {
+            assertThat(fallbackService.getPageFromDatabase(1, 2)).extracting(Contact::id).containsExactly(10L, 20L);
+            assertThat(fallbackService.getPageFromDatabase(3, 2)).extracting(Contact::id).containsExactly(50L);
+            verifyNoInteractions(contactRepository);
+        }
+
+        @Test
+        @DisplayName("Should return an empty page past the end of the stored dataset")
+        void shouldReturnEmptyPagePastTheEnd() {
+            assertThat(fallbackService.getPageFromDatabase(6, 2)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should return the contacts after an id")
+        void shouldReturnContactsAfterId() {
+            assertThat(fallbackService.getContactsAfter(20L)).extracting(Contact::id).containsExactly(30L, 40L, 50L);
+            assertThat(fallbackService.getContactsAfter(25L)).extracting(Contact::id).containsExactly(30L, 40L, 50L);
+            assertThat(fallbackService.getContactsAfter(50L)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should return the contacts between two ids, both excluded")
+        void shouldReturnContactsBetweenIds() {
+            assertThat(fallbackService.getContactsBetween(10L, 40L)).extracting(Contact::id).containsExactly(20L, 30L);
+            assertThat(fallbackService.getContactsBetween(15L, 45L)).extracting(Contact::id).containsExactly(20L, 30L, 40L);
+            assertThat(fallbackService.getContactsBetween(20L, 30L)).isEmpty();
+            assertThat(fallbackService.getContactsBetween(40L, 20L)).isEmpty();
+        }
+    }
+
+    private static ContactEntity entity(Long id) {
+        return ContactMapper.INSTANCE.toEntity(createContact(id, "Contact " + id, "contact" + id + "@example.com"));
     }
 
     @Nested
@@ -71,44 +212,229 @@ class ContactFallbackServiceTest {
     class SaveContacts {
 
         @Test
-        @DisplayName("Should save contacts and return mapped domain objects")
-        void shouldSaveContactsAndReturnMapped() {
+        @DisplayName("Should bulk upsert contacts mapped to entities")
+        void shouldBulkUpsertContacts() {
             var contacts = List.of(
                     createContact(1L, "John Doe", "john@example.com"),
                     createContact(2L, "Jane Smith", "jane@example.com")
             );
-            var entities = contacts.stream()
-                    .map(ContactMapper.INSTANCE::toEntity)
-                    .toList();
 
-            when(contactRepository.saveAll(anyList())).thenReturn(entities);
+            fallbackService.saveContacts(contacts);
 
-            var result = fallbackService.saveContacts(contacts);
-
-            assertThat(result)
-                    .hasSize(2)
-                    .extracting(Contact::name)
+            ArgumentCaptor<List<ContactEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(contactRepository, times(1)).bulkUpsert(captor.capture());
+            assertThat(captor.getValue())
+                    .extracting(ContactEntity::name)
                     .containsExactly("John Doe", "Jane Smith");
+            verify(contactRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Should skip database write when contacts are unchanged")
+        void shouldSkipWriteWhenUnchanged() {
+            var contacts = List.of(
+                    createContact(1L, "John Doe", "john@example.com"),
+                    createContact(2L, "Jane Smith", "jane@example.com")
+            );
+
+            fallbackService.saveContacts(contacts);
+            fallbackService.saveContacts(contacts);
 
-            verify(contactRepository, times(1)).saveAll(anyList());
+            verify(contactRepository, times(1)).bulkUpsert(anyList());
+            assertThat(documents("written")).isEqualTo(2);
+            assertThat(documents("skipped")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should only write new or modified contacts")
+        void shouldOnlyWriteChangedContacts() {
+            var john = createContact(1L, "John Doe", "john@example.com");
+            var jane = createContact(2L, "Jane Smith", "jane@example.com");
+            fallbackService.saveContacts(List.of(john, jane));
+            clearInvocations(contactRepository);
+
+            var renamedJane = createContact(2L, "Jane Doe", "jane@example.com");
+            var newContact = createContact(3L, "New Contact", "new@example.com");
+            fallbackService.saveContacts(List.of(john, renamedJane, newContact));
+
+            ArgumentCaptor<List<ContactEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(contactRepository).bulkUpsert(captor.capture());
+            assertThat(captor.getValue()).extracting(ContactEntity::id).containsExactly(2L, 3L);
+            assertThat(lastEvent()).isInstanceOfSatisfying(ContactChangeBatch.class, batch ->
+                    assertThat(batch.upserted()).containsExactly(renamedJane, newContact));
+            assertThat(documents("written")).isEqualTo(4);
+            assertThat(documents("skipped")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not write stored contacts again after a restart")
+        void shouldSkipStoredContactsAfterRestart() {
+            var john = createContact(1L, "John Doe", "john@example.com");
+            var jane = createContact(2L, "Jane Smith", "jane@example.com");
+            when(contactRepository.streamAfter(Long.MIN_VALUE, 0)).thenReturn(Stream.of(john, jane).map(ContactMapper.INSTANCE::toEntity));
+            fallbackService.loadSnapshot();
+
+            var renamedJane = createContact(2L, "Jane Doe", "jane@example.com");
+            fallbackService.saveContacts(List.of(john, renamedJane));
+
+            ArgumentCaptor<List<ContactEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(contactRepository).bulkUpsert(captor.capture());
+            assertThat(captor.getValue()).extracting(ContactEntity::id).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Should write contacts again when the previous write failed")
+        void shouldRetryWriteAfterFailure() {
+            var contacts = List.of(createContact(1L, "John Doe", "john@example.com"));
+            when(contactRepository.bulkUpsert(anyList()))
+                    .thenThrow(new IllegalStateException("mongo down"))
+                    .thenReturn(1);
+
+            assertThatThrownBy(() -> fallbackService.saveContacts(contacts)).isInstanceOf(IllegalStateException.class);
+            fallbackService.saveContacts(contacts);
+
+            verify(contactRepository, times(2)).bulkUpsert(anyList());
         }
 
         @Test
         @DisplayName("Should handle empty list gracefully")
         void shouldHandleEmptyList() {
-            var result = fallbackService.saveContacts(List.of());
+            fallbackService.saveContacts(List.of());
 
-            assertThat(result).isEmpty();
-            verify(contactRepository, never()).saveAll(anyList());
+            verifyNoInteractions(contactRepository);
         }
 
         @Test
         @DisplayName("Should handle null input gracefully")
         void shouldHandleNullInput() {
-            var result = fallbackService.saveContacts(null);
+            fallbackService.saveContacts(null);
 
-            assertThat(result).isEmpty();
-            verify(contactRepository, never()).saveAll(anyList());
+            verifyNoInteractions(contactRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Generations")
+    class Generations {
+
+        @Test
+        @DisplayName("Should mark the live contacts and record the next generation")
+        void shouldCommitNextGeneration() {
+            var startedAt = Instant.now();
+            when(syncStateRepository.findById(ContactSyncState.CONTACTS)).thenReturn(Optional.of(generation(4)));
+
+            var completed = fallbackService.commitGeneration(List.of(
+                    createContact(1L, "John Doe", "john@example.com"),
+                    createContact(3L, "Jack Doe", "jack@example.com")
+            ), startedAt);
+
+            assertThat(completed).hasValueSatisfying(state -> {
+                assertThat(state.generation()).isEqualTo(5);
+                assertThat(state.contactCount()).isEqualTo(2);
+                assertThat(state.startedAt()).isEqualTo(startedAt);
+            });
+            var order = inOrder(contactRepository, syncStateRepository);
+            order.verify(contactRepository).markGeneration(List.of(1L, 3L), 5);
+            order.verify(syncStateRepository).save(completed.get());
+        }
+
+        @Test
+        @DisplayName("Should start with the first generation")
+        void shouldStartWithFirstGeneration() {
+            var completed = fallbackService.commitGeneration(List.of(createContact(1L, "John Doe", "john@example.com")), Instant.now());
+
+            assertThat(completed).hasValueSatisfying(state -> assertThat(state.generation()).isEqualTo(1));
         }
+
+        @Test
+        @DisplayName("Should never commit an empty live dataset")
+        void shouldSkipEmptyDataset() {
+            assertThat(fallbackService.commitGeneration(List.of(), Instant.now())).isEmpty();
+
+            verifyNoInteractions(contactRepository, syncStateRepository);
+        }
+
+        @Test
+        @DisplayName("Should tombstone stale contacts batch by batch")
+        void shouldSweepStaleContacts() {
+            var generation = generation(5);
+            when(contactRepository.findStaleIds(5, generation.startedAt()))
+                    .thenReturn(List.of(2L, 4L))
+                    .thenReturn(List.of(6L))
+                    .thenReturn(List.of());
+            when(contactRepository.deleteWithTombstones(anyCollection(), eq(5L), eq(generation.startedAt()), any(Instant.class)))
+                    .thenReturn(List.of(2L, 4L), List.of(6L));
+
+            var removed = fallbackService.sweepGeneration(generation);
+
+            assertThat(removed).isEqualTo(3);
+            verify(contactRepository).deleteWithTombstones(eq(List.of(2L, 4L)), eq(5L), eq(generation.startedAt()), any(Instant.class));
+            verify(contactRepository).deleteWithTombstones(eq(List.of(6L)), eq(5L), eq(generation.startedAt()), any(Instant.class));
+            assertThat(lastEvent()).isInstanceOfSatisfying(ContactChangeBatch.class, batch -> {
+                assertThat(batch.upserted()).isEmpty();
+                assertThat(batch.deleted()).containsExactly(6L);
+            });
+        }
+
+        @Test
+        @DisplayName("Should write a swept contact again when it comes back unchanged")
+        void shouldForgetSweptContacts() {
+            var john = createContact(1L, "John Doe", "john@example.com");
+            var jane = createContact(2L, "Jane Smith", "jane@example.com");
+            fallbackService.saveContacts(List.of(john, jane));
+            var generation = generation(1);
+            when(contactRepository.findStaleIds(1, generation.startedAt())).thenReturn(List.of(2L), List.of());
+            when(contactRepository.deleteWithTombstones(anyCollection(), anyLong(), any(Instant.class), any(Instant.class)))
+                    .thenReturn(List.of(2L));
+
+            fallbackService.sweepGeneration(generation);
+            clearInvocations(contactRepository);
+            fallbackService.saveContacts(List.of(john, jane));
+
+            ArgumentCaptor<List<ContactEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(contactRepository).bulkUpsert(captor.capture());
+            assertThat(captor.getValue()).extracting(ContactEntity::id).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Should not delete anything when no contact is stale")
+        void shouldSkipWhenNothingIsStale() {
+            var generation = generation(1);
+            when(contactRepository.findStaleIds(1, generation.startedAt())).thenReturn(List.of());
+
+            assertThat(fallbackService.sweepGeneration(generation)).isZero();
+
+            verify(contactRepository, never()).deleteWithTombstones(anyCollection(), anyLong(), any(Instant.class), any(Instant.class));
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should only publish the contacts actually removed")
+        void shouldPublishOnlyRemovedContacts() {
+            var generation = generation(1);
+            when(contactRepository.findStaleIds(1, generation.startedAt())).thenReturn(List.of(2L, 3L), List.of());
+            when(contactRepository.deleteWithTombstones(anyCollection(), anyLong(), any(Instant.class), any(Instant.class)))
+                    .thenReturn(List.of(3L));
+
+            assertThat(fallbackService.sweepGeneration(generation)).isEqualTo(1);
+
+            assertThat(lastEvent()).isInstanceOfSatisfying(ContactChangeBatch.class, batch ->
+                    assertThat(batch.deleted()).containsExactly(3L));
+        }
+    }
+
+    private static ContactSyncState generation(long generation) {
+        Instant startedAt = Instant.parse("2024-01-01T00:00:00Z");
+        return new ContactSyncState(ContactSyncState.CONTACTS, generation, 2, startedAt, startedAt.plusSeconds(5));
+    }
+
+    private Object lastEvent() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+
+    private double documents(String outcome) {
+        return meterRegistry.get("contacts.persistence.documents").tag("outcome", outcome).counter().count();
     }
 }
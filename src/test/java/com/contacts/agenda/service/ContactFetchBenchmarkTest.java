@@ -0,0 +1,125 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.client.KenectLabsStreamingClient;
+import com.contacts.agenda.config.singleflight.InProcessSingleFlight;
+import com.contacts.agenda.model.Contact;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.web.client.RestClient;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContactList;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Wall-clock comparison between sequential and fan-out page fetching against a WireMock stand-in
+ * of the Kenect Labs API that answers every page after {@value #PAGE_LATENCY_MS}ms.
+ * <p>
+ * Excluded from {@code ./gradlew test}, run it with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Contact Fetch Benchmark")
+class ContactFetchBenchmarkTest {
+
+    private static final long PAGE_SIZE = 1000L;
+    private static final int PAGE_LATENCY_MS = 150;
+    private static final int CONCURRENCY = 8;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private WireMockServer wireMockServer;
+    private ResilientContactClient contactClient;
+    private ContactFallbackService fallbackService;
+    private ContactWriteBehindQueue writeBehindQueue;
+    private final ContactSnapshotHolder snapshotHolder = new ContactSnapshotHolder(new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort().containerThreads(64));
+        wireMockServer.start();
+
+        RestClient restClient = RestClient.builder()
+                .baseUrl(wireMockServer.baseUrl())
+                .build();
+        KenectLabsStreamingClient streamingClient = new KenectLabsStreamingClient(restClient, objectMapper);
+
+        fallbackService = mock(ContactFallbackService.class);
+        writeBehindQueue = mock(ContactWriteBehindQueue.class);
+
+        contactClient = new ResilientContactClient(streamingClient, fallbackService, mock(ContactWriteBehindQueue.class), new NoOpCacheManager());
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @ParameterizedTest(name = "{0} contacts")
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    @DisplayName("Sequential vs fan-out wall-clock time")
+    void compareSequentialAndFanOut(int totalContacts) throws Exception {
+        stubPages(totalContacts);
+
+        var sequential = new ContactService(contactClient, writeBehindQueue, fallbackService, new ContactPageFetcher(1), mock(ContactSyncJob.class), snapshotHolder, new InProcessSingleFlight(), PAGE_SIZE);
+        var fanOut = new ContactService(contactClient, writeBehindQueue, fallbackService, new ContactPageFetcher(CONCURRENCY), mock(ContactSyncJob.class), snapshotHolder, new InProcessSingleFlight(), PAGE_SIZE);
+
+        // warm up connections and JIT
+        sequential.getAllContacts();
+        fanOut.getAllContacts();
+
+        long sequentialMillis = measure(sequential, totalContacts);
+        long fanOutMillis = measure(fanOut, totalContacts);
+
+        System.out.printf("%,8d contacts | %3d pages | sequential %,6d ms | fan-out(x%d) %,6d ms%n",
+                totalContacts, Math.ceilDiv(totalContacts, PAGE_SIZE), sequentialMillis, CONCURRENCY, fanOutMillis);
+
+        assertThat(fanOutMillis).isLessThanOrEqualTo(sequentialMillis + PAGE_LATENCY_MS);
+    }
+
+    private long measure(ContactService contactService, int expectedContacts) {
+        long start = System.nanoTime();
+        List<Contact> contacts = contactService.getAllContacts();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(contacts).hasSize(expectedContacts);
+        return elapsedMillis;
+    }
+
+    private void stubPages(int totalContacts) throws Exception {
+        Instant now = Instant.now();
+        long pages = Math.ceilDiv(totalContacts, PAGE_SIZE);
+
+        for (long page = 1; page <= pages; page++) {
+            int firstId = (int) ((page - 1) * PAGE_SIZE + 1);
+            int size = (int) Math.min(PAGE_SIZE, totalContacts - (firstId - 1));
+            List<Contact> contacts = createContactList(size, "Benchmark Contact", now, firstId);
+
+            wireMockServer.stubFor(get(urlPathEqualTo("/api/v1/contacts"))
+                    .withQueryParam("page", equalTo(String.valueOf(page)))
+                    .withQueryParam("pageSize", equalTo(String.valueOf(PAGE_SIZE)))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withHeader("total-count", String.valueOf(totalContacts))
+                            .withFixedDelay(PAGE_LATENCY_MS)
+                            .withBody(objectMapper.writeValueAsString(contacts))));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ContactPageFetcher Tests")
+class ContactPageFetcherTest {
+
+    @Nested
+    @DisplayName("Fetch Pages")
+    class FetchPages {
+
+        @Test
+        @DisplayName("Should return pages in page order regardless of completion order")
+        void shouldReturnPagesInOrder() {
+            var fetcher = new ContactPageFetcher(8);
+
+            var pages = fetcher.fetchPages(2, 20, 10, (page, pageSize) -> {
+                sleep(ThreadLocalRandom.current().nextInt(1, 20));
+                return pageWithId(page);
+            });
+
+            assertThat(pages)
+                    .extracting(p -> p.getContacts().getFirst().id())
+                    .containsExactlyElementsOf(LongStream.rangeClosed(2, 20).boxed().toList());
+        }
+
+        @Test
+        @DisplayName("Should fetch only the given pages, in the given order")
+        void shouldFetchGivenPages() {
+            var fetcher = new ContactPageFetcher(4);
+
+            var pages = fetcher.fetchPages(List.of(2L, 5L, 6L, 9L), 10, (page, pageSize) -> {
+                sleep(ThreadLocalRandom.current().nextInt(1, 20));
+                return pageWithId(page);
+            });
+
+            assertThat(pages)
+                    .extracting(p -> p.getContacts().getFirst().id())
+                    .containsExactly(2L, 5L, 6L, 9L);
+        }
+
+        @Test
+        @DisplayName("Should never exceed the configured concurrency")
+        void shouldNeverExceedConfiguredConcurrency() {
+            var fetcher = new ContactPageFetcher(3);
+            var inFlight = new AtomicInteger();
+            var maxInFlight = new AtomicInteger();
+
+            fetcher.fetchPages(1, 30, 10, (page, pageSize) -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                sleep(5);
+                inFlight.decrementAndGet();
+                return pageWithId(page);
+            });
+
+            assertThat(maxInFlight.get()).isBetween(1, 3);
+        }
+
+        @Test
+        @DisplayName("Should run pages concurrently so wall-clock time stays near one page latency per slot")
+        void shouldRunPagesConcurrently() {
+            var fetcher = new ContactPageFetcher(10);
+
+            long start = System.nanoTime();
+            fetcher.fetchPages(1, 10, 10, (page, pageSize) -> {
+                sleep(200);
+                return pageWithId(page);
+            });
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertThat(elapsedMillis).isLessThan(1_000);
+        }
+
+        @Test
+        @DisplayName("Should return empty list when range is empty")
+        void shouldReturnEmptyListWhenRangeIsEmpty() {
+            var fetcher = new ContactPageFetcher(4);
+
+            var pages = fetcher.fetchPages(2, 1, 10, (page, pageSize) -> {
+                throw new AssertionError("Should not load any page");
+            });
+
+            assertThat(pages).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should propagate the failure of any page")
+        void shouldPropagateFailure() {
+            var fetcher = new ContactPageFetcher(4);
+
+            assertThatThrownBy(() -> fetcher.fetchPages(1, 8, 10, (page, pageSize) -> {
+                if (page == 5L) {
+                    throw new IllegalStateException("page 5 failed");
+                }
+                return pageWithId(page);
+            }))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("page 5 failed");
+        }
+
+        @Test
+        @DisplayName("Should reject non positive concurrency")
+        void shouldRejectNonPositiveConcurrency() {
+            assertThatThrownBy(() -> new ContactPageFetcher(0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static ContactPageResponse pageWithId(Long id) {
+        return ContactPageResponse.from(List.of(createContact(id, "Contact " + id, "contact" + id + "@example.com")), new HttpHeaders());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.exception.InvalidPageRequestException;
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactEntity;
+import com.contacts.agenda.model.ContactSyncState;
+import com.contacts.agenda.repository.ContactRepository;
+import com.contacts.agenda.repository.ContactSyncStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static com.contacts.agenda.fixture.ContactEntityFixture.createSimpleContact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContactPageService Tests")
+class ContactPageServiceTest {
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private ContactSyncStateRepository syncStateRepository;
+
+    private ContactPageService pageService;
+
+    private static final int MAX_LIMIT = 5;
+
+    @BeforeEach
+    void setUp() {
+        pageService = new ContactPageService(contactRepository, syncStateRepository, MAX_LIMIT);
+    }
+
+    @Nested
+    @DisplayName("Get Page")
+    class GetPage {
+
+        @Test
+        @DisplayName("Should start from the beginning and return next cursor when more contacts exist")
+        void shouldStartFromBeginningAndReturnNextCursor() {
+            when(contactRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(3)))
+                    .thenReturn(entities(1, 3));
+
+            var page = pageService.getPage(null, 2);
+
+            assertThat(page.contacts()).extracting(Contact::id).containsExactly(1L, 2L);
+            assertThat(page.nextCursor()).isEqualTo(ContactCursor.encode(2L));
+        }
+
+        @Test
+        @DisplayName("Should continue after the id encoded in the cursor")
+        void shouldContinueAfterCursor() {
+            when(contactRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+                    .thenReturn(entities(3, 4));
+
+            var page = pageService.getPage(ContactCursor.encode(2L), 2);
+
+            assertThat(page.contacts()).extracting(Contact::id).containsExactly(3L, 4L);
+            assertThat(page.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should return empty page without cursor when there are no more contacts")
+        void shouldReturnEmptyPage() {
+            when(contactRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class)))
+                    .thenReturn(List.of());
+
+            var page = pageService.getPage(ContactCursor.encode(99L), 2);
+
+            assertThat(page.contacts()).isEmpty();
+            assertThat(page.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should only page through contacts of the last completed generation")
+        void shouldPinToCompletedGeneration() {
+            when(syncStateRepository.findById(ContactSyncState.CONTACTS)).thenReturn(Optional.of(
+                    new ContactSyncState(ContactSyncState.CONTACTS, 3, 10, Instant.now(), Instant.now())));
+            when(contactRepository.findGenerationAfter(3, 2L, 3)).thenReturn(entities(3, 4));
+
+            var page = pageService.getPage(ContactCursor.encode(2L), 2);
+
+            assertThat(page.contacts()).extracting(Contact::id).containsExactly(3L, 4L);
+            verify(contactRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+        }
+
+        @Test
+        @DisplayName("Should cap limit to configured maximum")
+        void shouldCapLimitToMaximum() {
+            when(contactRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(MAX_LIMIT + 1)))
+                    .thenReturn(entities(1, MAX_LIMIT + 1));
+
+            var page = pageService.getPage(null, 1_000);
+
+            assertThat(page.contacts()).hasSize(MAX_LIMIT);
+            assertThat(page.nextCursor()).isEqualTo(ContactCursor.encode(MAX_LIMIT));
+        }
+
+        @Test
+        @DisplayName("Should reject non positive limit")
+        void shouldRejectNonPositiveLimit() {
+            assertThatThrownBy(() -> pageService.getPage(null, 0))
+                    .isInstanceOf(InvalidPageRequestException.class)
+                    .hasMessage("limit must be greater than zero");
+
+            verifyNoInteractions(contactRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void shouldRejectMalformedCursor() {
+            assertThatThrownBy(() -> pageService.getPage("not-a-cursor", 2))
+                    .isInstanceOf(InvalidPageRequestException.class)
+                    .hasMessage("Invalid cursor: not-a-cursor");
+
+            verifyNoInteractions(contactRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cursor Encoding")
+    class CursorEncoding {
+
+        @Test
+        @DisplayName("Should round-trip ids through opaque cursor")
+        void shouldRoundTripIds() {
+            assertThat(ContactCursor.decode(ContactCursor.encode(12345L))).isEqualTo(12345L);
+            assertThat(ContactCursor.encode(12345L)).doesNotContain("12345");
+        }
+    }
+
+    private static List<ContactEntity> entities(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> createSimpleContact(id, "Contact " + id, "contact" + id + "@example.com"))
+                .toList();
+    }
+}
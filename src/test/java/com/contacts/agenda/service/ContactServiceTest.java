@@ -1,7 +1,11 @@
 package com.contacts.agenda.service;
 
 import com.contacts.agenda.client.ContactPageResponse;
+import com.contacts.agenda.config.singleflight.InProcessSingleFlight;
 import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactDataset.StaleSegment;
+import com.contacts.agenda.model.ContactSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,7 +16,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static com.contacts.agenda.fixture.ContactFixture.createContact;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,17 +35,26 @@ class ContactServiceTest {
     @Mock
     private ResilientContactClient contactClient;
 
+    @Mock
+    private ContactWriteBehindQueue writeBehindQueue;
+
     @Mock
     private ContactFallbackService fallbackService;
 
+    @Mock
+    private ContactSyncJob syncJob;
+
     @InjectMocks
     private ContactService contactService;
 
+    private ContactSnapshotHolder snapshotHolder;
+
     private final Long defaultPageSize = 2L;
 
     @BeforeEach
     void setUp() {
-        contactService = new ContactService(contactClient, fallbackService, defaultPageSize);
+        snapshotHolder = new ContactSnapshotHolder(new SimpleMeterRegistry());
+        contactService = new ContactService(contactClient, writeBehindQueue, fallbackService, new ContactPageFetcher(4), syncJob, snapshotHolder, new InProcessSingleFlight(), defaultPageSize);
     }
 
     @Nested
@@ -57,7 +74,6 @@ class ContactServiceTest {
             var firstPage = ContactPageResponse.from(contacts, headers);
 
             when(contactClient.getContacts(1L, defaultPageSize)).thenReturn(firstPage);
-            when(fallbackService.saveContacts(anyList())).thenAnswer(i -> i.getArgument(0));
 
             var result = contactService.getAllContacts();
 
@@ -67,7 +83,8 @@ class ContactServiceTest {
 
             verify(contactClient).getContacts(1L, defaultPageSize);
             verify(contactClient, never()).getContacts(eq(2L), any());
-            verify(fallbackService).saveContacts(contacts);
+            verify(writeBehindQueue, never()).enqueue(anyList());
+            verify(fallbackService).publishSnapshot(contacts);
         }
 
         @Test
@@ -90,7 +107,6 @@ class ContactServiceTest {
 
             when(contactClient.getContacts(1L, defaultPageSize)).thenReturn(firstPage);
             when(contactClient.getContacts(2L, 2L)).thenReturn(secondPage);
-            when(fallbackService.saveContacts(anyList())).thenAnswer(i -> i.getArgument(0));
 
             var result = contactService.getAllContacts();
 
@@ -100,7 +116,31 @@ class ContactServiceTest {
 
             verify(contactClient).getContacts(1L, defaultPageSize);
             verify(contactClient).getContacts(2L, 2L);
-            verify(fallbackService).saveContacts(result);
+            verify(writeBehindQueue, never()).enqueue(anyList());
+        }
+
+        @Test
+        @DisplayName("Should fan out remaining pages with fixed page size and merge them in order")
+        void shouldFanOutRemainingPagesAndMergeInOrder() {
+            HttpHeaders firstHeaders = new HttpHeaders();
+            firstHeaders.add("total-count", "7");
+            var firstPage = ContactPageResponse.from(List.of(
+                    createContact(1L, "Contact 1", "contact1@example.com"),
+                    createContact(2L, "Contact 2", "contact2@example.com")
+            ), firstHeaders);
+
+            when(contactClient.getContacts(1L, defaultPageSize)).thenReturn(firstPage);
+            when(contactClient.getContacts(2L, defaultPageSize)).thenReturn(page(3L, 4L));
+            when(contactClient.getContacts(3L, defaultPageSize)).thenReturn(page(5L, 6L));
+            when(contactClient.getContacts(4L, defaultPageSize)).thenReturn(page(7L));
+
+            var result = contactService.getAllContacts();
+
+            assertThat(result)
+                    .extracting(Contact::id)
+                    .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+            verify(contactClient, never()).getContacts(5L, defaultPageSize);
+            verify(writeBehindQueue, never()).enqueue(anyList());
         }
 
         @Test
@@ -125,7 +165,31 @@ class ContactServiceTest {
             verify(contactClient).getContacts(1L, defaultPageSize);
 
             verify(contactClient, never()).getContacts(eq(2L), any());
-            verify(fallbackService, never()).saveContacts(anyList());
+            verify(writeBehindQueue, never()).enqueue(anyList());
+            verifyNoInteractions(fallbackService);
+        }
+
+        @Test
+        @DisplayName("Should read the rest of the stored dataset after a full fallback first page")
+        void shouldReadRestOfStoredDatasetAfterFullFallbackPage() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.add("x-fallback", "true");
+            var fallbackPage = ContactPageResponse.from(List.of(
+                    createContact(1L, "Stored 1", "stored1@example.com"),
+                    createContact(2L, "Stored 2", "stored2@example.com")
+            ), headers);
+
+            when(contactClient.getContacts(1L, defaultPageSize)).thenReturn(fallbackPage);
+            when(fallbackService.getContactsAfter(2L)).thenReturn(List.of(
+                    createContact(3L, "Stored 3", "stored3@example.com")
+            ));
+
+            var result = contactService.getAllContacts();
+
+            assertThat(result).extracting(Contact::id).containsExactly(1L, 2L, 3L);
+            assertThat(contactService.getAllContactsDataset().staleSegments()).containsExactly(new StaleSegment(0, 3));
+            verify(contactClient, never()).getContacts(eq(2L), any());
+            verify(writeBehindQueue, never()).enqueue(anyList());
         }
 
         @Test
@@ -136,14 +200,148 @@ class ContactServiceTest {
             var emptyPage = ContactPageResponse.from(List.of(), headers);
 
             when(contactClient.getContacts(1L, defaultPageSize)).thenReturn(emptyPage);
-            when(fallbackService.saveContacts(anyList())).thenAnswer(i -> i.getArgument(0));
 
             var result = contactService.getAllContacts();
 
             assertThat(result).isEmpty();
             verify(contactClient).getContacts(1L, defaultPageSize);
             verify(contactClient, never()).getContacts(eq(2L), any());
-            verify(fallbackService).saveContacts(List.of());
+            verify(writeBehindQueue, never()).enqueue(anyList());
         }
     }
+
+    @Nested
+    @DisplayName("Partial Fallback")
+    class PartialFallback {
+
+        @Test
+        @DisplayName("Should keep the live pages and fill a failed page between them from the stored dataset")
+        void shouldFillFailedPageBetweenLivePages() {
+            when(contactClient.getContacts(1L, defaultPageSize)).thenReturn(firstPage(6, 1L, 2L));
+            when(contactClient.getContacts(2L, defaultPageSize)).thenReturn(storedPage(3L, 4L));
+            when(contactClient.getContacts(3L, defaultPageSize)).thenReturn(page(5L, 6L));
+            when(fallbackService.getContactsBetween(2L, 5L)).thenReturn(List.of(
+                    createContact(3L, "Stored 3", "stored3@example.com"),
+                    createContact(4L, "Stored 4", "stored4@example.com")
+            ));
+
+            var result = contactService.getAllContactsDataset();
+
+            assertThat(result.contacts())
+                    .extracting(Contact::name)
+                    .containsExactly("Contact 1", "Contact 2", "Stored 3", "Stored 4", "Contact 5", "Contact 6");
+            assertThat(result.staleSegments()).containsExactly(new StaleSegment(2, 4));
+            verify(writeBehindQueue, never()).enqueue(anyList());
+            verify(fallbackService, never()).publishSnapshot(anyList());
+            verify(fallbackService, never()).getContactsFromDatabase();
+        }
+
+        @Test
+        @DisplayName("Should fill the failed last pages with the rest of the stored dataset")
+        void shouldFillFailedLastPages() {
+            when(contactClient.getContacts(1L, defaultPageSize)).thenReturn(firstPage(6, 1L, 2L));
+            when(contactClient.getContacts(2L, defaultPageSize)).thenReturn(storedPage(3L, 4L));
+            when(contactClient.getContacts(3L, defaultPageSize)).thenReturn(storedPage(5L, 6L));
+            when(fallbackService.getContactsAfter(2L)).thenReturn(List.of(
+                    createContact(3L, "Stored 3", "stored3@example.com"),
+                    createContact(4L, "Stored 4", "stored4@example.com"),
+                    createContact(6L, "Stored 6", "stored6@example.com")
+            ));
+
+            var result = contactService.getAllContactsDataset();
+
+            assertThat(result.contacts()).extracting(Contact::id).containsExactly(1L, 2L, 3L, 4L, 6L);
+            assertThat(result.staleSegments()).containsExactly(new StaleSegment(2, 5));
+        }
+
+        @Test
+        @DisplayName("Should use the stored pages as they are when upstream ids aren't ordered")
+        void shouldUseStoredPagesWhenIdsAreNotOrdered() {
+            when(contactClient.getContacts(1L, defaultPageSize)).thenReturn(firstPage(6, 10L, 11L));
+            when(contactClient.getContacts(2L, defaultPageSize)).thenReturn(storedPage(3L, 4L));
+            when(contactClient.getContacts(3L, defaultPageSize)).thenReturn(page(5L, 6L));
+
+            var result = contactService.getAllContactsDataset();
+
+            assertThat(result.contacts()).extracting(Contact::id).containsExactly(10L, 11L, 3L, 4L, 5L, 6L);
+            assertThat(result.staleSegments()).containsExactly(new StaleSegment(2, 4));
+            verify(fallbackService, never()).getContactsBetween(anyLong(), anyLong());
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh-ahead Snapshot")
+    class RefreshAheadSnapshot {
+
+        @Test
+        @DisplayName("Should serve published snapshot without calling the external API")
+        void shouldServeSnapshotWithoutCallingApi() {
+            var contacts = List.of(createContact(1L, "Snapshot Contact", "snapshot@example.com"));
+            snapshotHolder.publish(new ContactSnapshot(contacts, Instant.now(), Duration.ofMillis(10)));
+
+            var result = contactService.getAllContacts();
+
+            assertThat(result).isEqualTo(contacts);
+            verifyNoInteractions(contactClient, writeBehindQueue);
+        }
+
+        @Test
+        @DisplayName("Should persist and publish the dataset of the sync job")
+        void shouldPersistRefreshedDataset() {
+            var contacts = List.of(
+                    createContact(1L, "Contact 1", "contact1@example.com"),
+                    createContact(2L, "Contact 2", "contact2@example.com")
+            );
+            when(syncJob.run()).thenReturn(Optional.of(new ContactSyncJob.SyncedContacts(contacts, false)));
+
+            var result = contactService.refreshAllContacts();
+
+            assertThat(result).hasValue(new ContactSyncJob.SyncedContacts(contacts, false));
+            verify(writeBehindQueue).enqueue(contacts);
+            verify(fallbackService).publishSnapshot(contacts);
+            verifyNoInteractions(contactClient);
+        }
+
+        @Test
+        @DisplayName("Should only upsert a drifted dataset, never publish it as the fallback snapshot")
+        void shouldOnlyUpsertDriftedDataset() {
+            var contacts = List.of(createContact(1L, "Contact 1", "contact1@example.com"));
+            when(syncJob.run()).thenReturn(Optional.of(new ContactSyncJob.SyncedContacts(contacts, true)));
+
+            var result = contactService.refreshAllContacts();
+
+            assertThat(result).hasValueSatisfying(synced -> assertThat(synced.drifted()).isTrue());
+            verify(writeBehindQueue).enqueue(contacts);
+            verifyNoInteractions(fallbackService);
+        }
+
+        @Test
+        @DisplayName("Should return empty refresh result when the external API falls back")
+        void shouldReturnEmptyWhenRefreshFallsBack() {
+            when(syncJob.run()).thenReturn(Optional.empty());
+
+            assertThat(contactService.refreshAllContacts()).isEmpty();
+            verify(writeBehindQueue, never()).enqueue(anyList());
+            verifyNoInteractions(fallbackService);
+        }
+    }
+
+    private static ContactPageResponse firstPage(long totalCount, Long... ids) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("total-count", String.valueOf(totalCount));
+        return ContactPageResponse.from(page(ids).getContacts(), headers);
+    }
+
+    private static ContactPageResponse storedPage(Long... ids) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("x-fallback", "true");
+        return ContactPageResponse.from(page(ids).getContacts(), headers);
+    }
+
+    private static ContactPageResponse page(Long... ids) {
+        List<Contact> contacts = Arrays.stream(ids)
+                .map(id -> createContact(id, "Contact " + id, "contact" + id + "@example.com"))
+                .toList();
+        return ContactPageResponse.from(contacts, new HttpHeaders());
+    }
 }
@@ -0,0 +1,253 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import com.contacts.agenda.client.KenectLabsStreamingClient;
+import com.contacts.agenda.config.singleflight.InProcessSingleFlight;
+import com.contacts.agenda.config.singleflight.RedisSingleFlight;
+import com.contacts.agenda.config.singleflight.SingleFlight;
+import com.contacts.agenda.config.singleflight.SingleFlightProperties;
+import com.contacts.agenda.model.Contact;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.client.RestClient;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContactList;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Simulates a cache expiry under load: {@value #CLIENTS} clients ask for every contact at the same
+ * moment and the number of requests reaching the WireMock stand-in of the Kenect Labs API is counted,
+ * with and without {@link SingleFlight}.
+ * <p>
+ * A second run splits the clients over two instances sharing a Redis page cache and counts the requests
+ * of every cache expiry, with each instance coalescing on its own and with {@link RedisSingleFlight}.
+ * <p>
+ * Excluded from {@code ./gradlew test}, run it with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+@DisplayName("Contact Stampede Benchmark")
+class ContactStampedeBenchmarkTest {
+
+    @Container
+    static GenericContainer<?> redisContainer = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static final long PAGE_SIZE = 1000L;
+    private static final int TOTAL_CONTACTS = 5_000;
+    private static final int PAGE_LATENCY_MS = 200;
+    private static final int CLIENTS = 500;
+    private static final int EXPIRIES = 3;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private WireMockServer wireMockServer;
+    private KenectLabsStreamingClient streamingClient;
+    private ResilientContactClient contactClient;
+    private ContactWriteBehindQueue writeBehindQueue;
+    private final ContactSnapshotHolder snapshotHolder = new ContactSnapshotHolder(new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() throws Exception {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort().containerThreads(CLIENTS + 16));
+        wireMockServer.start();
+        stubPages();
+
+        RestClient restClient = RestClient.builder()
+                .baseUrl(wireMockServer.baseUrl())
+                .build();
+        streamingClient = new KenectLabsStreamingClient(restClient, objectMapper);
+
+        writeBehindQueue = mock(ContactWriteBehindQueue.class);
+        contactClient = new ResilientContactClient(streamingClient, mock(ContactFallbackService.class), mock(ContactWriteBehindQueue.class), new NoOpCacheManager());
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    @DisplayName("Upstream requests with and without single-flight")
+    void compareUpstreamRequests() throws Exception {
+        SingleFlight passThrough = new SingleFlight() {
+            @Override
+            public <T> T execute(String key, Supplier<T> loader) {
+                return loader.get();
+            }
+        };
+
+        long withoutMillis = stampede(contactService(contactClient, passThrough));
+        int withoutRequests = upstreamRequests();
+
+        wireMockServer.resetRequests();
+
+        long withMillis = stampede(contactService(contactClient, new InProcessSingleFlight()));
+        int withRequests = upstreamRequests();
+
+        long pages = Math.ceilDiv(TOTAL_CONTACTS, PAGE_SIZE);
+        System.out.printf("%d clients | %d pages | without single-flight %,6d requests %,6d ms | with single-flight %,6d requests %,6d ms%n",
+                CLIENTS, pages, withoutRequests, withoutMillis, withRequests, withMillis);
+
+        assertThat(withRequests).isLessThan(withoutRequests);
+        assertThat((long) withRequests).isLessThanOrEqualTo(pages * 2);
+    }
+
+    @Test
+    @DisplayName("Upstream requests per cache expiry across two instances")
+    void compareUpstreamRequestsAcrossInstances() throws Exception {
+        SingleFlightProperties properties = new SingleFlightProperties();
+        LettuceConnectionFactory firstConnection = connect();
+        LettuceConnectionFactory secondConnection = connect();
+        try {
+            List<Integer> localRequests = expiries(firstConnection, secondConnection,
+                    connection -> new InProcessSingleFlight());
+            List<Integer> redisRequests = expiries(firstConnection, secondConnection,
+                    connection -> new RedisSingleFlight(new StringRedisTemplate(connection), new InProcessSingleFlight(), properties));
+
+            long pages = Math.ceilDiv(TOTAL_CONTACTS, PAGE_SIZE);
+            System.out.printf("2 instances x %d clients | %d pages | per expiry: local single-flight %s requests | redis single-flight %s requests%n",
+                    CLIENTS / 2, pages, localRequests, redisRequests);
+
+            assertThat(redisRequests).allSatisfy(requests -> assertThat((long) requests).isLessThanOrEqualTo(pages));
+            assertThat(redisRequests.stream().mapToInt(Integer::intValue).sum())
+                    .isLessThan(localRequests.stream().mapToInt(Integer::intValue).sum());
+        } finally {
+            firstConnection.destroy();
+            secondConnection.destroy();
+        }
+    }
+
+    /**
+     * Runs {@value #EXPIRIES} stampedes against two instances, emptying the shared page cache before each
+     * one, and returns the upstream requests each of them caused.
+     */
+    private List<Integer> expiries(LettuceConnectionFactory firstConnection, LettuceConnectionFactory secondConnection,
+                                   Function<LettuceConnectionFactory, SingleFlight> singleFlight) throws Exception {
+        ContactService firstInstance = contactService(cachingClient(firstConnection), singleFlight.apply(firstConnection));
+        ContactService secondInstance = contactService(cachingClient(secondConnection), singleFlight.apply(secondConnection));
+
+        List<Integer> requests = new ArrayList<>(EXPIRIES);
+        for (int expiry = 0; expiry < EXPIRIES; expiry++) {
+            RedisCacheManager.create(firstConnection).getCache("contactPages").clear();
+            wireMockServer.resetRequests();
+
+            stampede(firstInstance, secondInstance);
+            requests.add(upstreamRequests());
+        }
+        return requests;
+    }
+
+    /**
+     * Stands in for the {@code @Cacheable(sync = true)} proxy of the application, reading pages through
+     * the Redis cache the instances share.
+     */
+    private ResilientContactClient cachingClient(LettuceConnectionFactory connection) {
+        CacheManager cacheManager = RedisCacheManager.create(connection);
+        Cache pages = cacheManager.getCache("contactPages");
+
+        return new ResilientContactClient(streamingClient, mock(ContactFallbackService.class), mock(ContactWriteBehindQueue.class), cacheManager) {
+            @Override
+            public ContactPageResponse getContacts(Long page, Long pageSize) {
+                return pages.get(page + "-" + pageSize, () -> super.getContacts(page, pageSize));
+            }
+        };
+    }
+
+    private ContactService contactService(ResilientContactClient client, SingleFlight singleFlight) {
+        return new ContactService(client, writeBehindQueue, mock(ContactFallbackService.class), new ContactPageFetcher(8), mock(ContactSyncJob.class), snapshotHolder, singleFlight, PAGE_SIZE);
+    }
+
+    /**
+     * {@value #CLIENTS} clients spread over the instances, all asking for every contact at once.
+     */
+    private long stampede(ContactService... instances) throws Exception {
+        var start = new CountDownLatch(1);
+        List<Future<List<Contact>>> results = new ArrayList<>(CLIENTS);
+
+        long begin;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                ContactService contactService = instances[i % instances.length];
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return contactService.getAllContacts();
+                }));
+            }
+            begin = System.nanoTime();
+            start.countDown();
+        }
+        long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+
+        for (Future<List<Contact>> result : results) {
+            assertThat(result.get()).hasSize(TOTAL_CONTACTS);
+        }
+        return elapsedMillis;
+    }
+
+    private static LettuceConnectionFactory connect() {
+        var connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisContainer.getHost(), redisContainer.getFirstMappedPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        return connectionFactory;
+    }
+
+    private int upstreamRequests() {
+        return wireMockServer.findAll(getRequestedFor(urlPathEqualTo("/api/v1/contacts"))).size();
+    }
+
+    private void stubPages() throws Exception {
+        Instant now = Instant.now();
+        long pages = Math.ceilDiv(TOTAL_CONTACTS, PAGE_SIZE);
+
+        for (long page = 1; page <= pages; page++) {
+            int firstId = (int) ((page - 1) * PAGE_SIZE + 1);
+            List<Contact> contacts = createContactList((int) PAGE_SIZE, "Stampede Contact", now, firstId);
+
+            wireMockServer.stubFor(get(urlPathEqualTo("/api/v1/contacts"))
+                    .withQueryParam("page", equalTo(String.valueOf(page)))
+                    .withQueryParam("pageSize", equalTo(String.valueOf(PAGE_SIZE)))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withHeader("total-count", String.valueOf(TOTAL_CONTACTS))
+                            .withFixedDelay(PAGE_LATENCY_MS)
+                            .withBody(objectMapper.writeValueAsString(contacts))));
+        }
+    }
+}
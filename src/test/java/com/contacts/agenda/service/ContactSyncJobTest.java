@@ -0,0 +1,279 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import com.contacts.agenda.config.sync.ContactSyncProperties;
+import com.contacts.agenda.model.Contact;
+import com.contacts.agenda.model.ContactSyncCheckpoint;
+import com.contacts.agenda.repository.ContactSyncCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContactSyncJob Tests")
+class ContactSyncJobTest {
+
+    private static final long PAGE_SIZE = 2L;
+
+    @Mock
+    private ResilientContactClient contactClient;
+
+    @Mock
+    private ContactSyncCheckpointRepository checkpointRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContactSyncProperties properties;
+    private ContactSyncJob syncJob;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ContactSyncProperties();
+        syncJob = new ContactSyncJob(contactClient, new ContactPageFetcher(1), checkpointRepository, properties, meterRegistry, PAGE_SIZE);
+    }
+
+    @Nested
+    @DisplayName("Full Sync")
+    class FullSync {
+
+        @Test
+        @DisplayName("Should fetch every page in order and report throughput")
+        void shouldFetchEveryPage() {
+            when(contactClient.refreshContacts(1L, PAGE_SIZE)).thenReturn(page(5, 1L, 2L));
+            when(contactClient.refreshContacts(2L, PAGE_SIZE)).thenReturn(page(5, 3L, 4L));
+            when(contactClient.refreshContacts(3L, PAGE_SIZE)).thenReturn(page(5, 5L));
+
+            var result = syncJob.run();
+
+            assertThat(result).hasValueSatisfying(synced ->
+                    assertThat(synced.contacts()).extracting(Contact::id).containsExactly(1L, 2L, 3L, 4L, 5L));
+            assertThat(pages("upstream")).isEqualTo(3);
+            assertThat(meterRegistry.get("contacts.sync.throughput.pages").gauge().value()).isPositive();
+            assertThat(meterRegistry.get("contacts.sync.throughput.contacts").gauge().value()).isPositive();
+            verify(checkpointRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should checkpoint the completed pages when a page falls back")
+        void shouldCheckpointCompletedPages() {
+            when(contactClient.refreshContacts(1L, PAGE_SIZE)).thenReturn(page(5, 1L, 2L));
+            when(contactClient.refreshContacts(2L, PAGE_SIZE)).thenReturn(fallbackPage());
+            when(contactClient.refreshContacts(3L, PAGE_SIZE)).thenReturn(page(5, 5L));
+
+            assertThat(syncJob.run()).isEmpty();
+
+            ArgumentCaptor<ContactSyncCheckpoint> captor = ArgumentCaptor.forClass(ContactSyncCheckpoint.class);
+            verify(checkpointRepository).save(captor.capture());
+            assertThat(captor.getValue().completedPages()).containsExactly(1L, 3L);
+            assertThat(captor.getValue().totalCount()).isEqualTo(5);
+            assertThat(captor.getValue().pageSize()).isEqualTo(PAGE_SIZE);
+        }
+
+        @Test
+        @DisplayName("Should not checkpoint anything when the first page falls back")
+        void shouldNotCheckpointFallbackFirstPage() {
+            when(contactClient.refreshContacts(1L, PAGE_SIZE)).thenReturn(fallbackPage());
+
+            assertThat(syncJob.run()).isEmpty();
+
+            verify(contactClient, times(1)).refreshContacts(anyLong(), anyLong());
+            verify(checkpointRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Resume")
+    class Resume {
+
+        @Test
+        @DisplayName("Should only fetch the pages missing from the checkpoint")
+        void shouldResumeFromCheckpoint() {
+            when(checkpointRepository.findById(ContactSyncCheckpoint.CONTACTS))
+                    .thenReturn(Optional.of(checkpoint(List.of(1L, 3L), Instant.now())));
+            when(contactClient.getCachedContacts(1L, PAGE_SIZE)).thenReturn(Optional.of(page(5, 1L, 2L)));
+            when(contactClient.getCachedContacts(3L, PAGE_SIZE)).thenReturn(Optional.of(page(5, 5L)));
+            when(contactClient.refreshContacts(2L, PAGE_SIZE)).thenReturn(page(5, 3L, 4L));
+
+            var result = syncJob.run();
+
+            assertThat(result).hasValueSatisfying(synced ->
+                    assertThat(synced.contacts()).extracting(Contact::id).containsExactly(1L, 2L, 3L, 4L, 5L));
+            verify(contactClient, times(1)).refreshContacts(anyLong(), anyLong());
+            verify(checkpointRepository).deleteById(ContactSyncCheckpoint.CONTACTS);
+            assertThat(pages("checkpoint")).isEqualTo(2);
+            assertThat(pages("upstream")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should fetch a checkpointed page again when it's no longer cached")
+        void shouldRefetchEvictedPage() {
+            when(checkpointRepository.findById(ContactSyncCheckpoint.CONTACTS))
+                    .thenReturn(Optional.of(checkpoint(List.of(1L, 3L), Instant.now())));
+            when(contactClient.getCachedContacts(1L, PAGE_SIZE)).thenReturn(Optional.of(page(5, 1L, 2L)));
+            when(contactClient.getCachedContacts(3L, PAGE_SIZE)).thenReturn(Optional.empty());
+            when(contactClient.refreshContacts(2L, PAGE_SIZE)).thenReturn(page(5, 3L, 4L));
+            when(contactClient.refreshContacts(3L, PAGE_SIZE)).thenReturn(page(5, 5L));
+
+            assertThat(syncJob.run()).hasValueSatisfying(synced -> assertThat(synced.contacts()).hasSize(5));
+            verify(contactClient, never()).refreshContacts(1L, PAGE_SIZE);
+        }
+
+        @Test
+        @DisplayName("Should start from page 1 when the checkpoint expired")
+        void shouldIgnoreExpiredCheckpoint() {
+            when(checkpointRepository.findById(ContactSyncCheckpoint.CONTACTS)).thenReturn(Optional.of(
+                    checkpoint(List.of(1L), Instant.now().minus(properties.getCheckpointTtl()).minusSeconds(1))));
+            when(contactClient.refreshContacts(1L, PAGE_SIZE)).thenReturn(page(2, 1L, 2L));
+
+            assertThat(syncJob.run()).hasValueSatisfying(synced -> assertThat(synced.contacts()).hasSize(2));
+            verify(contactClient, never()).getCachedContacts(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should expire a checkpoint from the sync that started it, even when resumed passes keep failing")
+        void shouldExpireCheckpointSavedByFailedResumes() {
+            Instant startedAt = Instant.now().minus(Duration.ofMinutes(10));
+            var resumable = checkpoint(List.of(1L), startedAt, Instant.now().minusSeconds(30));
+            var expired = checkpoint(List.of(1L, 3L), Instant.now().minus(properties.getCheckpointTtl()).minusSeconds(1), Instant.now());
+            when(checkpointRepository.findById(ContactSyncCheckpoint.CONTACTS))
+                    .thenReturn(Optional.of(resumable), Optional.of(expired));
+            when(contactClient.getCachedContacts(1L, PAGE_SIZE)).thenReturn(Optional.of(page(5, 1L, 2L)));
+            when(contactClient.refreshContacts(2L, PAGE_SIZE)).thenReturn(fallbackPage());
+            when(contactClient.refreshContacts(3L, PAGE_SIZE)).thenReturn(page(5, 5L));
+
+            assertThat(syncJob.run()).isEmpty();
+
+            ArgumentCaptor<ContactSyncCheckpoint> captor = ArgumentCaptor.forClass(ContactSyncCheckpoint.class);
+            verify(checkpointRepository).save(captor.capture());
+            assertThat(captor.getValue().startedAt()).isEqualTo(startedAt);
+            assertThat(captor.getValue().updatedAt()).isAfter(resumable.updatedAt());
+
+            when(contactClient.refreshContacts(1L, PAGE_SIZE)).thenReturn(page(2, 1L, 2L));
+
+            assertThat(syncJob.run()).hasValueSatisfying(synced -> assertThat(synced.contacts()).hasSize(2));
+            verify(contactClient, times(1)).getCachedContacts(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should start from page 1 when the checkpoint can't be read")
+        void shouldStartOverWhenCheckpointUnreadable() {
+            when(checkpointRepository.findById(ContactSyncCheckpoint.CONTACTS)).thenThrow(new IllegalStateException("mongo down"));
+            when(contactClient.refreshContacts(1L, PAGE_SIZE)).thenReturn(page(2, 1L, 2L));
+
+            assertThat(syncJob.run()).hasValueSatisfying(synced -> assertThat(synced.contacts()).hasSize(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Drift Detection")
+    class DriftDetection {
+
+        @Test
+        @DisplayName("Should start over from page 1 when the total count changes between pages")
+        void shouldRestartOnDrift() {
+            when(contactClient.refreshContacts(1L, PAGE_SIZE)).thenReturn(page(4, 1L, 2L), page(5, 1L, 2L));
+            when(contactClient.refreshContacts(2L, PAGE_SIZE)).thenReturn(page(5, 3L, 4L));
+            when(contactClient.refreshContacts(3L, PAGE_SIZE)).thenReturn(page(5, 5L));
+
+            var result = syncJob.run();
+
+            assertThat(result).hasValueSatisfying(synced ->
+                    assertThat(synced.contacts()).extracting(Contact::id).containsExactly(1L, 2L, 3L, 4L, 5L));
+            verify(contactClient, times(2)).refreshContacts(1L, PAGE_SIZE);
+            assertThat(meterRegistry.get("contacts.sync.drift").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should merge the pages as they are once restarts are exhausted")
+        void shouldMergeAfterRestartsExhausted() {
+            properties.setMaxDriftRestarts(0);
+            when(contactClient.refreshContacts(1L, PAGE_SIZE)).thenReturn(page(4, 1L, 2L));
+            when(contactClient.refreshContacts(2L, PAGE_SIZE)).thenReturn(page(5, 3L, 4L));
+
+            assertThat(syncJob.run()).hasValueSatisfying(synced -> {
+                assertThat(synced.contacts()).hasSize(4);
+                assertThat(synced.drifted()).isTrue();
+            });
+            verify(contactClient, times(1)).refreshContacts(1L, PAGE_SIZE);
+        }
+
+        @Test
+        @DisplayName("Should checkpoint instead of merging when a drifted pass also has a fallen back page")
+        void shouldNotMergeDriftedPassWithFallbackPage() {
+            properties.setMaxDriftRestarts(0);
+            when(contactClient.refreshContacts(1L, PAGE_SIZE)).thenReturn(page(6, 1L, 2L));
+            when(contactClient.refreshContacts(2L, PAGE_SIZE)).thenReturn(page(7, 3L, 4L));
+            when(contactClient.refreshContacts(3L, PAGE_SIZE)).thenReturn(fallbackPage());
+
+            assertThat(syncJob.run()).isEmpty();
+
+            ArgumentCaptor<ContactSyncCheckpoint> captor = ArgumentCaptor.forClass(ContactSyncCheckpoint.class);
+            verify(checkpointRepository).save(captor.capture());
+            assertThat(captor.getValue().completedPages()).containsExactly(1L, 2L);
+            verify(checkpointRepository, never()).deleteById(any());
+        }
+
+        @Test
+        @DisplayName("Should discard a checkpoint whose pages drifted")
+        void shouldDiscardDriftedCheckpoint() {
+            when(checkpointRepository.findById(ContactSyncCheckpoint.CONTACTS))
+                    .thenReturn(Optional.of(checkpoint(List.of(1L), Instant.now())));
+            when(contactClient.getCachedContacts(1L, PAGE_SIZE)).thenReturn(Optional.of(page(5, 1L, 2L)));
+            when(contactClient.refreshContacts(2L, PAGE_SIZE)).thenReturn(page(3, 3L, 4L));
+            when(contactClient.refreshContacts(3L, PAGE_SIZE)).thenReturn(page(3, 5L));
+            when(contactClient.refreshContacts(1L, PAGE_SIZE)).thenReturn(page(3, 1L, 2L));
+
+            var result = syncJob.run();
+
+            assertThat(result).hasValueSatisfying(synced ->
+                    assertThat(synced.contacts()).extracting(Contact::id).containsExactly(1L, 2L, 3L, 4L));
+            verify(contactClient).refreshContacts(1L, PAGE_SIZE);
+            assertThat(meterRegistry.get("contacts.sync.drift").counter().count()).isEqualTo(1);
+        }
+    }
+
+    private double pages(String source) {
+        return meterRegistry.get("contacts.sync.pages").tag("source", source).counter().count();
+    }
+
+    private static ContactSyncCheckpoint checkpoint(List<Long> completedPages, Instant updatedAt) {
+        return checkpoint(completedPages, updatedAt.minus(Duration.ofMinutes(1)), updatedAt);
+    }
+
+    private static ContactSyncCheckpoint checkpoint(List<Long> completedPages, Instant startedAt, Instant updatedAt) {
+        return new ContactSyncCheckpoint(ContactSyncCheckpoint.CONTACTS, PAGE_SIZE, 5, completedPages, startedAt, updatedAt);
+    }
+
+    private static ContactPageResponse page(long totalCount, Long... ids) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("total-count", String.valueOf(totalCount));
+        return ContactPageResponse.from(Arrays.stream(ids)
+                .map(id -> createContact(id, "Contact " + id, "contact" + id + "@example.com"))
+                .toList(), headers);
+    }
+
+    private static ContactPageResponse fallbackPage() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("x-fallback", "true");
+        return ContactPageResponse.from(List.of(createContact(1L, "Stored", "stored@example.com")), headers);
+    }
+}
@@ -0,0 +1,169 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.config.sync.ContactSyncProperties;
+import com.contacts.agenda.model.ContactSnapshot;
+import com.contacts.agenda.model.ContactSyncState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContactSyncService Tests")
+class ContactSyncServiceTest {
+
+    @Mock
+    private ContactService contactService;
+
+    @Mock
+    private ContactFallbackService fallbackService;
+
+    @Mock
+    private ContactWriteBehindQueue writeBehindQueue;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContactSnapshotHolder snapshotHolder;
+    private ContactSyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        snapshotHolder = new ContactSnapshotHolder(meterRegistry);
+        syncService = new ContactSyncService(contactService, fallbackService, writeBehindQueue, snapshotHolder, new ContactSyncProperties(), meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("Sync Now")
+    class SyncNow {
+
+        @Test
+        @DisplayName("Should publish a new snapshot when the refresh succeeds")
+        void shouldPublishSnapshotOnSuccess() {
+            var contacts = List.of(createContact(1L, "Contact 1", "contact1@example.com"));
+            when(contactService.refreshAllContacts()).thenReturn(Optional.of(new ContactSyncJob.SyncedContacts(contacts, false)));
+
+            var published = syncService.syncNow();
+
+            assertThat(published).isTrue();
+            assertThat(snapshotHolder.current()).hasValueSatisfying(snapshot ->
+                    assertThat(snapshot.contacts()).isEqualTo(contacts));
+            assertThat(meterRegistry.get("contacts.sync.duration").tag("outcome", "success").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should flush, commit and sweep a generation of a live dataset")
+        void shouldCompleteGenerationOnSuccess() {
+            var contacts = List.of(createContact(1L, "Contact 1", "contact1@example.com"));
+            var generation = new ContactSyncState(ContactSyncState.CONTACTS, 3, 1, Instant.now(), Instant.now());
+            when(contactService.refreshAllContacts()).thenReturn(Optional.of(new ContactSyncJob.SyncedContacts(contacts, false)));
+            when(fallbackService.commitGeneration(eq(contacts), any(Instant.class))).thenReturn(Optional.of(generation));
+
+            syncService.syncNow();
+
+            InOrder order = inOrder(writeBehindQueue, fallbackService);
+            order.verify(writeBehindQueue).flush();
+            order.verify(fallbackService).commitGeneration(eq(contacts), any(Instant.class));
+            order.verify(fallbackService).sweepGeneration(generation);
+        }
+
+        @Test
+        @DisplayName("Should not commit a generation when the write-behind flush fails")
+        void shouldSkipGenerationWhenFlushFails() {
+            var contacts = List.of(createContact(1L, "Contact 1", "contact1@example.com"));
+            when(contactService.refreshAllContacts()).thenReturn(Optional.of(new ContactSyncJob.SyncedContacts(contacts, false)));
+            doThrow(new IllegalStateException("mongo down")).when(writeBehindQueue).flush();
+
+            var published = syncService.syncNow();
+
+            assertThat(published).isTrue();
+            verify(fallbackService, never()).commitGeneration(anyList(), any(Instant.class));
+        }
+
+        @Test
+        @DisplayName("Should still publish the snapshot when completing the generation fails")
+        void shouldPublishWhenGenerationFails() {
+            var contacts = List.of(createContact(1L, "Contact 1", "contact1@example.com"));
+            when(contactService.refreshAllContacts()).thenReturn(Optional.of(new ContactSyncJob.SyncedContacts(contacts, false)));
+            when(fallbackService.commitGeneration(eq(contacts), any(Instant.class))).thenThrow(new IllegalStateException("mongo down"));
+
+            var published = syncService.syncNow();
+
+            assertThat(published).isTrue();
+            assertThat(snapshotHolder.current()).isPresent();
+        }
+
+        @Test
+        @DisplayName("Should keep the current snapshot when the external API falls back")
+        void shouldKeepSnapshotOnFallback() {
+            var previous = publishPreviousSnapshot();
+            when(contactService.refreshAllContacts()).thenReturn(Optional.empty());
+
+            var published = syncService.syncNow();
+
+            assertThat(published).isFalse();
+            assertThat(snapshotHolder.current()).containsSame(previous);
+            assertThat(meterRegistry.get("contacts.sync.duration").tag("outcome", "fallback").timer().count()).isEqualTo(1);
+            verify(fallbackService, never()).commitGeneration(anyList(), any(Instant.class));
+        }
+
+        @Test
+        @DisplayName("Should keep the current snapshot and generation when the sync drifted")
+        void shouldKeepSnapshotAndGenerationOnDrift() {
+            var previous = publishPreviousSnapshot();
+            var contacts = List.of(createContact(1L, "Contact 1", "contact1@example.com"));
+            when(contactService.refreshAllContacts()).thenReturn(Optional.of(new ContactSyncJob.SyncedContacts(contacts, true)));
+
+            var published = syncService.syncNow();
+
+            assertThat(published).isFalse();
+            assertThat(snapshotHolder.current()).containsSame(previous);
+            assertThat(meterRegistry.get("contacts.sync.duration").tag("outcome", "drift").timer().count()).isEqualTo(1);
+            verify(fallbackService, never()).commitGeneration(anyList(), any(Instant.class));
+            verify(fallbackService, never()).sweepGeneration(any());
+        }
+
+        @Test
+        @DisplayName("Should keep the current snapshot when the refresh throws")
+        void shouldKeepSnapshotOnFailure() {
+            var previous = publishPreviousSnapshot();
+            when(contactService.refreshAllContacts()).thenThrow(new IllegalStateException("boom"));
+
+            var published = syncService.syncNow();
+
+            assertThat(published).isFalse();
+            assertThat(snapshotHolder.current()).containsSame(previous);
+            assertThat(meterRegistry.get("contacts.sync.duration").tag("outcome", "failure").timer().count()).isEqualTo(1);
+        }
+    }
+
+    private ContactSnapshot publishPreviousSnapshot() {
+        var snapshot = new ContactSnapshot(
+                List.of(createContact(9L, "Previous", "previous@example.com")),
+                Instant.now(),
+                Duration.ofMillis(5)
+        );
+        snapshotHolder.publish(snapshot);
+        return snapshot;
+    }
+}
@@ -0,0 +1,155 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.config.persistence.WriteBehindProperties;
+import com.contacts.agenda.model.Contact;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContactWriteBehindQueue Tests")
+class ContactWriteBehindQueueTest {
+
+    @Mock
+    private ContactFallbackService fallbackService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WriteBehindProperties properties;
+    private ContactWriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new WriteBehindProperties();
+        properties.setCapacity(3);
+        properties.setOfferTimeout(Duration.ofMillis(10));
+        properties.setFlushDelay(Duration.ofMillis(10));
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        queue = new ContactWriteBehindQueue(fallbackService, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.stop();
+    }
+
+    @Nested
+    @DisplayName("Enqueue")
+    class Enqueue {
+
+        @Test
+        @DisplayName("Should coalesce pending writes of the same id keeping the latest")
+        void shouldCoalesceSameId() {
+            queue.enqueue(List.of(contact(1L, "First"), contact(2L, "Second")));
+            queue.enqueue(List.of(contact(1L, "First Updated")));
+
+            assertThat(queue.depth()).isEqualTo(2);
+            assertThat(meterRegistry.get("contacts.writebehind.coalesced").counter().count()).isEqualTo(1);
+
+            queue.flush();
+
+            assertThat(flushedBatch()).extracting(Contact::name).containsExactly("First Updated", "Second");
+        }
+
+        @Test
+        @DisplayName("Should drop contacts that don't fit once the offer timeout elapses")
+        void shouldDropWhenFull() {
+            queue.enqueue(List.of(contact(1L, "1"), contact(2L, "2"), contact(3L, "3"), contact(4L, "4"), contact(5L, "5")));
+
+            assertThat(queue.depth()).isEqualTo(3);
+            assertThat(meterRegistry.get("contacts.writebehind.dropped").counter().count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should still coalesce into pending contacts when the queue is full")
+        void shouldCoalesceWhenFull() {
+            queue.enqueue(List.of(contact(1L, "1"), contact(2L, "2"), contact(3L, "3")));
+            queue.enqueue(List.of(contact(2L, "2 Updated")));
+
+            assertThat(meterRegistry.get("contacts.writebehind.dropped").counter().count()).isZero();
+            assertThat(queue.depth()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Flush")
+    class Flush {
+
+        @Test
+        @DisplayName("Should flush pending contacts asynchronously from the worker")
+        void shouldFlushFromWorker() {
+            queue.start();
+
+            queue.enqueue(List.of(contact(1L, "Async")));
+
+            await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> verify(fallbackService).saveContacts(anyList()));
+            assertThat(queue.depth()).isZero();
+            assertThat(meterRegistry.get("contacts.writebehind.flush").tag("outcome", "success").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should put contacts back when the flush fails without overriding newer writes")
+        void shouldRequeueOnFailure() {
+            doThrow(new IllegalStateException("mongo down")).when(fallbackService).saveContacts(anyList());
+            queue.enqueue(List.of(contact(1L, "Old"), contact(2L, "Other")));
+
+            assertThatThrownBy(() -> queue.flush()).isInstanceOf(IllegalStateException.class);
+            queue.enqueue(List.of(contact(1L, "Newer")));
+
+            assertThat(queue.depth()).isEqualTo(2);
+            assertThat(meterRegistry.get("contacts.writebehind.flush").tag("outcome", "failure").timer().count()).isEqualTo(1);
+
+            doNothing().when(fallbackService).saveContacts(anyList());
+            queue.flush();
+
+            verify(fallbackService, times(2)).saveContacts(anyList());
+        }
+
+        @Test
+        @DisplayName("Should flush pending contacts on stop")
+        void shouldFlushOnStop() throws InterruptedException {
+            var pending = contact(1L, "Pending");
+            queue.enqueue(List.of(pending));
+
+            queue.stop();
+
+            verify(fallbackService).saveContacts(List.of(pending));
+        }
+
+        @Test
+        @DisplayName("Should not touch the database when nothing is pending")
+        void shouldSkipEmptyFlush() {
+            queue.flush();
+
+            verifyNoInteractions(fallbackService);
+        }
+    }
+
+    private List<Contact> flushedBatch() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Contact>> captor = ArgumentCaptor.forClass(List.class);
+        verify(fallbackService).saveContacts(captor.capture());
+        return captor.getValue();
+    }
+
+    private static Contact contact(Long id, String name) {
+        return createContact(id, name, "contact" + id + "@example.com");
+    }
+}
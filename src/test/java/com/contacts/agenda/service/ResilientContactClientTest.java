@@ -0,0 +1,243 @@
+package com.contacts.agenda.service;
+
+import com.contacts.agenda.client.ContactPageResponse;
+import com.contacts.agenda.client.KenectLabsStreamingClient;
+import com.contacts.agenda.client.KenectLabsStreamingClient.StreamedPage;
+import com.contacts.agenda.config.cache.CacheEnvelope;
+import com.contacts.agenda.config.cache.CompactContactPageSerializer;
+import com.contacts.agenda.config.cache.NearCache;
+import com.contacts.agenda.config.cache.NearCacheInvalidator;
+import com.contacts.agenda.config.cache.StaleWhileRevalidateCache;
+import com.contacts.agenda.config.cache.StaleWhileRevalidateCacheManager;
+import com.contacts.agenda.config.cache.TouchableCache;
+import com.contacts.agenda.model.Contact;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.contacts.agenda.fixture.ContactFixture.createContact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResilientContactClient Tests")
+class ResilientContactClientTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Mon, 05 Oct 2025 10:00:00 GMT";
+
+    @Mock
+    private KenectLabsStreamingClient streamingClient;
+
+    @Mock
+    private ContactFallbackService fallbackService;
+
+    @Mock
+    private ContactWriteBehindQueue writeBehindQueue;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private ResilientContactClient contactClient;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("contactPages");
+        contactClient = new ResilientContactClient(streamingClient, fallbackService, writeBehindQueue, cacheManager);
+    }
+
+    @Nested
+    @DisplayName("Conditional Fetches")
+    class ConditionalFetches {
+
+        @Test
+        @DisplayName("Should fetch unconditionally when the page is not cached")
+        void shouldFetchUnconditionallyWhenNotCached() {
+            Contact contact = createContact(1L, "John Doe", "john@example.com");
+            when(streamingClient.streamContacts(eq(1L), eq(1000L), isNull(), isNull(), any()))
+                    .thenAnswer(streamed(List.of(contact), validators()));
+
+            ContactPageResponse page = contactClient.getContacts(1L, 1000L);
+
+            assertThat(page.getContacts()).containsExactly(contact);
+            assertThat(page.header(HttpHeaders.ETAG)).isEqualTo(ETAG);
+            verify(writeBehindQueue).enqueue(List.of(contact));
+        }
+
+        @Test
+        @DisplayName("Should reuse the cached contacts when the page was not modified")
+        void shouldReuseCachedContactsOnNotModified() {
+            List<Contact> cachedContacts = List.of(createContact(1L, "John Doe", "john@example.com"));
+            HttpHeaders cachedHeaders = validators();
+            cachedHeaders.add("total-count", "1");
+            ContactPageResponse cached = ContactPageResponse.from(cachedContacts, cachedHeaders);
+            cacheManager.getCache("contactPages").put("1-1000", cached);
+
+            when(streamingClient.streamContacts(eq(1L), eq(1000L), eq(ETAG), eq(LAST_MODIFIED), any()))
+                    .thenReturn(new StreamedPage(true, validators()));
+
+            ContactPageResponse page = contactClient.refreshContacts(1L, 1000L);
+
+            assertThat(page).isSameAs(cached);
+            assertThat(page.getContacts()).isSameAs(cachedContacts);
+            assertThat(page.header("total-count")).isEqualTo("1");
+            verifyNoInteractions(writeBehindQueue);
+        }
+
+        @Test
+        @DisplayName("Should only touch the cached page on a 304, without writing it again or invalidating other instances")
+        void shouldTouchCachedPageOnNotModified() {
+            StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+            TouchableMapCache redis = spy(new TouchableMapCache());
+            var nearCache = new NearCache(redis, Caffeine.newBuilder().<String, Object>build(), new NearCacheInvalidator(redisTemplate));
+            // a zero soft TTL makes the second read refresh the page, on this thread
+            var pages = new StaleWhileRevalidateCache(nearCache, Duration.ZERO, Runnable::run, Clock.systemUTC());
+            var swrCacheManager = new SimpleCacheManager();
+            swrCacheManager.setCaches(List.of(pages));
+            swrCacheManager.afterPropertiesSet();
+            var client = new ResilientContactClient(streamingClient, fallbackService, writeBehindQueue, swrCacheManager);
+
+            when(streamingClient.streamContacts(eq(1L), eq(1000L), isNull(), isNull(), any()))
+                    .thenAnswer(streamed(List.of(createContact(1L, "John Doe", "john@example.com")), validators()));
+            when(streamingClient.streamContacts(eq(1L), eq(1000L), eq(ETAG), eq(LAST_MODIFIED), any()))
+                    .thenReturn(new StreamedPage(true, validators()));
+
+            ContactPageResponse downloaded = pages.get("1-1000", () -> client.getContacts(1L, 1000L));
+            ContactPageResponse revalidated = pages.get("1-1000", () -> client.getContacts(1L, 1000L));
+
+            assertThat(revalidated).isSameAs(downloaded);
+            verify(streamingClient).streamContacts(eq(1L), eq(1000L), eq(ETAG), eq(LAST_MODIFIED), any());
+            verify(redis).touch(eq("1-1000"), any(CacheEnvelope.class));
+            verify(redis, never()).put(any(), any());
+            verifyNoInteractions(redisTemplate);
+        }
+
+        @Test
+        @DisplayName("Should replace the cached contacts when the page changed")
+        void shouldReplaceCachedContactsWhenModified() {
+            cacheManager.getCache("contactPages").put("1-1000",
+                    ContactPageResponse.from(List.of(createContact(1L, "Old Name", "john@example.com")), validators()));
+            Contact changed = createContact(1L, "New Name", "john@example.com");
+
+            HttpHeaders newValidators = new HttpHeaders();
+            newValidators.setETag("\"v2\"");
+            when(streamingClient.streamContacts(eq(1L), eq(1000L), eq(ETAG), eq(LAST_MODIFIED), any()))
+                    .thenAnswer(streamed(List.of(changed), newValidators));
+
+            ContactPageResponse page = contactClient.refreshContacts(1L, 1000L);
+
+            assertThat(page.getContacts()).containsExactly(changed);
+            assertThat(page.header(HttpHeaders.ETAG)).isEqualTo("\"v2\"");
+            verifyNoInteractions(writeBehindQueue);
+        }
+    }
+
+    @Nested
+    @DisplayName("Persistence")
+    class Persistence {
+
+        @Test
+        @DisplayName("Should persist a page downloaded by a background refresh and read back from Redis")
+        void shouldPersistPageDownloadedByBackgroundRefresh() {
+            // the delegate round-trips every entry through the Redis serializer, and a zero soft TTL makes every read refresh
+            var serializer = new CompactContactPageSerializer(RedisSerializer.java(), Integer.MAX_VALUE);
+            Cache redis = new ConcurrentMapCache("contactPages") {
+                @Override
+                protected Object toStoreValue(Object userValue) {
+                    return serializer.serialize(super.toStoreValue(userValue));
+                }
+
+                @Override
+                protected Object fromStoreValue(Object storeValue) {
+                    return super.fromStoreValue(serializer.deserialize((byte[]) storeValue));
+                }
+            };
+            var redisCacheManager = new SimpleCacheManager();
+            redisCacheManager.setCaches(List.of(redis));
+            redisCacheManager.afterPropertiesSet();
+            var swrCacheManager = new StaleWhileRevalidateCacheManager(redisCacheManager, Map.of("contactPages", Duration.ZERO), Runnable::run, Clock.systemUTC());
+            var client = new ResilientContactClient(streamingClient, fallbackService, writeBehindQueue, swrCacheManager);
+            Cache pages = swrCacheManager.getCache("contactPages");
+
+            Contact original = createContact(1L, "Old Name", "john@example.com");
+            Contact edited = createContact(1L, "New Name", "john@example.com");
+            HttpHeaders newValidators = new HttpHeaders();
+            newValidators.setETag("\"v2\"");
+            when(streamingClient.streamContacts(eq(1L), eq(1000L), isNull(), isNull(), any()))
+                    .thenAnswer(streamed(List.of(original), validators()));
+            when(streamingClient.streamContacts(eq(1L), eq(1000L), eq(ETAG), eq(LAST_MODIFIED), any()))
+                    .thenAnswer(streamed(List.of(edited), newValidators));
+
+            pages.get("1-1000", () -> client.getContacts(1L, 1000L));
+            ContactPageResponse served = pages.get("1-1000", () -> client.getContacts(1L, 1000L));
+
+            assertThat(served.getContacts()).containsExactly(original);
+            assertThat(pages.get("1-1000", ContactPageResponse.class).getContacts()).containsExactly(edited);
+            verify(writeBehindQueue).enqueue(List.of(original));
+            verify(writeBehindQueue).enqueue(List.of(edited));
+        }
+
+        @Test
+        @DisplayName("Should leave persistence of refreshed pages to the sync")
+        void shouldNotPersistSyncRefreshes() {
+            when(streamingClient.streamContacts(eq(1L), eq(1000L), isNull(), isNull(), any()))
+                    .thenAnswer(streamed(List.of(createContact(1L, "John Doe", "john@example.com")), validators()));
+
+            contactClient.refreshContacts(1L, 1000L);
+
+            verifyNoInteractions(writeBehindQueue);
+        }
+    }
+
+    /**
+     * Stands in for {@link com.contacts.agenda.config.cache.TouchableRedisCache}, a touch restamps the stored
+     * envelope without going through {@link #put(Object, Object)}.
+     */
+    static class TouchableMapCache extends ConcurrentMapCache implements TouchableCache {
+
+        TouchableMapCache() {
+            super("contactPages");
+        }
+
+        @Override
+        public boolean touch(Object key, CacheEnvelope envelope) {
+            return getNativeCache().replace(key, envelope) != null;
+        }
+    }
+
+    private static HttpHeaders validators() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(ETAG);
+        headers.set(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED);
+        return headers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Answer<StreamedPage> streamed(List<Contact> contacts, HttpHeaders headers) {
+        return invocation -> {
+            Consumer<Contact> consumer = invocation.getArgument(4, Consumer.class);
+            contacts.forEach(consumer);
+            return new StreamedPage(false, headers);
+        };
+    }
+}